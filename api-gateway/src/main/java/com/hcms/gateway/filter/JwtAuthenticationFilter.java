@@ -1,9 +1,7 @@
 package com.hcms.gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import com.hcms.gateway.security.JwtClaimsCache;
+import com.hcms.gateway.security.JwtClaimsCache.JwtClaims;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
@@ -16,52 +14,59 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
-    @Value("${jwt.secret:HCMSSecretKeyForJWTTokenGenerationAndValidation2024}")
-    private String jwtSecret;
-
     private static final String AUTH_PREFIX = "/api/auth/";
+    private static final String NOTIFICATION_STREAM_PATH = "/api/notifications/stream";
+    // Shared secret of service-to-service calls; never accepted from clients
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private final JwtClaimsCache jwtClaimsCache;
+
+    public JwtAuthenticationFilter(JwtClaimsCache jwtClaimsCache) {
+        this.jwtClaimsCache = jwtClaimsCache;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
+        if (request.getHeaders().containsKey(INTERNAL_TOKEN_HEADER)) {
+            request = request.mutate().headers(headers -> headers.remove(INTERNAL_TOKEN_HEADER)).build();
+            exchange = exchange.mutate().request(request).build();
+        }
+
         // Skip JWT validation for public endpoints
         if (isPublicEndpoint(path)) {
             return chain.filter(exchange);
         }
 
         String authHeader = request.getHeaders().getFirst("Authorization");
+        String token = null;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = authHeader.substring(7);
+        } else if (NOTIFICATION_STREAM_PATH.equals(path)) {
+            // Browser EventSource cannot set headers, so the stream also accepts the token as a query parameter
+            token = request.getQueryParams().getFirst("access_token");
         }
 
-        String token = authHeader.substring(7);
+        if (token == null || token.isEmpty()) {
+            return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
+        }
 
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            // Extract userId as Number (Long/Integer) and convert to String
-            Object userIdObj = claims.get("userId");
-            String userId = userIdObj != null ? String.valueOf(userIdObj) : null;
-            
-            String email = claims.get("email", String.class);
-            String role = claims.get("role", String.class);
+            JwtClaims claims = jwtClaimsCache.verify(token);
+            String userId = claims.userId();
+            String email = claims.email();
+            String role = claims.role();
 
             // Add user info to headers for downstream services
-            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+            ServerHttpRequest modifiedRequest = request.mutate()
                     .header("X-User-Id", userId != null ? userId : "")
                     .header("X-User-Email", email != null ? email : "")
                     .header("X-User-Role", role != null ? role : "")
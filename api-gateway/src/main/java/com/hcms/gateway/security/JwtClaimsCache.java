@@ -0,0 +1,148 @@
+package com.hcms.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies JWTs with a key and parser built once at startup and remembers the
+ * claims of recently verified tokens, keyed by the SHA-256 digest of the token.
+ * An entry is never served past the token's own {@code exp} claim.
+ * <p>
+ * When the cache fills up, one pass drops expired entries and then trims it
+ * to 90% of the maximum, so the scan is paid once per thousand or so misses
+ * rather than on every miss.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    private static final int EVICT_TO_PERCENT = 90;
+
+    private final JwtParser parser;
+    private final int maxSize;
+    private final int evictToSize;
+    private final long ttlMillis;
+    private final Map<String, JwtClaims> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JwtClaimsCache(
+            @Value("${jwt.secret:HCMSSecretKeyForJWTTokenGenerationAndValidation2024}") String jwtSecret,
+            @Value("${jwt.cache.max-size:10000}") int maxSize,
+            @Value("${jwt.cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.maxSize = maxSize;
+        this.evictToSize = (int) ((long) maxSize * EVICT_TO_PERCENT / 100);
+        this.ttlMillis = ttlSeconds * 1000;
+
+        FunctionCounter.builder("gateway.jwt.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("gateway.jwt.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.size", cache, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the claims for the token, verifying the signature only when the
+     * token is not already cached. Throws the parser's exception for invalid tokens.
+     */
+    public JwtClaims verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = digest(token);
+
+        JwtClaims cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+        misses.increment();
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        // Extract userId as Number (Long/Integer) and convert to String
+        Object userIdObj = claims.get("userId");
+        String userId = userIdObj != null ? String.valueOf(userIdObj) : null;
+        String email = claims.get("email", String.class);
+        String role = claims.get("role", String.class);
+
+        long expiresAt = now + ttlMillis;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+
+        JwtClaims verified = new JwtClaims(userId, email, role, expiresAt);
+        if (cache.size() >= maxSize) {
+            evict(now);
+        }
+        cache.put(key, verified);
+        return verified;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private void evict(long now) {
+        // One thread trims while the others keep serving
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            Iterator<String> it = cache.keySet().iterator();
+            while (cache.size() > evictToSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    public record JwtClaims(String userId, String email, String role, long expiresAt) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.hcms.gateway.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtClaimsCacheTest {
+
+    private static final String SECRET = "JwtClaimsCacheTestSecretOfAtLeastThirtyTwoBytes";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void cachedClaimsExpireWithTheToken() {
+        // exp is carried in whole seconds
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+
+        JwtClaimsCache.JwtClaims claims = cache(300).verify(token(7, expiration));
+
+        assertThat(claims.expiresAt()).isEqualTo(expiration.getTime());
+        assertThat(claims.userId()).isEqualTo("7");
+        assertThat(claims.email()).isEqualTo("user7@hcms.com");
+        assertThat(claims.role()).isEqualTo("EMPLOYEE");
+    }
+
+    @Test
+    void cachedClaimsExpireAfterTheTtlWhenTheTokenLivesLonger() {
+        long before = System.currentTimeMillis();
+
+        JwtClaimsCache.JwtClaims claims = cache(60).verify(token(7, new Date(before + 3_600_000)));
+
+        assertThat(claims.expiresAt()).isBetween(before + 60_000, System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    void repeatedTokenIsServedFromTheCache() {
+        JwtClaimsCache cache = cache(300);
+        String token = token(7, new Date(System.currentTimeMillis() + 60_000));
+
+        JwtClaimsCache.JwtClaims first = cache.verify(token);
+
+        assertThat(cache.verify(token)).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsRejectedEvenWhenCached() throws InterruptedException {
+        JwtClaimsCache cache = cache(300);
+        // At least a second ahead, so the first verification still accepts it
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 2) * 1000);
+        String token = token(7, expiration);
+        cache.verify(token);
+
+        Thread.sleep(Math.max(0, expiration.getTime() - System.currentTimeMillis()) + 50);
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(cache.getHitCount()).isZero();
+    }
+
+    private static JwtClaimsCache cache(long ttlSeconds) {
+        return new JwtClaimsCache(SECRET, 100, ttlSeconds, new SimpleMeterRegistry());
+    }
+
+    private static String token(long userId, Date expiration) {
+        return Jwts.builder()
+                .claim("userId", userId)
+                .claim("email", "user" + userId + "@hcms.com")
+                .claim("role", "EMPLOYEE")
+                .expiration(expiration)
+                .signWith(KEY)
+                .compact();
+    }
+}
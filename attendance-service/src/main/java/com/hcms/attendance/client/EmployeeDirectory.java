@@ -0,0 +1,44 @@
+package com.hcms.attendance.client;
+
+import com.hcms.attendance.client.dto.EmployeeSummaryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Walks employee-service's keyset-paged summaries so callers can process a
+ * whole company, department or team one page at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeDirectory {
+
+    public static final String ACTIVE = "ACTIVE";
+    private static final int PAGE_SIZE = 1000;
+
+    private final EmployeeServiceClient employeeServiceClient;
+
+    /**
+     * Passes every employee matching the optional department/manager filter
+     * to {@code pageConsumer}, in id order, one page at a time.
+     */
+    public void forEachPage(Long departmentId, Long managerId, Consumer<List<EmployeeSummaryResponse>> pageConsumer) {
+        long afterId = 0;
+        List<EmployeeSummaryResponse> page;
+        do {
+            page = employeeServiceClient.getEmployeeSummaries(afterId, PAGE_SIZE, departmentId, managerId);
+            if (page.isEmpty()) {
+                break;
+            }
+            pageConsumer.accept(page);
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    public long countActiveEmployees() {
+        Long count = employeeServiceClient.countEmployees(ACTIVE);
+        return count != null ? count : 0;
+    }
+}
@@ -1,14 +1,37 @@
 package com.hcms.attendance.client;
 
+import com.hcms.attendance.client.dto.EmployeeChangeFeedResponse;
 import com.hcms.attendance.client.dto.EmployeeResponse;
+import com.hcms.attendance.client.dto.EmployeeSummaryResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "employee-service", path = "/api/employees")
 public interface EmployeeServiceClient {
     
     @GetMapping("/{id}")
     EmployeeResponse getEmployeeById(@PathVariable Long id);
+
+    @PostMapping("/batch")
+    List<EmployeeSummaryResponse> getEmployeesByIds(@RequestBody List<Long> ids);
+
+    @GetMapping("/summaries")
+    List<EmployeeSummaryResponse> getEmployeeSummaries(@RequestParam("afterId") long afterId,
+                                                       @RequestParam("size") int size,
+                                                       @RequestParam(value = "departmentId", required = false) Long departmentId,
+                                                       @RequestParam(value = "managerId", required = false) Long managerId);
+
+    @GetMapping("/count")
+    Long countEmployees(@RequestParam(value = "status", required = false) String status);
+
+    @GetMapping("/changes")
+    EmployeeChangeFeedResponse getEmployeeChanges(@RequestParam("after") long after,
+                                                  @RequestParam("limit") int limit);
 }
 
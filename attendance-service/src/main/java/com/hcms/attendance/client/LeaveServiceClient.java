@@ -0,0 +1,16 @@
+package com.hcms.attendance.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@FeignClient(name = "leave-service", path = "/api/leaves")
+public interface LeaveServiceClient {
+
+    @GetMapping("/on-leave")
+    List<Long> getEmployeeIdsOnLeave(@RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date);
+}
@@ -0,0 +1,20 @@
+package com.hcms.attendance.config;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignConfig {
+
+    /**
+     * Identifies service-to-service calls to internal endpoints. Background
+     * jobs have no user headers to forward, so every call carries the token.
+     */
+    @Bean
+    public RequestInterceptor internalTokenInterceptor(
+            @Value("${internal.token}") String internalToken) {
+        return requestTemplate -> requestTemplate.header("X-Internal-Token", internalToken);
+    }
+}
@@ -1,23 +1,40 @@
 package com.hcms.attendance.controller;
 
+import com.hcms.attendance.dto.AbsenceDetectionResponse;
+import com.hcms.attendance.dto.AttendanceDashboardResponse;
 import com.hcms.attendance.dto.AttendanceReportResponse;
 import com.hcms.attendance.dto.AttendanceResponse;
 import com.hcms.attendance.dto.ClockInRequest;
 import com.hcms.attendance.dto.ClockOutRequest;
+import com.hcms.attendance.dto.SummaryRebuildResponse;
+import com.hcms.attendance.exception.BadRequestException;
+import com.hcms.attendance.service.AbsenteeDetectionService;
+import com.hcms.attendance.service.AttendanceDashboardService;
+import com.hcms.attendance.service.AttendanceExportService;
 import com.hcms.attendance.service.AttendanceService;
+import com.hcms.attendance.service.AttendanceSummaryService;
+import com.hcms.attendance.service.PunchIngestionService;
 import com.hcms.attendance.util.SecurityUtil;
+import com.hcms.common.dto.CursorPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -27,18 +44,23 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final AttendanceDashboardService attendanceDashboardService;
+    private final PunchIngestionService punchIngestionService;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final AbsenteeDetectionService absenteeDetectionService;
+    private final AttendanceExportService attendanceExportService;
 
     @PostMapping("/clock-in")
     public ResponseEntity<AttendanceResponse> clockIn(@Valid @RequestBody ClockInRequest request) {
         Long employeeId = SecurityUtil.getCurrentUserId();
-        AttendanceResponse response = attendanceService.clockIn(employeeId, request);
+        AttendanceResponse response = punchIngestionService.clockIn(employeeId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/clock-out")
     public ResponseEntity<AttendanceResponse> clockOut(@Valid @RequestBody ClockOutRequest request) {
         Long employeeId = SecurityUtil.getCurrentUserId();
-        AttendanceResponse response = attendanceService.clockOut(employeeId, request);
+        AttendanceResponse response = punchIngestionService.clockOut(employeeId, request);
         return ResponseEntity.ok(response);
     }
 
@@ -49,6 +71,91 @@ public class AttendanceController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Company-wide daily attendance, or limited to a department or a manager's team.
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<AttendanceDashboardResponse> getDashboard(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long managerId) {
+        SecurityUtil.checkManagerAccess();
+        AttendanceDashboardResponse response =
+                attendanceDashboardService.getDashboard(startDate, endDate, departmentId, managerId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Streams every attendance record in the range as CSV or the compact columnar
+     * format described on {@link AttendanceExportService}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = AttendanceExportService.CSV) String format) {
+        SecurityUtil.checkAdminAccess();
+        attendanceExportService.validate(startDate, endDate, format);
+        AttendanceExportService.ExportPermit permit = attendanceExportService.acquirePermit();
+
+        boolean csv = AttendanceExportService.CSV.equals(format);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment",
+                String.format("attendance_%s_%s.%s", startDate, endDate, csv ? "csv" : "hcat"));
+
+        StreamingResponseBody body = out -> {
+            try (permit) {
+                if (csv) {
+                    attendanceExportService.writeCsv(startDate, endDate, out);
+                } else {
+                    attendanceExportService.writeColumnar(startDate, endDate, out);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    /**
+     * Runs absentee detection for a past day, replacing that day's absence markers.
+     */
+    @PostMapping("/absences/detect")
+    public ResponseEntity<AbsenceDetectionResponse> detectAbsences(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        SecurityUtil.checkAdminAccess();
+        return ResponseEntity.ok(absenteeDetectionService.detect(date));
+    }
+
+    /**
+     * Recomputes the monthly summaries from raw attendance, e.g. after a backfill.
+     * Months are given as yyyy-MM.
+     */
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<SummaryRebuildResponse> rebuildSummaries(@RequestParam String from,
+                                                                   @RequestParam String to) {
+        SecurityUtil.checkAdminAccess();
+        YearMonth fromMonth;
+        YearMonth toMonth;
+        try {
+            fromMonth = YearMonth.parse(from);
+            toMonth = YearMonth.parse(to);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Months must be in yyyy-MM format");
+        }
+        long start = System.currentTimeMillis();
+        long rows = attendanceSummaryService.rebuild(fromMonth, toMonth);
+        return ResponseEntity.ok(SummaryRebuildResponse.builder()
+                .fromMonth(fromMonth)
+                .toMonth(toMonth)
+                .rowsWritten(rows)
+                .durationMillis(System.currentTimeMillis() - start)
+                .build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AttendanceResponse> getAttendanceById(@PathVariable Long id) {
         AttendanceResponse response = attendanceService.getAttendanceById(id);
@@ -67,13 +174,31 @@ public class AttendanceController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset variant, selected by the {@code cursor} parameter (empty for the first
+     * page). Seeks past the last id instead of using OFFSET and skips the count query.
+     */
+    @GetMapping(value = "/employee/{employeeId}", params = "cursor")
+    public ResponseEntity<CursorPage<AttendanceResponse>> getAttendanceByEmployeeByCursor(
+            @PathVariable Long employeeId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        SecurityUtil.checkAttendanceAccess(employeeId);
+        return ResponseEntity.ok(attendanceService.getAttendanceByEmployee(employeeId, cursor, size));
+    }
+
     @GetMapping("/employee/{employeeId}/report")
     public ResponseEntity<AttendanceReportResponse> getAttendanceReport(
             @PathVariable Long employeeId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "true") boolean includeAttendances,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "31") int size) {
         SecurityUtil.checkAttendanceAccess(employeeId);
-        AttendanceReportResponse response = attendanceService.getAttendanceReport(employeeId, startDate, endDate);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "attendanceDate"));
+        AttendanceReportResponse response = attendanceService.getAttendanceReport(
+                employeeId, startDate, endDate, includeAttendances, pageable);
         return ResponseEntity.ok(response);
     }
 
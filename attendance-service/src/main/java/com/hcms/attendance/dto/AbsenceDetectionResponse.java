@@ -0,0 +1,21 @@
+package com.hcms.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceDetectionResponse {
+    private LocalDate date;
+    private Long activeEmployees;
+    private Long presentEmployees;
+    private Long onLeaveEmployees;
+    private Long absentEmployees;
+    private Long durationMillis;
+}
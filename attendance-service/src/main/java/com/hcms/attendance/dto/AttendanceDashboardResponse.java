@@ -0,0 +1,27 @@
+package com.hcms.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceDashboardResponse {
+    private Long departmentId;
+    private Long managerId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long headcount;
+    private Long presentDays;
+    private Long lateDays;
+    private Long earlyDepartureDays;
+    private Long absentDays;
+    private Double totalHours;
+    private List<DailyAttendanceSummary> days;
+}
@@ -0,0 +1,21 @@
+package com.hcms.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyAttendanceSummary {
+    private LocalDate date;
+    private Long presentCount;
+    private Long lateCount;
+    private Long earlyDepartureCount;
+    private Long absentCount;
+    private Double totalHours;
+}
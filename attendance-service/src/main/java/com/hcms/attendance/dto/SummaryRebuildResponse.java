@@ -0,0 +1,19 @@
+package com.hcms.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SummaryRebuildResponse {
+    private YearMonth fromMonth;
+    private YearMonth toMonth;
+    private Long rowsWritten;
+    private Long durationMillis;
+}
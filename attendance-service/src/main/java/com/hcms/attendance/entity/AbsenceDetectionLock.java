@@ -0,0 +1,21 @@
+package com.hcms.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per day, locked while absences are detected for it, so that the
+ * instances running the nightly job do not replace the day's markers at once.
+ */
+@Entity
+@Table(name = "attendance_absence_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbsenceDetectionLock {
+    // yyyyMMdd, e.g. 20260302
+    @Id
+    private Long id;
+}
@@ -13,6 +13,11 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "attendances", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"employee_id", "attendance_date"})
+}, indexes = {
+    // Covers the company-wide dashboard aggregation so it never touches table rows
+    @Index(name = "idx_attendances_date_stats",
+           columnList = "attendance_date, clock_in_time, is_late, is_early_departure, total_hours"),
+    @Index(name = "idx_attendances_employee_id", columnList = "employee_id, id")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,40 @@
+package com.hcms.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Marks a working day on which an active employee neither clocked in nor had
+ * approved leave. Written in bulk by
+ * {@link com.hcms.attendance.service.AbsenteeDetectionService}.
+ */
+@Entity
+@Table(name = "attendance_absences", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"employee_id", "absence_date"})
+}, indexes = {
+    @Index(name = "idx_attendance_absences_date", columnList = "absence_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceAbsence {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "absence_date", nullable = false)
+    private LocalDate absenceDate;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,58 @@
+package com.hcms.attendance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-employee, per-month attendance totals. Kept current by clock-in and
+ * clock-out and rebuilt from {@code attendances} by
+ * {@link com.hcms.attendance.service.AttendanceSummaryService}.
+ */
+@Entity
+@Table(name = "attendance_monthly_summaries", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"employee_id", "month_start"})
+}, indexes = {
+    @Index(name = "idx_attendance_summaries_month", columnList = "month_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceMonthlySummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    /** First day of the month the totals cover. */
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "present_days", nullable = false)
+    private Integer presentDays;
+
+    @Column(name = "late_days", nullable = false)
+    private Integer lateDays;
+
+    @Column(name = "late_minutes", nullable = false)
+    private Integer lateMinutes;
+
+    @Column(name = "early_departure_days", nullable = false)
+    private Integer earlyDepartureDays;
+
+    @Column(name = "early_departure_minutes", nullable = false)
+    private Integer earlyDepartureMinutes;
+
+    @Column(name = "total_hours", nullable = false)
+    private Double totalHours;
+
+    private LocalDateTime updatedAt;
+}
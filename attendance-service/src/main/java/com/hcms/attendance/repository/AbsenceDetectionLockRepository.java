@@ -0,0 +1,23 @@
+package com.hcms.attendance.repository;
+
+import com.hcms.attendance.entity.AbsenceDetectionLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AbsenceDetectionLockRepository extends JpaRepository<AbsenceDetectionLock, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM AbsenceDetectionLock l WHERE l.id = :id")
+    Optional<AbsenceDetectionLock> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO attendance_absence_locks (id) VALUES (:id)", nativeQuery = true)
+    int insertIfMissing(@Param("id") Long id);
+}
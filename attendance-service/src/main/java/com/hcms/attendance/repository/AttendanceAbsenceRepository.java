@@ -0,0 +1,20 @@
+package com.hcms.attendance.repository;
+
+import com.hcms.attendance.entity.AttendanceAbsence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface AttendanceAbsenceRepository extends JpaRepository<AttendanceAbsence, Long> {
+
+    long countByEmployeeIdAndAbsenceDateBetween(Long employeeId, LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceAbsence a WHERE a.absenceDate = :date")
+    int deleteByDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,52 @@
+package com.hcms.attendance.repository;
+
+import com.hcms.attendance.entity.AttendanceMonthlySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface AttendanceMonthlySummaryRepository extends JpaRepository<AttendanceMonthlySummary, Long> {
+
+    @Query("SELECT COALESCE(SUM(s.presentDays), 0) AS presentDays, " +
+           "COALESCE(SUM(s.lateDays), 0) AS lateDays, " +
+           "COALESCE(SUM(s.earlyDepartureDays), 0) AS earlyDepartureDays, " +
+           "COALESCE(SUM(s.totalHours), 0) AS totalHours " +
+           "FROM AttendanceMonthlySummary s WHERE s.employeeId = :employeeId AND " +
+           "s.monthStart BETWEEN :fromMonth AND :toMonth")
+    AttendanceTotals sumByEmployeeIdAndMonthRange(@Param("employeeId") Long employeeId,
+                                                  @Param("fromMonth") LocalDate fromMonth,
+                                                  @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Adds the given amounts to an employee's month, creating the row on first use.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attendance_monthly_summaries (employee_id, month_start, present_days, late_days, " +
+           "late_minutes, early_departure_days, early_departure_minutes, total_hours, updated_at) " +
+           "VALUES (:employeeId, :monthStart, :presentDays, :lateDays, :lateMinutes, :earlyDays, :earlyMinutes, " +
+           ":hours, NOW()) " +
+           "ON DUPLICATE KEY UPDATE present_days = present_days + VALUES(present_days), " +
+           "late_days = late_days + VALUES(late_days), " +
+           "late_minutes = late_minutes + VALUES(late_minutes), " +
+           "early_departure_days = early_departure_days + VALUES(early_departure_days), " +
+           "early_departure_minutes = early_departure_minutes + VALUES(early_departure_minutes), " +
+           "total_hours = total_hours + VALUES(total_hours), " +
+           "updated_at = VALUES(updated_at)", nativeQuery = true)
+    void addToMonth(@Param("employeeId") Long employeeId,
+                    @Param("monthStart") LocalDate monthStart,
+                    @Param("presentDays") int presentDays,
+                    @Param("lateDays") int lateDays,
+                    @Param("lateMinutes") int lateMinutes,
+                    @Param("earlyDays") int earlyDays,
+                    @Param("earlyMinutes") int earlyMinutes,
+                    @Param("hours") double hours);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceMonthlySummary s WHERE s.monthStart = :monthStart")
+    int deleteByMonth(@Param("monthStart") LocalDate monthStart);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,8 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     Optional<Attendance> findByEmployeeIdAndAttendanceDate(Long employeeId, LocalDate date);
     
     Page<Attendance> findByEmployeeId(Long employeeId, Pageable pageable);
+
+    List<Attendance> findByEmployeeIdAndIdGreaterThanOrderByIdAsc(Long employeeId, Long afterId, Pageable pageable);
     
     @Query("SELECT a FROM Attendance a WHERE a.employeeId = :employeeId AND " +
            "a.attendanceDate BETWEEN :startDate AND :endDate ORDER BY a.attendanceDate DESC")
@@ -24,6 +27,32 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
                                                    @Param("startDate") LocalDate startDate,
                                                    @Param("endDate") LocalDate endDate);
     
+    Page<Attendance> findByEmployeeIdAndAttendanceDateBetween(Long employeeId, LocalDate startDate,
+                                                               LocalDate endDate, Pageable pageable);
+
+    @Query("SELECT COUNT(a.clockInTime) AS presentDays, " +
+           "COALESCE(SUM(CASE WHEN a.isLate = true THEN 1 ELSE 0 END), 0) AS lateDays, " +
+           "COALESCE(SUM(CASE WHEN a.isEarlyDeparture = true THEN 1 ELSE 0 END), 0) AS earlyDepartureDays, " +
+           "COALESCE(SUM(a.totalHours), 0) AS totalHours " +
+           "FROM Attendance a WHERE a.employeeId = :employeeId AND " +
+           "a.attendanceDate BETWEEN :startDate AND :endDate")
+    AttendanceTotals sumByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT a.employeeId FROM Attendance a WHERE a.attendanceDate = :date AND a.clockInTime IS NOT NULL")
+    List<Long> findClockedInEmployeeIds(@Param("date") LocalDate date);
+
+    @Query("SELECT MIN(a.attendanceDate) FROM Attendance a")
+    LocalDate findEarliestAttendanceDate();
+
+    /**
+     * Rows of [employeeId, clockInTime, clockOutTime] for every record on the given day.
+     */
+    @Query("SELECT a.employeeId, a.clockInTime, a.clockOutTime FROM Attendance a " +
+           "WHERE a.attendanceDate = :date")
+    List<Object[]> findPunchesByDate(@Param("date") LocalDate date);
+
     @Query("SELECT a FROM Attendance a WHERE a.attendanceDate BETWEEN :startDate AND :endDate")
     Page<Attendance> findByDateRange(@Param("startDate") LocalDate startDate,
                                      @Param("endDate") LocalDate endDate,
@@ -40,5 +69,26 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findEarlyDepartures(@Param("employeeId") Long employeeId,
                                          @Param("startDate") LocalDate startDate,
                                          @Param("endDate") LocalDate endDate);
-}
 
+    // Per-day aggregates: [date, present, late, early departures, total hours]
+
+    @Query("SELECT a.attendanceDate, COUNT(a.clockInTime), " +
+           "SUM(CASE WHEN a.isLate = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.isEarlyDeparture = true THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(a.totalHours), 0) " +
+           "FROM Attendance a WHERE a.attendanceDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.attendanceDate")
+    List<Object[]> aggregateByDate(@Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT a.attendanceDate, COUNT(a.clockInTime), " +
+           "SUM(CASE WHEN a.isLate = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.isEarlyDeparture = true THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(a.totalHours), 0) " +
+           "FROM Attendance a WHERE a.employeeId IN :employeeIds " +
+           "AND a.attendanceDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY a.attendanceDate")
+    List<Object[]> aggregateByDateForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,14 @@
+package com.hcms.attendance.repository;
+
+/**
+ * Aggregated attendance figures for one employee over a date range.
+ */
+public interface AttendanceTotals {
+    Long getPresentDays();
+
+    Long getLateDays();
+
+    Long getEarlyDepartureDays();
+
+    Double getTotalHours();
+}
@@ -0,0 +1,38 @@
+package com.hcms.attendance.service;
+
+import com.hcms.attendance.repository.AbsenceDetectionLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Serializes absentee detection for one day across instances with
+ * SELECT ... FOR UPDATE on the day's lock row. Every instance runs the nightly
+ * job, and two runs replacing the day's markers at once would collide on the
+ * (employee_id, absence_date) key.
+ * <p>
+ * The lock must be taken before the transaction's first plain read: under
+ * REPEATABLE READ that read fixes the snapshot every later read sees, and a
+ * snapshot from before the lock would miss the previous holder's markers.
+ */
+@Component
+@RequiredArgsConstructor
+public class AbsenceDetectionLocker {
+
+    private final AbsenceDetectionLockRepository lockRepository;
+
+    /**
+     * Held until the caller's transaction ends. The day's row is created on
+     * first use; a concurrent creator waits on the insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(LocalDate date) {
+        long id = date.getYear() * 10_000L + date.getMonthValue() * 100L + date.getDayOfMonth();
+        lockRepository.insertIfMissing(id);
+        lockRepository.lockById(id)
+                .orElseThrow(() -> new IllegalStateException("Absence detection lock row is missing"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.hcms.attendance.service;
+
+import com.hcms.attendance.client.EmployeeDirectory;
+import com.hcms.attendance.client.LeaveServiceClient;
+import com.hcms.attendance.dto.AbsenceDetectionResponse;
+import com.hcms.attendance.exception.BadRequestException;
+import com.hcms.attendance.repository.AttendanceAbsenceRepository;
+import com.hcms.attendance.repository.AttendanceRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records absences at the end of each working day. An active employee is
+ * absent if they did not clock in and had no approved leave that day.
+ * Attendance and leave are each loaded with one set-based query. Active
+ * employees are walked page by page. The day's markers are then replaced with
+ * batched inserts. The whole run is one transaction holding the day's
+ * {@link AbsenceDetectionLocker} lock, so re-running a date is safe, also from
+ * several instances at once.
+ */
+@Service
+@Slf4j
+public class AbsenteeDetectionService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO attendance_absences (employee_id, absence_date, created_at) VALUES (?, ?, ?)";
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceAbsenceRepository absenceRepository;
+    private final EmployeeDirectory employeeDirectory;
+    private final LeaveServiceClient leaveServiceClient;
+    private final PunchIngestionService punchIngestionService;
+    private final AbsenceDetectionLocker absenceDetectionLocker;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Timer runTimer;
+
+    public AbsenteeDetectionService(AttendanceRepository attendanceRepository,
+                                    AttendanceAbsenceRepository absenceRepository,
+                                    EmployeeDirectory employeeDirectory,
+                                    LeaveServiceClient leaveServiceClient,
+                                    PunchIngestionService punchIngestionService,
+                                    AbsenceDetectionLocker absenceDetectionLocker,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${attendance.absence.batch-size:1000}") int batchSize,
+                                    MeterRegistry meterRegistry) {
+        this.attendanceRepository = attendanceRepository;
+        this.absenceRepository = absenceRepository;
+        this.employeeDirectory = employeeDirectory;
+        this.leaveServiceClient = leaveServiceClient;
+        this.punchIngestionService = punchIngestionService;
+        this.absenceDetectionLocker = absenceDetectionLocker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.runTimer = Timer.builder("attendance.absence.detection")
+                .description("Duration of an absentee detection run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${attendance.absence.cron:0 55 23 * * *}")
+    public void detectToday() {
+        try {
+            detect(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Absentee detection failed: {}", e.getMessage());
+        }
+    }
+
+    public AbsenceDetectionResponse detect(LocalDate date) {
+        if (date.isAfter(LocalDate.now())) {
+            throw new BadRequestException("Cannot detect absences for a future date");
+        }
+        long start = System.nanoTime();
+        // Write-behind punches still in memory, here or on other instances, would otherwise count as absences
+        punchIngestionService.flushAndAwaitOthers();
+
+        // Every instance runs the nightly job; the lock makes the later runs redo the day one at a time
+        Detection detection = transactionTemplate.execute(status -> {
+            absenceDetectionLocker.lock(date);
+            Detection result = findAbsent(date);
+            absenceRepository.deleteByDate(date);
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.batchUpdate(INSERT_SQL, result.absent(), batchSize, (ps, employeeId) -> {
+                ps.setLong(1, employeeId);
+                ps.setObject(2, date);
+                ps.setObject(3, now);
+            });
+            return result;
+        });
+
+        long elapsed = System.nanoTime() - start;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Absentee detection for {}: {} active, {} present, {} on leave, {} absent in {} ms",
+                date, detection.active(), detection.present(), detection.onLeave(), detection.absent().size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+        return AbsenceDetectionResponse.builder()
+                .date(date)
+                .activeEmployees(detection.active())
+                .presentEmployees(detection.present())
+                .onLeaveEmployees(detection.onLeave())
+                .absentEmployees((long) detection.absent().size())
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .build();
+    }
+
+    private Detection findAbsent(LocalDate date) {
+        if (AttendanceDashboardService.isWeekend(date)) {
+            return new Detection(0, 0, 0, List.of());
+        }
+        Set<Long> excluded = new HashSet<>(attendanceRepository.findClockedInEmployeeIds(date));
+        long present = excluded.size();
+        List<Long> absent = new ArrayList<>();
+        AtomicLong active = new AtomicLong();
+        try {
+            List<Long> leaveIds = leaveServiceClient.getEmployeeIdsOnLeave(date);
+            excluded.addAll(leaveIds);
+
+            employeeDirectory.forEachPage(null, null, page -> page.forEach(employee -> {
+                if (EmployeeDirectory.ACTIVE.equals(employee.getStatus())) {
+                    active.incrementAndGet();
+                    if (!excluded.contains(employee.getId())) {
+                        absent.add(employee.getId());
+                    }
+                }
+            }));
+            return new Detection(active.get(), present, leaveIds.size(), absent);
+        } catch (FeignException e) {
+            // Without the full employee and leave picture, marking anyone absent would be wrong
+            log.error("Error loading employees or leaves for {}: {}", date, e.getMessage());
+            throw new BadRequestException("Unable to load employees or leaves for " + date);
+        }
+    }
+
+    private record Detection(long active, long present, long onLeave, List<Long> absent) {
+    }
+}
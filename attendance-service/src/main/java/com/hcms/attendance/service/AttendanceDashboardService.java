@@ -0,0 +1,124 @@
+package com.hcms.attendance.service;
+
+import com.hcms.attendance.client.EmployeeDirectory;
+import com.hcms.attendance.dto.AttendanceDashboardResponse;
+import com.hcms.attendance.dto.DailyAttendanceSummary;
+import com.hcms.attendance.exception.BadRequestException;
+import com.hcms.attendance.repository.AttendanceRepository;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Daily present/late/early/absent counts for the whole company, a department
+ * or a manager's team. Counts are aggregated by MySQL per day, so the service
+ * only ever handles one row per day of the range.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceDashboardService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final AttendanceRepository attendanceRepository;
+    private final EmployeeDirectory employeeDirectory;
+
+    public AttendanceDashboardResponse getDashboard(LocalDate startDate, LocalDate endDate,
+                                                    Long departmentId, Long managerId) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        long start = System.currentTimeMillis();
+
+        long headcount;
+        List<Object[]> rows;
+        try {
+            if (departmentId == null && managerId == null) {
+                headcount = employeeDirectory.countActiveEmployees();
+                rows = attendanceRepository.aggregateByDate(startDate, endDate);
+            } else {
+                List<Long> memberIds = new ArrayList<>();
+                AtomicLong active = new AtomicLong();
+                employeeDirectory.forEachPage(departmentId, managerId, page -> page.forEach(employee -> {
+                    memberIds.add(employee.getId());
+                    if (EmployeeDirectory.ACTIVE.equals(employee.getStatus())) {
+                        active.incrementAndGet();
+                    }
+                }));
+                headcount = active.get();
+                rows = memberIds.isEmpty()
+                        ? List.of()
+                        : attendanceRepository.aggregateByDateForEmployees(memberIds, startDate, endDate);
+            }
+        } catch (FeignException e) {
+            log.error("Error calling employee service: {}", e.getMessage());
+            throw new BadRequestException("Unable to resolve employees for the dashboard");
+        }
+
+        Map<LocalDate, Object[]> byDate = new HashMap<>();
+        rows.forEach(row -> byDate.put((LocalDate) row[0], row));
+
+        List<DailyAttendanceSummary> days = new ArrayList<>();
+        long presentDays = 0, lateDays = 0, earlyDepartureDays = 0, absentDays = 0;
+        double totalHours = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            Object[] row = byDate.get(date);
+            long present = row != null ? ((Number) row[1]).longValue() : 0;
+            long late = row != null ? ((Number) row[2]).longValue() : 0;
+            long early = row != null ? ((Number) row[3]).longValue() : 0;
+            double hours = row != null ? ((Number) row[4]).doubleValue() : 0;
+            // Weekends are not working days, so nobody is counted absent on them
+            long absent = isWeekend(date) ? 0 : Math.max(0, headcount - present);
+
+            days.add(DailyAttendanceSummary.builder()
+                    .date(date)
+                    .presentCount(present)
+                    .lateCount(late)
+                    .earlyDepartureCount(early)
+                    .absentCount(absent)
+                    .totalHours(hours)
+                    .build());
+            presentDays += present;
+            lateDays += late;
+            earlyDepartureDays += early;
+            absentDays += absent;
+            totalHours += hours;
+        }
+
+        log.debug("Attendance dashboard {} - {} (department {}, manager {}) computed in {} ms",
+                startDate, endDate, departmentId, managerId, System.currentTimeMillis() - start);
+
+        return AttendanceDashboardResponse.builder()
+                .departmentId(departmentId)
+                .managerId(managerId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .headcount(headcount)
+                .presentDays(presentDays)
+                .lateDays(lateDays)
+                .earlyDepartureDays(earlyDepartureDays)
+                .absentDays(absentDays)
+                .totalHours(totalHours)
+                .days(days)
+                .build();
+    }
+
+    static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+}
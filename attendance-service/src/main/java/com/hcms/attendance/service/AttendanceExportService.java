@@ -0,0 +1,302 @@
+package com.hcms.attendance.service;
+
+import com.hcms.attendance.exception.BadRequestException;
+import com.hcms.attendance.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams every attendance row in a date range straight from a forward-only
+ * MySQL cursor to the response. Rows are never collected. CSV is written
+ * row by row; the columnar format buffers one fixed-size row group. Heap use
+ * does not depend on the number of rows.
+ * <p>
+ * Columnar layout (big-endian, as written by {@link DataOutputStream}):
+ * <pre>
+ * header     : "HCMSATT1" (8 ASCII bytes), int rowGroupSize
+ * row group  : int rowCount (&gt; 0), then rowCount values of each column in order:
+ *              employee_id long, attendance_date int (epoch day),
+ *              clock_in int (second of day, -1 = none), clock_out int (same),
+ *              total_hours double (NaN = none), flags byte (1 = late, 2 = early departure),
+ *              late_minutes int, early_departure_minutes int
+ * trailer    : int 0
+ * </pre>
+ * Remarks are only included in CSV.
+ * <p>
+ * An export holds a pooled connection for the whole download, so at most
+ * {@code attendance.export.max-concurrent} run at once; callers reserve a slot
+ * with {@link #acquirePermit()} before streaming.
+ */
+@Service
+@Slf4j
+public class AttendanceExportService {
+
+    public static final String CSV = "csv";
+    public static final String COLUMNAR = "columnar";
+
+    private static final long MAX_RANGE_DAYS = 366;
+    private static final byte[] MAGIC = "HCMSATT1".getBytes(StandardCharsets.US_ASCII);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String EXPORT_SQL =
+            "SELECT employee_id, attendance_date, clock_in_time, clock_out_time, total_hours, is_late, " +
+            "late_minutes, is_early_departure, early_departure_minutes, remarks " +
+            "FROM attendances WHERE attendance_date BETWEEN ? AND ? " +
+            "ORDER BY attendance_date, employee_id";
+
+    private static final String CSV_HEADER = "employee_id,attendance_date,clock_in_time,clock_out_time," +
+            "total_hours,is_late,late_minutes,is_early_departure,early_departure_minutes,remarks\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowGroupSize;
+    private final Semaphore exportSlots;
+    private final Counter exportedRows;
+
+    public AttendanceExportService(JdbcTemplate jdbcTemplate,
+                                   @Value("${attendance.export.row-group-size:8192}") int rowGroupSize,
+                                   @Value("${attendance.export.max-concurrent:2}") int maxConcurrent,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowGroupSize = rowGroupSize;
+        this.exportSlots = new Semaphore(maxConcurrent);
+        this.exportedRows = Counter.builder("attendance.export.rows").register(meterRegistry);
+    }
+
+    /**
+     * Reserves an export slot, or rejects the request if all are in use.
+     * Close the permit when the export has finished.
+     */
+    public ExportPermit acquirePermit() {
+        if (!exportSlots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many attendance exports in progress, try again later");
+        }
+        return new ExportPermit();
+    }
+
+    public void validate(LocalDate startDate, LocalDate endDate, String format) {
+        if (!CSV.equals(format) && !COLUMNAR.equals(format)) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    public void writeCsv(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        long rows = stream(startDate, endDate, rs -> {
+            try {
+                writer.append(rs.getString(1)).append(',')
+                        .append(rs.getString(2)).append(',')
+                        .append(nullToEmpty(rs.getString(3))).append(',')
+                        .append(nullToEmpty(rs.getString(4))).append(',')
+                        .append(nullToEmpty(rs.getString(5))).append(',')
+                        .append(String.valueOf(rs.getBoolean(6))).append(',')
+                        .append(String.valueOf(rs.getInt(7))).append(',')
+                        .append(String.valueOf(rs.getBoolean(8))).append(',')
+                        .append(String.valueOf(rs.getInt(9))).append(',')
+                        .append(csvField(rs.getString(10))).append('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        log.info("Exported {} attendance rows as CSV for {} to {}", rows, startDate, endDate);
+    }
+
+    public void writeColumnar(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.write(MAGIC);
+        data.writeInt(rowGroupSize);
+
+        RowGroup group = new RowGroup(rowGroupSize);
+        long rows = stream(startDate, endDate, rs -> {
+            group.add(rs);
+            if (group.size == rowGroupSize) {
+                group.writeTo(data);
+            }
+        });
+        group.writeTo(data);
+        data.writeInt(0);
+        data.flush();
+        log.info("Exported {} attendance rows as columnar for {} to {}", rows, startDate, endDate);
+    }
+
+    /**
+     * Runs the export query with MySQL's streaming result set (fetch size
+     * {@link Integer#MIN_VALUE}), so the driver holds one row at a time.
+     */
+    private long stream(LocalDate startDate, LocalDate endDate, RowCallbackHandler handler) throws IOException {
+        PreparedStatement[] current = new PreparedStatement[1];
+        PreparedStatementCreator statement = con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setObject(1, startDate);
+            ps.setObject(2, endDate);
+            current[0] = ps;
+            return ps;
+        };
+        long[] rows = new long[1];
+        try {
+            jdbcTemplate.query(statement, (RowCallbackHandler) rs -> {
+                try {
+                    handler.processRow(rs);
+                } catch (UncheckedIOException e) {
+                    // Closing a streaming result set reads all remaining rows; kill the query instead
+                    try {
+                        current[0].cancel();
+                    } catch (SQLException cancelFailure) {
+                        e.addSuppressed(cancelFailure);
+                    }
+                    throw e;
+                }
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away mid-download
+            throw e.getCause();
+        } finally {
+            exportedRows.increment(rows[0]);
+        }
+        return rows[0];
+    }
+
+    /**
+     * One reserved export slot; closing it more than once is harmless.
+     */
+    public final class ExportPermit implements AutoCloseable {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ExportPermit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                exportSlots.release();
+            }
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * One row group's worth of column buffers, reused for the whole export.
+     */
+    private static final class RowGroup {
+        private final long[] employeeIds;
+        private final int[] dates;
+        private final int[] clockIns;
+        private final int[] clockOuts;
+        private final double[] totalHours;
+        private final byte[] flags;
+        private final int[] lateMinutes;
+        private final int[] earlyMinutes;
+        private int size;
+
+        RowGroup(int capacity) {
+            employeeIds = new long[capacity];
+            dates = new int[capacity];
+            clockIns = new int[capacity];
+            clockOuts = new int[capacity];
+            totalHours = new double[capacity];
+            flags = new byte[capacity];
+            lateMinutes = new int[capacity];
+            earlyMinutes = new int[capacity];
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            int i = size++;
+            employeeIds[i] = rs.getLong(1);
+            Date date = rs.getDate(2);
+            dates[i] = (int) date.toLocalDate().toEpochDay();
+            clockIns[i] = secondOfDay(rs.getTime(3));
+            clockOuts[i] = secondOfDay(rs.getTime(4));
+            double hours = rs.getDouble(5);
+            totalHours[i] = rs.wasNull() ? Double.NaN : hours;
+            flags[i] = (byte) ((rs.getBoolean(6) ? 1 : 0) | (rs.getBoolean(8) ? 2 : 0));
+            lateMinutes[i] = rs.getInt(7);
+            earlyMinutes[i] = rs.getInt(9);
+        }
+
+        void writeTo(DataOutputStream out) {
+            if (size == 0) {
+                return;
+            }
+            try {
+                out.writeInt(size);
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(employeeIds[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(dates[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(clockIns[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(clockOuts[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeDouble(totalHours[i]);
+                }
+                out.write(flags, 0, size);
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(lateMinutes[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(earlyMinutes[i]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            size = 0;
+        }
+
+        private static int secondOfDay(Time time) {
+            return time != null ? time.toLocalTime().toSecondOfDay() : -1;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.hcms.attendance.service;
 
-import com.hcms.attendance.client.EmployeeServiceClient;
+import com.hcms.attendance.client.EmployeeSummaryCache;
 import com.hcms.attendance.dto.AttendanceReportResponse;
 import com.hcms.attendance.dto.AttendanceResponse;
 import com.hcms.attendance.dto.ClockInRequest;
@@ -8,11 +8,15 @@ import com.hcms.attendance.dto.ClockOutRequest;
 import com.hcms.attendance.entity.Attendance;
 import com.hcms.attendance.exception.BadRequestException;
 import com.hcms.attendance.exception.ResourceNotFoundException;
+import com.hcms.attendance.repository.AttendanceAbsenceRepository;
 import com.hcms.attendance.repository.AttendanceRepository;
+import com.hcms.common.dto.CursorPage;
+import com.hcms.common.util.CursorCodec;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,24 +34,18 @@ import java.util.stream.Collectors;
 public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
-    private final EmployeeServiceClient employeeServiceClient;
-    private static final LocalTime EXPECTED_CLOCK_IN = LocalTime.of(9, 0);
-    private static final LocalTime EXPECTED_CLOCK_OUT = LocalTime.of(18, 0);
-    private static final int LATE_THRESHOLD_MINUTES = 15;
+    private final EmployeeSummaryCache employeeSummaryCache;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final AttendanceAbsenceRepository attendanceAbsenceRepository;
+    static final LocalTime EXPECTED_CLOCK_IN = LocalTime.of(9, 0);
+    static final LocalTime EXPECTED_CLOCK_OUT = LocalTime.of(18, 0);
+    static final int LATE_THRESHOLD_MINUTES = 15;
 
     @Transactional
     public AttendanceResponse clockIn(Long employeeId, ClockInRequest request) {
         log.info("Clock in for employee: {}", employeeId);
 
-        // Validate employee exists
-        try {
-            employeeServiceClient.getEmployeeById(employeeId);
-        } catch (FeignException.NotFound e) {
-            throw new BadRequestException("Employee not found with id: " + employeeId);
-        } catch (FeignException e) {
-            log.error("Error calling employee service: {}", e.getMessage());
-            throw new BadRequestException("Unable to validate employee");
-        }
+        validateEmployee(employeeId);
 
         LocalDate today = LocalDate.now();
         LocalTime now = LocalTime.now();
@@ -75,14 +73,15 @@ public class AttendanceService {
         }
 
         // Check if late
-        if (now.isAfter(EXPECTED_CLOCK_IN.plusMinutes(LATE_THRESHOLD_MINUTES))) {
+        int lateMinutes = lateMinutes(now);
+        if (lateMinutes > 0) {
             attendance.setIsLate(true);
-            long lateMinutes = ChronoUnit.MINUTES.between(EXPECTED_CLOCK_IN, now);
-            attendance.setLateMinutes((int) lateMinutes);
+            attendance.setLateMinutes(lateMinutes);
             log.warn("Employee {} clocked in late by {} minutes", employeeId, lateMinutes);
         }
 
         attendance = attendanceRepository.save(attendance);
+        attendanceSummaryService.recordClockIn(employeeId, today, lateMinutes);
         log.info("Employee {} clocked in at {}", employeeId, now);
 
         return mapToResponse(attendance);
@@ -110,15 +109,14 @@ public class AttendanceService {
         attendance.setClockOutTime(now);
 
         // Calculate total hours
-        long minutes = ChronoUnit.MINUTES.between(attendance.getClockInTime(), now);
-        double hours = minutes / 60.0;
+        double hours = workedHours(attendance.getClockInTime(), now);
         attendance.setTotalHours(hours);
 
         // Check if early departure
-        if (now.isBefore(EXPECTED_CLOCK_OUT)) {
+        int earlyMinutes = earlyDepartureMinutes(now);
+        if (earlyMinutes > 0) {
             attendance.setIsEarlyDeparture(true);
-            long earlyMinutes = ChronoUnit.MINUTES.between(now, EXPECTED_CLOCK_OUT);
-            attendance.setEarlyDepartureMinutes((int) earlyMinutes);
+            attendance.setEarlyDepartureMinutes(earlyMinutes);
             log.warn("Employee {} clocked out early by {} minutes", employeeId, earlyMinutes);
         }
 
@@ -127,6 +125,7 @@ public class AttendanceService {
         }
 
         attendance = attendanceRepository.save(attendance);
+        attendanceSummaryService.recordClockOut(employeeId, today, earlyMinutes, hours);
         log.info("Employee {} clocked out at {}", employeeId, now);
 
         return mapToResponse(attendance);
@@ -154,25 +153,34 @@ public class AttendanceService {
                 .map(this::mapToResponse);
     }
 
-    public AttendanceReportResponse getAttendanceReport(Long employeeId, LocalDate startDate, LocalDate endDate) {
-        List<Attendance> attendances = attendanceRepository
-                .findByEmployeeIdAndDateRange(employeeId, startDate, endDate);
+    public CursorPage<AttendanceResponse> getAttendanceByEmployee(Long employeeId, String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor, 0);
+        int pageSize = CursorCodec.pageSize(size);
+        List<Attendance> rows = attendanceRepository.findByEmployeeIdAndIdGreaterThanOrderByIdAsc(
+                employeeId, afterId, PageRequest.of(0, pageSize + 1));
+        return CursorCodec.page(rows, pageSize, Attendance::getId, this::mapToResponse);
+    }
+
+    /**
+     * Report for one employee. Totals come from the monthly summaries plus the
+     * partial months at the range edges; the per-day list is optional and paged,
+     * newest first.
+     */
+    public AttendanceReportResponse getAttendanceReport(Long employeeId, LocalDate startDate, LocalDate endDate,
+                                                        boolean includeAttendances, Pageable pageable) {
+        AttendanceSummaryService.ReportTotals totals =
+                attendanceSummaryService.getTotals(employeeId, startDate, endDate);
 
         long totalDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
-        long presentDays = attendances.stream()
-                .filter(a -> a.getClockInTime() != null)
-                .count();
-        long absentDays = totalDays - presentDays;
-        long lateDays = attendances.stream()
-                .filter(a -> Boolean.TRUE.equals(a.getIsLate()))
-                .count();
-        long earlyDepartureDays = attendances.stream()
-                .filter(a -> Boolean.TRUE.equals(a.getIsEarlyDeparture()))
-                .count();
-        double totalHours = attendances.stream()
-                .filter(a -> a.getTotalHours() != null)
-                .mapToDouble(Attendance::getTotalHours)
-                .sum();
+        long presentDays = totals.presentDays();
+
+        List<AttendanceResponse> attendances = null;
+        if (includeAttendances) {
+            attendances = attendanceRepository
+                    .findByEmployeeIdAndAttendanceDateBetween(employeeId, startDate, endDate, pageable)
+                    .map(this::mapToResponse)
+                    .getContent();
+        }
 
         return AttendanceReportResponse.builder()
                 .employeeId(employeeId)
@@ -180,13 +188,12 @@ public class AttendanceService {
                 .endDate(endDate)
                 .totalDays(totalDays)
                 .presentDays(presentDays)
-                .absentDays(absentDays)
-                .lateDays(lateDays)
-                .earlyDepartureDays(earlyDepartureDays)
-                .totalHours(totalHours)
-                .attendances(attendances.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList()))
+                .absentDays(attendanceAbsenceRepository
+                        .countByEmployeeIdAndAbsenceDateBetween(employeeId, startDate, endDate))
+                .lateDays(totals.lateDays())
+                .earlyDepartureDays(totals.earlyDepartureDays())
+                .totalHours(totals.totalHours())
+                .attendances(attendances)
                 .build();
     }
 
@@ -204,6 +211,39 @@ public class AttendanceService {
                 .collect(Collectors.toList());
     }
 
+    void validateEmployee(Long employeeId) {
+        boolean exists;
+        try {
+            exists = employeeSummaryCache.exists(employeeId);
+        } catch (FeignException | IllegalStateException e) {
+            log.error("Error calling employee service: {}", e.getMessage());
+            throw new BadRequestException("Unable to validate employee");
+        }
+        if (!exists) {
+            throw new BadRequestException("Employee not found with id: " + employeeId);
+        }
+    }
+
+    /**
+     * Minutes late for a clock-in at the given time, or 0 within the grace period.
+     */
+    static int lateMinutes(LocalTime clockIn) {
+        if (clockIn.isAfter(EXPECTED_CLOCK_IN.plusMinutes(LATE_THRESHOLD_MINUTES))) {
+            return (int) ChronoUnit.MINUTES.between(EXPECTED_CLOCK_IN, clockIn);
+        }
+        return 0;
+    }
+
+    static int earlyDepartureMinutes(LocalTime clockOut) {
+        return clockOut.isBefore(EXPECTED_CLOCK_OUT)
+                ? (int) ChronoUnit.MINUTES.between(clockOut, EXPECTED_CLOCK_OUT)
+                : 0;
+    }
+
+    static double workedHours(LocalTime clockIn, LocalTime clockOut) {
+        return ChronoUnit.MINUTES.between(clockIn, clockOut) / 60.0;
+    }
+
     private AttendanceResponse mapToResponse(Attendance attendance) {
         return AttendanceResponse.builder()
                 .id(attendance.getId())
@@ -0,0 +1,206 @@
+package com.hcms.attendance.service;
+
+import com.hcms.attendance.exception.BadRequestException;
+import com.hcms.attendance.repository.AttendanceMonthlySummaryRepository;
+import com.hcms.attendance.repository.AttendanceRepository;
+import com.hcms.attendance.repository.AttendanceTotals;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains {@code attendance_monthly_summaries}, one row per employee and
+ * month. Direct clock-in/clock-out add their deltas in the same transaction.
+ * Write-behind flushes re-derive just the employee-months they touched. A
+ * rebuild recomputes whole months from {@code attendances} for backfills.
+ * A nightly run also repairs the current and previous month. An empty table
+ * is backfilled on startup.
+ */
+@Service
+@Slf4j
+public class AttendanceSummaryService {
+
+    private static final int MAX_REBUILD_MONTHS = 120;
+
+    private static final String AGGREGATE_MONTH_SQL =
+            "INSERT INTO attendance_monthly_summaries (employee_id, month_start, present_days, late_days, " +
+            "late_minutes, early_departure_days, early_departure_minutes, total_hours, updated_at) " +
+            "SELECT a.employee_id, ?, COUNT(a.clock_in_time), " +
+            "SUM(CASE WHEN a.is_late = true THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN a.is_late = true THEN a.late_minutes ELSE 0 END), 0), " +
+            "SUM(CASE WHEN a.is_early_departure = true THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(CASE WHEN a.is_early_departure = true THEN a.early_departure_minutes ELSE 0 END), 0), " +
+            "COALESCE(SUM(a.total_hours), 0), NOW() " +
+            "FROM attendances a WHERE a.attendance_date BETWEEN ? AND ? %s" +
+            "GROUP BY a.employee_id " +
+            "ON DUPLICATE KEY UPDATE present_days = VALUES(present_days), late_days = VALUES(late_days), " +
+            "late_minutes = VALUES(late_minutes), early_departure_days = VALUES(early_departure_days), " +
+            "early_departure_minutes = VALUES(early_departure_minutes), total_hours = VALUES(total_hours), " +
+            "updated_at = VALUES(updated_at)";
+
+    private static final String REBUILD_MONTH_SQL = String.format(AGGREGATE_MONTH_SQL, "");
+    private static final String REFRESH_EMPLOYEE_MONTH_SQL = String.format(AGGREGATE_MONTH_SQL, "AND a.employee_id = ? ");
+
+    private final AttendanceMonthlySummaryRepository summaryRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rebuildTimer;
+
+    public AttendanceSummaryService(AttendanceMonthlySummaryRepository summaryRepository,
+                                    AttendanceRepository attendanceRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.summaryRepository = summaryRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildTimer = Timer.builder("attendance.summary.rebuild").register(meterRegistry);
+    }
+
+    /**
+     * Must run inside the caller's clock-in transaction.
+     */
+    void recordClockIn(Long employeeId, LocalDate date, int lateMinutes) {
+        summaryRepository.addToMonth(employeeId, monthStart(date), 1,
+                lateMinutes > 0 ? 1 : 0, lateMinutes, 0, 0, 0.0);
+    }
+
+    /**
+     * Must run inside the caller's clock-out transaction.
+     */
+    void recordClockOut(Long employeeId, LocalDate date, int earlyMinutes, double hours) {
+        summaryRepository.addToMonth(employeeId, monthStart(date), 0, 0, 0,
+                earlyMinutes > 0 ? 1 : 0, earlyMinutes, hours);
+    }
+
+    /**
+     * Re-derives the months of the given punches from their attendance rows.
+     * Idempotent, so a retried flush cannot double count.
+     */
+    void refresh(Collection<Punch.PunchKey> keys) {
+        Set<Punch.PunchKey> months = new LinkedHashSet<>();
+        for (Punch.PunchKey key : keys) {
+            months.add(new Punch.PunchKey(key.employeeId(), monthStart(key.date())));
+        }
+        List<Object[]> args = new ArrayList<>(months.size());
+        for (Punch.PunchKey month : months) {
+            args.add(new Object[]{month.date(), month.date(), month.date().plusMonths(1).minusDays(1),
+                    month.employeeId()});
+        }
+        jdbcTemplate.batchUpdate(REFRESH_EMPLOYEE_MONTH_SQL, args);
+    }
+
+    /**
+     * Recomputes every employee's summary for each month in the range. Each
+     * month is replaced in its own transaction. Returns the number of rows written.
+     */
+    public long rebuild(YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("End month must not be before start month");
+        }
+        if (from.plusMonths(MAX_REBUILD_MONTHS).isBefore(to)) {
+            throw new BadRequestException("Cannot rebuild more than " + MAX_REBUILD_MONTHS + " months at once");
+        }
+        return rebuildTimer.record(() -> {
+            long rows = 0;
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                LocalDate start = month.atDay(1);
+                LocalDate end = month.atEndOfMonth();
+                Integer written = transactionTemplate.execute(status -> {
+                    summaryRepository.deleteByMonth(start);
+                    return jdbcTemplate.update(REBUILD_MONTH_SQL, start, start, end);
+                });
+                rows += written != null ? written : 0;
+                log.info("Rebuilt attendance summaries for {}", month);
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * First start with the summary table: backfill it from all existing attendance.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (summaryRepository.count() > 0) {
+            return;
+        }
+        LocalDate earliest = attendanceRepository.findEarliestAttendanceDate();
+        if (earliest == null) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (YearMonth from = YearMonth.from(earliest); !from.isAfter(current);
+             from = from.plusMonths(MAX_REBUILD_MONTHS)) {
+            YearMonth to = from.plusMonths(MAX_REBUILD_MONTHS - 1);
+            rebuild(from, to.isAfter(current) ? current : to);
+        }
+    }
+
+    @Scheduled(cron = "${attendance.summary.rebuild-cron:0 30 2 * * *}")
+    public void rebuildRecentMonths() {
+        YearMonth current = YearMonth.now();
+        rebuild(current.minusMonths(1), current);
+    }
+
+    /**
+     * Totals for one employee. Whole months are read from the summary table; only
+     * the partial months at either end of the range touch raw attendance rows.
+     */
+    ReportTotals getTotals(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        YearMonth firstFull = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate) : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFull = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate) : YearMonth.from(endDate).minusMonths(1);
+
+        if (lastFull.isBefore(firstFull)) {
+            return ReportTotals.of(attendanceRepository.sumByEmployeeIdAndDateRange(employeeId, startDate, endDate));
+        }
+
+        ReportTotals totals = ReportTotals.of(summaryRepository.sumByEmployeeIdAndMonthRange(
+                employeeId, firstFull.atDay(1), lastFull.atDay(1)));
+        if (startDate.isBefore(firstFull.atDay(1))) {
+            totals = totals.plus(attendanceRepository.sumByEmployeeIdAndDateRange(
+                    employeeId, startDate, firstFull.atDay(1).minusDays(1)));
+        }
+        if (endDate.isAfter(lastFull.atEndOfMonth())) {
+            totals = totals.plus(attendanceRepository.sumByEmployeeIdAndDateRange(
+                    employeeId, lastFull.plusMonths(1).atDay(1), endDate));
+        }
+        return totals;
+    }
+
+    private static LocalDate monthStart(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    record ReportTotals(long presentDays, long lateDays, long earlyDepartureDays, double totalHours) {
+
+        static ReportTotals of(AttendanceTotals totals) {
+            return new ReportTotals(totals.getPresentDays(), totals.getLateDays(),
+                    totals.getEarlyDepartureDays(), totals.getTotalHours());
+        }
+
+        ReportTotals plus(AttendanceTotals other) {
+            return new ReportTotals(presentDays + other.getPresentDays(), lateDays + other.getLateDays(),
+                    earlyDepartureDays + other.getEarlyDepartureDays(), totalHours + other.getTotalHours());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hcms.attendance.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A partial attendance row accepted by the write-behind path. A clock-in sets
+ * {@code clockIn}; a clock-out also carries the clock-in it closes so hours can
+ * be written without reading the row back.
+ */
+record Punch(Long employeeId, LocalDate date, LocalTime clockIn, LocalTime clockOut, String remarks) {
+
+    /**
+     * Coalesces a later punch for the same employee and day into this one.
+     */
+    Punch merge(Punch later) {
+        return new Punch(employeeId, date,
+                clockIn != null ? clockIn : later.clockIn,
+                clockOut != null ? clockOut : later.clockOut,
+                later.remarks != null ? later.remarks : remarks);
+    }
+
+    PunchKey key() {
+        return new PunchKey(employeeId, date);
+    }
+
+    record PunchKey(Long employeeId, LocalDate date) {
+    }
+}
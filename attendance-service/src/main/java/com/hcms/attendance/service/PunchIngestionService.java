@@ -0,0 +1,571 @@
+package com.hcms.attendance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcms.attendance.dto.AttendanceResponse;
+import com.hcms.attendance.dto.ClockInRequest;
+import com.hcms.attendance.dto.ClockOutRequest;
+import com.hcms.attendance.entity.Attendance;
+import com.hcms.attendance.exception.BadRequestException;
+import com.hcms.attendance.exception.ResourceNotFoundException;
+import com.hcms.attendance.repository.AttendanceRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entry point for clock-in and clock-out punches.
+ * <p>
+ * In {@code direct} mode every punch goes straight to {@link AttendanceService}
+ * and commits on its own. In {@code write-behind} mode a punch is checked
+ * against an in-memory record of who has clocked in and out today. It is then
+ * appended to a local {@link PunchLog} and acknowledged once the log is on disk.
+ * Appends from concurrent requests share one fsync. A flusher coalesces
+ * accepted punches per employee and day and upserts them in JDBC batches. Log
+ * segments are deleted only after their punches are in MySQL. Segments left
+ * by a crash are replayed at startup.
+ * <p>
+ * The punch time is taken when the request is accepted, not when it is
+ * flushed. Duplicate detection is per instance. A clock-out for an employee
+ * this instance has no clock-in for falls back to the table, waiting up to two
+ * flush intervals for a clock-in accepted by another instance to land there.
+ * The upsert keeps the first clock-in and clock-out either way.
+ */
+@Service
+@Slf4j
+public class PunchIngestionService {
+
+    static final String DIRECT = "direct";
+    static final String WRITE_BEHIND = "write-behind";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendances (employee_id, attendance_date, clock_in_time, clock_out_time, total_hours, " +
+            "is_late, late_minutes, is_early_departure, early_departure_minutes, remarks, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            // MySQL applies assignments left to right, so derived columns are set before the times they test
+            "is_late = IF(clock_in_time IS NULL, VALUES(is_late), is_late), " +
+            "late_minutes = IF(clock_in_time IS NULL, VALUES(late_minutes), late_minutes), " +
+            "clock_in_time = COALESCE(clock_in_time, VALUES(clock_in_time)), " +
+            "total_hours = IF(clock_out_time IS NULL, VALUES(total_hours), total_hours), " +
+            "is_early_departure = IF(clock_out_time IS NULL, VALUES(is_early_departure), is_early_departure), " +
+            "early_departure_minutes = IF(clock_out_time IS NULL, VALUES(early_departure_minutes), " +
+            "early_departure_minutes), " +
+            "clock_out_time = COALESCE(clock_out_time, VALUES(clock_out_time)), " +
+            "remarks = COALESCE(VALUES(remarks), remarks), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final AttendanceService attendanceService;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceSummaryService attendanceSummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean writeBehind;
+    private final Path logDir;
+    private final int logBatchSize;
+    private final long appendTimeoutMillis;
+    private final long flushIntervalMillis;
+    private final int flushBatchSize;
+
+    private final BlockingQueue<PendingAppend> appendQueue;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, DayState> today = new ConcurrentHashMap<>();
+    private volatile LocalDate todayDate;
+    private Map<Punch.PunchKey, Punch> pending = new HashMap<>();
+    private PunchLog punchLog;
+    private Thread writer;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    private final LongAdder directPunches = new LongAdder();
+    private final LongAdder writeBehindPunches = new LongAdder();
+    private final Timer appendTimer;
+    private final Timer flushTimer;
+    private final DistributionSummary flushSize;
+
+    public PunchIngestionService(AttendanceService attendanceService,
+                                 AttendanceRepository attendanceRepository,
+                                 AttendanceSummaryService attendanceSummaryService,
+                                 JdbcTemplate jdbcTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${attendance.ingest.mode:direct}") String mode,
+                                 @Value("${attendance.ingest.log-dir:./data/punch-log}") String logDir,
+                                 @Value("${attendance.ingest.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${attendance.ingest.log-batch-size:500}") int logBatchSize,
+                                 @Value("${attendance.ingest.append-timeout-millis:2000}") long appendTimeoutMillis,
+                                 @Value("${attendance.ingest.flush-interval-millis:200}") long flushIntervalMillis,
+                                 @Value("${attendance.ingest.flush-batch-size:500}") int flushBatchSize,
+                                 MeterRegistry meterRegistry) {
+        if (!DIRECT.equals(mode) && !WRITE_BEHIND.equals(mode)) {
+            throw new IllegalArgumentException("Unknown attendance.ingest.mode: " + mode);
+        }
+        this.attendanceService = attendanceService;
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceSummaryService = attendanceSummaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.writeBehind = WRITE_BEHIND.equals(mode);
+        this.logDir = Path.of(logDir);
+        this.logBatchSize = logBatchSize;
+        this.appendTimeoutMillis = appendTimeoutMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushBatchSize = flushBatchSize;
+        this.appendQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        // Rate of these counters is punches/sec for each path
+        FunctionCounter.builder("attendance.punches", directPunches, LongAdder::sum)
+                .tag("mode", DIRECT).register(meterRegistry);
+        FunctionCounter.builder("attendance.punches", writeBehindPunches, LongAdder::sum)
+                .tag("mode", WRITE_BEHIND).register(meterRegistry);
+        Gauge.builder("attendance.ingest.pending", this, PunchIngestionService::pendingCount)
+                .register(meterRegistry);
+        Gauge.builder("attendance.ingest.queue", appendQueue, BlockingQueue::size).register(meterRegistry);
+        this.appendTimer = Timer.builder("attendance.ingest.append")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("attendance.ingest.flush").register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("attendance.ingest.flush.size").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!writeBehind) {
+            return;
+        }
+        punchLog = new PunchLog(logDir, objectMapper);
+        loadDay(LocalDate.now());
+
+        List<Punch> recovered = punchLog.recover();
+        for (Punch punch : recovered) {
+            pending.merge(punch.key(), punch, Punch::merge);
+            if (punch.date().equals(todayDate)) {
+                today.merge(punch.employeeId(), new DayState(punch.clockIn(), punch.clockOut()), DayState::merge);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} punches from {}", recovered.size(), logDir);
+            flush();
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "punch-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "punch-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        log.info("Write-behind punch ingestion enabled, log at {}", logDir.toAbsolutePath());
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (!writeBehind) {
+            return;
+        }
+        // The writer is not interrupted: an interrupt during a write closes the log channel
+        running = false;
+        flusher.shutdown();
+        try {
+            writer.join(appendTimeoutMillis + 1000);
+            flusher.awaitTermination(appendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything not flushed stays in the log and is replayed on the next start
+        flushQuietly();
+        punchLog.close();
+    }
+
+    public AttendanceResponse clockIn(Long employeeId, ClockInRequest request) {
+        if (!writeBehind) {
+            AttendanceResponse response = attendanceService.clockIn(employeeId, request);
+            directPunches.increment();
+            return response;
+        }
+
+        attendanceService.validateEmployee(employeeId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate date = now.toLocalDate();
+        LocalTime time = now.toLocalTime();
+        Map<Long, DayState> states = statesFor(date);
+
+        DayState claimed = new DayState(time, null);
+        DayState previous = states.putIfAbsent(employeeId, claimed);
+        if (previous != null) {
+            if (previous.clockIn() != null) {
+                throw new BadRequestException("Already clocked in for today");
+            }
+            if (!states.replace(employeeId, previous, claimed)) {
+                throw new BadRequestException("Already clocked in for today");
+            }
+        }
+
+        Punch punch = new Punch(employeeId, date, time, null, request.getRemarks());
+        try {
+            append(punch);
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                states.remove(employeeId, claimed);
+            } else {
+                states.replace(employeeId, claimed, previous);
+            }
+            throw e;
+        }
+
+        int lateMinutes = AttendanceService.lateMinutes(time);
+        if (lateMinutes > 0) {
+            log.warn("Employee {} clocked in late by {} minutes", employeeId, lateMinutes);
+        }
+        return toResponse(punch);
+    }
+
+    public AttendanceResponse clockOut(Long employeeId, ClockOutRequest request) {
+        if (!writeBehind) {
+            AttendanceResponse response = attendanceService.clockOut(employeeId, request);
+            directPunches.increment();
+            return response;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate date = now.toLocalDate();
+        LocalTime time = now.toLocalTime();
+        Map<Long, DayState> states = statesFor(date);
+
+        DayState previous = states.get(employeeId);
+        if (previous == null) {
+            previous = loadFromTable(states, employeeId, date);
+        }
+        if (previous == null) {
+            throw new ResourceNotFoundException("No clock-in record found for today");
+        }
+        if (previous.clockIn() == null) {
+            throw new BadRequestException("Cannot clock out without clocking in");
+        }
+        if (previous.clockOut() != null) {
+            throw new BadRequestException("Already clocked out for today");
+        }
+        DayState closed = new DayState(previous.clockIn(), time);
+        if (!states.replace(employeeId, previous, closed)) {
+            throw new BadRequestException("Already clocked out for today");
+        }
+
+        Punch punch = new Punch(employeeId, date, previous.clockIn(), time, request.getRemarks());
+        try {
+            append(punch);
+        } catch (RuntimeException e) {
+            states.replace(employeeId, closed, previous);
+            throw e;
+        }
+
+        int earlyMinutes = AttendanceService.earlyDepartureMinutes(time);
+        if (earlyMinutes > 0) {
+            log.warn("Employee {} clocked out early by {} minutes", employeeId, earlyMinutes);
+        }
+        return toResponse(punch);
+    }
+
+    /**
+     * Looks up a punch this instance has not seen, e.g. a clock-in accepted by
+     * another instance. That instance writes it within one flush interval, so a
+     * miss is retried once after two.
+     */
+    private DayState loadFromTable(Map<Long, DayState> states, Long employeeId, LocalDate date) {
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            Optional<Attendance> attendance = attendanceRepository.findByEmployeeIdAndAttendanceDate(employeeId, date);
+            if (attendance.isPresent()) {
+                DayState loaded = new DayState(attendance.get().getClockInTime(), attendance.get().getClockOutTime());
+                DayState previous = states.putIfAbsent(employeeId, loaded);
+                return previous != null ? previous : loaded;
+            }
+            if (attempt == 1) {
+                try {
+                    Thread.sleep(2 * flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while looking up clock-in", e);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void append(Punch punch) {
+        PendingAppend entry = new PendingAppend(punch, new CompletableFuture<>());
+        long start = System.nanoTime();
+        if (!appendQueue.offer(entry)) {
+            throw new IllegalStateException("Punch log queue is full");
+        }
+        try {
+            entry.durable().get(appendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing punch log", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Punch could not be written to the log", e);
+        }
+        appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        writeBehindPunches.increment();
+    }
+
+    /**
+     * Group commit: drains whatever is queued, writes it with one fsync and only
+     * then hands the punches to the flusher and releases the waiting requests.
+     */
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(logBatchSize);
+        List<Punch> punches = new ArrayList<>(logBatchSize);
+        while (running) {
+            try {
+                PendingAppend first = appendQueue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                appendQueue.drainTo(batch, logBatchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            for (PendingAppend entry : batch) {
+                punches.add(entry.punch());
+            }
+            IOException failure = null;
+            lock.lock();
+            try {
+                punchLog.append(punches);
+                for (Punch punch : punches) {
+                    pending.merge(punch.key(), punch, Punch::merge);
+                }
+            } catch (IOException e) {
+                failure = e;
+                log.error("Failed to append {} punches to the log: {}", punches.size(), e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+
+            for (PendingAppend entry : batch) {
+                if (failure == null) {
+                    entry.durable().complete(null);
+                } else {
+                    entry.durable().completeExceptionally(failure);
+                }
+            }
+            batch.clear();
+            punches.clear();
+        }
+
+        List<PendingAppend> abandoned = new ArrayList<>();
+        appendQueue.drainTo(abandoned);
+        abandoned.forEach(entry -> entry.durable().completeExceptionally(
+                new IllegalStateException("Punch ingestion is shutting down")));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Punch flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Seals the current log segment together with the punches it holds, writes
+     * them to MySQL and only then deletes the segments sealed up to that point.
+     * Any failure puts the punches back for the next round; the segments stay
+     * on disk. Synchronized so that one caller cannot delete segments sealed by
+     * another before that caller's punches are written.
+     */
+    synchronized void flush() {
+        Map<Punch.PunchKey, Punch> batch;
+        int sealed;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+            sealed = punchLog.rotate();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not rotate punch log", e);
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        try {
+            upsert(new ArrayList<>(batch.values()));
+            attendanceSummaryService.refresh(batch.keySet());
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                batch.forEach((key, punch) -> pending.merge(key, punch, Punch::merge));
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        flushSize.record(batch.size());
+
+        lock.lock();
+        try {
+            punchLog.deleteSealed(sealed);
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Flushed {} punches", batch.size());
+    }
+
+    /**
+     * Flushes this instance's punches, then waits two flush intervals so other
+     * instances' flushers have written theirs too. For readers that need every
+     * punch accepted so far, e.g. absentee detection.
+     */
+    void flushAndAwaitOthers() {
+        flush();
+        if (!writeBehind) {
+            return;
+        }
+        try {
+            Thread.sleep(2 * flushIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for punches to be flushed", e);
+        }
+    }
+
+    private void upsert(List<Punch> punches) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, punches, flushBatchSize, (ps, punch) -> {
+            int lateMinutes = punch.clockIn() != null ? AttendanceService.lateMinutes(punch.clockIn()) : 0;
+            boolean closed = punch.clockIn() != null && punch.clockOut() != null;
+            int earlyMinutes = punch.clockOut() != null ? AttendanceService.earlyDepartureMinutes(punch.clockOut()) : 0;
+
+            ps.setLong(1, punch.employeeId());
+            ps.setObject(2, punch.date());
+            ps.setObject(3, punch.clockIn(), Types.TIME);
+            ps.setObject(4, punch.clockOut(), Types.TIME);
+            if (closed) {
+                ps.setDouble(5, AttendanceService.workedHours(punch.clockIn(), punch.clockOut()));
+            } else {
+                ps.setNull(5, Types.DOUBLE);
+            }
+            ps.setBoolean(6, lateMinutes > 0);
+            ps.setInt(7, lateMinutes);
+            ps.setBoolean(8, earlyMinutes > 0);
+            ps.setInt(9, earlyMinutes);
+            ps.setString(10, punch.remarks());
+            ps.setObject(11, now);
+            ps.setObject(12, now);
+        });
+    }
+
+    /**
+     * Today's clock-in/clock-out state, reloaded from the table when the date rolls over.
+     */
+    private Map<Long, DayState> statesFor(LocalDate date) {
+        if (!date.equals(todayDate)) {
+            synchronized (today) {
+                if (!date.equals(todayDate)) {
+                    loadDay(date);
+                }
+            }
+        }
+        return today;
+    }
+
+    private void loadDay(LocalDate date) {
+        today.clear();
+        for (Object[] row : attendanceRepository.findPunchesByDate(date)) {
+            today.put((Long) row[0], new DayState((LocalTime) row[1], (LocalTime) row[2]));
+        }
+        lock.lock();
+        try {
+            // Accepted but unflushed punches for the day are not in the table yet
+            pending.values().stream()
+                    .filter(punch -> punch.date().equals(date))
+                    .forEach(punch -> today.merge(punch.employeeId(),
+                            new DayState(punch.clockIn(), punch.clockOut()), DayState::merge));
+        } finally {
+            lock.unlock();
+        }
+        todayDate = date;
+    }
+
+    private int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private AttendanceResponse toResponse(Punch punch) {
+        int lateMinutes = punch.clockIn() != null ? AttendanceService.lateMinutes(punch.clockIn()) : 0;
+        AttendanceResponse.AttendanceResponseBuilder response = AttendanceResponse.builder()
+                .employeeId(punch.employeeId())
+                .attendanceDate(punch.date())
+                .clockInTime(punch.clockIn())
+                .clockOutTime(punch.clockOut())
+                .isLate(lateMinutes > 0)
+                .lateMinutes(lateMinutes)
+                .isEarlyDeparture(false)
+                .earlyDepartureMinutes(0)
+                .remarks(punch.remarks());
+        if (punch.clockIn() != null && punch.clockOut() != null) {
+            int earlyMinutes = AttendanceService.earlyDepartureMinutes(punch.clockOut());
+            response.totalHours(AttendanceService.workedHours(punch.clockIn(), punch.clockOut()))
+                    .isEarlyDeparture(earlyMinutes > 0)
+                    .earlyDepartureMinutes(earlyMinutes);
+        }
+        return response.build();
+    }
+
+    private record PendingAppend(Punch punch, CompletableFuture<Void> durable) {
+    }
+
+    private record DayState(LocalTime clockIn, LocalTime clockOut) {
+        DayState merge(DayState later) {
+            return new DayState(clockIn != null ? clockIn : later.clockIn,
+                    clockOut != null ? clockOut : later.clockOut);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.hcms.attendance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Segmented append-only log of accepted punches, one JSON line per punch.
+ * Writes go to the active segment and are forced to disk before returning.
+ * {@link #rotate()} seals the active segment. Sealed segments are deleted once
+ * their punches are in MySQL.
+ * <p>
+ * Not thread-safe; {@link PunchIngestionService} calls it under its own lock.
+ */
+@Slf4j
+class PunchLog {
+
+    private static final String PREFIX = "punches-";
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+    private final List<Path> sealed = new ArrayList<>();
+
+    private FileChannel active;
+    private Path activePath;
+    private long nextSequence;
+
+    PunchLog(Path dir, ObjectMapper objectMapper) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the punches left by a previous run, marks their segments sealed and
+     * opens a fresh active segment. A torn last line from a crash mid-write is skipped.
+     */
+    List<Punch> recover() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        List<Punch> punches = new ArrayList<>();
+        for (Path segment : segments) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        punches.add(objectMapper.readValue(line, Punch.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Skipping unreadable punch in {}: {}", segment.getFileName(), e.getOriginalMessage());
+                    }
+                }
+            }
+            sealed.add(segment);
+            nextSequence = Math.max(nextSequence, sequenceOf(segment) + 1);
+        }
+
+        openNext();
+        return punches;
+    }
+
+    void append(List<Punch> punches) throws IOException {
+        StringBuilder lines = new StringBuilder(punches.size() * 128);
+        for (Punch punch : punches) {
+            lines.append(objectMapper.writeValueAsString(punch)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            active.write(buffer);
+        }
+        active.force(false);
+    }
+
+    /**
+     * @return how many segments are sealed, including the one just closed
+     */
+    int rotate() throws IOException {
+        active.close();
+        sealed.add(activePath);
+        openNext();
+        return sealed.size();
+    }
+
+    /**
+     * Deletes the oldest {@code count} sealed segments, i.e. those sealed by the
+     * {@link #rotate()} that returned {@code count}. Segments sealed since stay.
+     */
+    void deleteSealed(int count) {
+        List<Path> flushed = sealed.subList(0, count);
+        for (Path segment : flushed) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("Could not delete flushed punch segment {}: {}", segment, e.getMessage());
+            }
+        }
+        flushed.clear();
+    }
+
+    void close() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    private void openNext() throws IOException {
+        activePath = dir.resolve(String.format("%s%019d%s", PREFIX, nextSequence++, SUFFIX));
+        active = FileChannel.open(activePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
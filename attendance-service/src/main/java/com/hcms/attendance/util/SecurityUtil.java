@@ -41,6 +41,13 @@ public class SecurityUtil {
         }
     }
 
+    public static void checkAdminAccess() {
+        String role = getCurrentUserRole();
+        if (!isAdmin(role)) {
+            throw new ForbiddenException("Access denied. Admin role required.");
+        }
+    }
+
     public static void checkAttendanceAccess(Long employeeId) {
         Long currentUserId = getCurrentUserId();
         String role = getCurrentUserRole();
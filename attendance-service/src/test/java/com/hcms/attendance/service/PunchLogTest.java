@@ -0,0 +1,104 @@
+package com.hcms.attendance.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PunchLogTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysSealedAndActiveSegmentsAfterACrash() throws IOException {
+        PunchLog log = new PunchLog(dir, objectMapper);
+        log.recover();
+        log.append(List.of(clockIn(1, 9, 0), clockIn(2, 9, 5)));
+        log.rotate();
+        log.append(List.of(clockOut(1, 9, 0, 17, 30)));
+        // Crash: nothing was flushed, so nothing was deleted
+
+        assertThat(new PunchLog(dir, objectMapper).recover())
+                .containsExactly(clockIn(1, 9, 0), clockIn(2, 9, 5), clockOut(1, 9, 0, 17, 30));
+    }
+
+    @Test
+    void replaysEarlierRunsFirst() throws IOException {
+        PunchLog first = new PunchLog(dir, objectMapper);
+        first.recover();
+        first.append(List.of(clockIn(1, 9, 0)));
+
+        PunchLog second = new PunchLog(dir, objectMapper);
+        second.recover();
+        second.append(List.of(clockOut(1, 9, 0, 17, 30)));
+
+        assertThat(new PunchLog(dir, objectMapper).recover())
+                .containsExactly(clockIn(1, 9, 0), clockOut(1, 9, 0, 17, 30));
+    }
+
+    @Test
+    void skipsALineTornByTheCrash() throws IOException {
+        PunchLog log = new PunchLog(dir, objectMapper);
+        log.recover();
+        log.append(List.of(clockIn(1, 9, 0)));
+        Files.writeString(onlySegment(), "{\"employeeId\":2,\"da", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertThat(new PunchLog(dir, objectMapper).recover()).containsExactly(clockIn(1, 9, 0));
+    }
+
+    @Test
+    void flushedSegmentsAreNotReplayed() throws IOException {
+        PunchLog log = new PunchLog(dir, objectMapper);
+        log.recover();
+        log.append(List.of(clockIn(1, 9, 0)));
+        log.deleteSealed(log.rotate());
+        log.append(List.of(clockIn(2, 9, 5)));
+
+        assertThat(new PunchLog(dir, objectMapper).recover()).containsExactly(clockIn(2, 9, 5));
+    }
+
+    @Test
+    void segmentsSealedAfterTheFlushedOneAreKept() throws IOException {
+        PunchLog log = new PunchLog(dir, objectMapper);
+        log.recover();
+        log.append(List.of(clockIn(1, 9, 0)));
+        int flushed = log.rotate();
+        log.append(List.of(clockIn(2, 9, 5)));
+        log.rotate();
+        log.deleteSealed(flushed);
+
+        assertThat(new PunchLog(dir, objectMapper).recover()).containsExactly(clockIn(2, 9, 5));
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = files.toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private static Punch clockIn(long employeeId, int hour, int minute) {
+        return new Punch(employeeId, DAY, LocalTime.of(hour, minute), null, null);
+    }
+
+    private static Punch clockOut(long employeeId, int inHour, int inMinute, int outHour, int outMinute) {
+        return new Punch(employeeId, DAY, LocalTime.of(inHour, inMinute), LocalTime.of(outHour, outMinute), null);
+    }
+}
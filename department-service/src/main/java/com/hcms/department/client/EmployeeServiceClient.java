@@ -1,14 +1,28 @@
 package com.hcms.department.client;
 
+import com.hcms.department.client.dto.EmployeeChangeFeedResponse;
 import com.hcms.department.client.dto.EmployeeResponse;
+import com.hcms.department.client.dto.EmployeeSummaryResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "employee-service", path = "/api/employees")
 public interface EmployeeServiceClient {
     
     @GetMapping("/{id}")
     EmployeeResponse getEmployeeById(@PathVariable Long id);
+
+    @PostMapping("/batch")
+    List<EmployeeSummaryResponse> getEmployeesByIds(@RequestBody List<Long> ids);
+
+    @GetMapping("/changes")
+    EmployeeChangeFeedResponse getEmployeeChanges(@RequestParam("after") long after,
+                                                  @RequestParam("limit") int limit);
 }
 
@@ -0,0 +1,167 @@
+package com.hcms.department.client;
+
+import com.hcms.department.client.dto.EmployeeChangeFeedResponse;
+import com.hcms.department.client.dto.EmployeeSummaryResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded near-cache of employee summaries in front of {@link EmployeeLookupBatcher}.
+ * Entries expire after a TTL and are invalidated early by polling the
+ * employee-service change feed, so manager changes and terminations show up
+ * within one poll interval. A full cache is trimmed to 90% of its maximum in
+ * one pass, so the scan is not repeated on every miss.
+ */
+@Component
+@Slf4j
+public class EmployeeSummaryCache {
+
+    private static final int EVICT_TO_PERCENT = 90;
+
+    private final EmployeeLookupBatcher employeeLookupBatcher;
+    private final EmployeeServiceClient employeeServiceClient;
+    private final int maxSize;
+    private final int evictToSize;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedEmployee> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final AtomicLong invalidationGeneration = new AtomicLong();
+    private volatile long lastSequence = -1;
+    private volatile long lastPollMillis = System.currentTimeMillis();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final DistributionSummary entryAge;
+
+    public EmployeeSummaryCache(EmployeeLookupBatcher employeeLookupBatcher,
+                                EmployeeServiceClient employeeServiceClient,
+                                @Value("${employee-client.cache.max-size:10000}") int maxSize,
+                                @Value("${employee-client.cache.ttl-seconds:300}") long ttlSeconds,
+                                MeterRegistry meterRegistry) {
+        this.employeeLookupBatcher = employeeLookupBatcher;
+        this.employeeServiceClient = employeeServiceClient;
+        this.maxSize = maxSize;
+        this.evictToSize = (int) ((long) maxSize * EVICT_TO_PERCENT / 100);
+        this.ttlMillis = ttlSeconds * 1000;
+
+        FunctionCounter.builder("employee.cache.hits", hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("employee.cache.misses", misses, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("employee.cache.invalidations", invalidations, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("employee.cache.size", cache, Map::size).register(meterRegistry);
+        Gauge.builder("employee.cache.hit.ratio", this, EmployeeSummaryCache::getHitRatio).register(meterRegistry);
+        Gauge.builder("employee.cache.feed.lag.seconds", this,
+                c -> (System.currentTimeMillis() - c.lastPollMillis) / 1000.0).register(meterRegistry);
+        this.entryAge = DistributionSummary.builder("employee.cache.entry.age")
+                .baseUnit("milliseconds")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the employee summary, or {@code null} if no employee has the given id.
+     * Missing employees are not cached, so a newly created employee is found immediately.
+     */
+    public EmployeeSummaryResponse getEmployee(Long id) {
+        long now = System.currentTimeMillis();
+        CachedEmployee cached = cache.get(id);
+        if (cached != null) {
+            if (now - cached.loadedAt() < ttlMillis) {
+                hits.increment();
+                entryAge.record(now - cached.loadedAt());
+                return cached.summary();
+            }
+            cache.remove(id, cached);
+        }
+        misses.increment();
+
+        long generation = invalidationGeneration.get();
+        EmployeeSummaryResponse summary = employeeLookupBatcher.getEmployee(id);
+        // Skip caching if an invalidation arrived while the lookup was in flight
+        if (summary != null && invalidationGeneration.get() == generation) {
+            if (cache.size() >= maxSize) {
+                evict(now);
+            }
+            cache.put(id, new CachedEmployee(summary, now));
+        }
+        return summary;
+    }
+
+    public boolean exists(Long id) {
+        return getEmployee(id) != null;
+    }
+
+    public void invalidate(Long id) {
+        invalidationGeneration.incrementAndGet();
+        if (cache.remove(id) != null) {
+            invalidations.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee-client.cache.invalidation-poll-millis:2000}")
+    public void pollChanges() {
+        try {
+            EmployeeChangeFeedResponse feed;
+            do {
+                feed = employeeServiceClient.getEmployeeChanges(lastSequence, 500);
+                if (lastSequence < 0) {
+                    // First poll only establishes the feed position; the cache is still empty
+                    lastSequence = feed.getLastSequence();
+                    break;
+                }
+                if (feed.getEmployeeIds() != null) {
+                    feed.getEmployeeIds().forEach(this::invalidate);
+                }
+                // The feed holds its sequence back while a lower one may still commit,
+                // so ids past it are delivered again; invalidating twice is harmless
+                if (feed.getLastSequence() == lastSequence) {
+                    break;
+                }
+                lastSequence = feed.getLastSequence();
+            } while (feed.getEmployeeIds() != null && !feed.getEmployeeIds().isEmpty());
+            lastPollMillis = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            log.warn("Unable to poll employee changes: {}", e.getMessage());
+        }
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private void evict(long now) {
+        // One thread trims while the others keep serving
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            cache.values().removeIf(entry -> now - entry.loadedAt() >= ttlMillis);
+            Iterator<Long> it = cache.keySet().iterator();
+            while (cache.size() > evictToSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record CachedEmployee(EmployeeSummaryResponse summary, long loadedAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.hcms.department.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSummaryResponse {
+    private Long id;
+    private String employeeId;
+    private String firstName;
+    private String lastName;
+    private Long departmentId;
+    private Long managerId;
+    private String status;
+}
@@ -1,7 +1,9 @@
 package com.hcms.department.controller;
 
+import com.hcms.department.dto.DepartmentReorgRequest;
 import com.hcms.department.dto.DepartmentRequest;
 import com.hcms.department.dto.DepartmentResponse;
+import com.hcms.department.dto.DepartmentTreeNode;
 import com.hcms.department.service.DepartmentService;
 import com.hcms.department.util.SecurityUtil;
 import jakarta.validation.Valid;
@@ -53,6 +55,36 @@ public class DepartmentController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * All departments as a tree, siblings in name order.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<List<DepartmentTreeNode>> getDepartmentTree() {
+        List<DepartmentTreeNode> response = departmentService.getDepartmentTree();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Path from the top-level department down to this department's parent.
+     */
+    @GetMapping("/{id}/ancestors")
+    public ResponseEntity<List<DepartmentResponse>> getAncestors(@PathVariable Long id) {
+        List<DepartmentResponse> response = departmentService.getAncestors(id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Ids of the department and everything below it, used by other services
+     * to filter by a department including its sub-departments.
+     */
+    @GetMapping("/{id}/descendants")
+    public ResponseEntity<List<Long>> getDescendantIds(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean includeSelf) {
+        List<Long> response = departmentService.getDescendantIds(id, includeSelf);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<DepartmentResponse> updateDepartment(
             @PathVariable Long id,
@@ -63,6 +95,18 @@ public class DepartmentController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Moves many departments to new parents in one transaction. The whole
+     * resulting hierarchy must be free of loops.
+     */
+    @PostMapping("/reorg")
+    public ResponseEntity<List<DepartmentResponse>> reorganize(@Valid @RequestBody DepartmentReorgRequest request) {
+        SecurityUtil.checkAdminAccess();
+        log.info("Reorganizing {} departments", request.getMoves().size());
+        List<DepartmentResponse> response = departmentService.reorganize(request);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
         SecurityUtil.checkAdminAccess();
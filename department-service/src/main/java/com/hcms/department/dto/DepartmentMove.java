@@ -0,0 +1,17 @@
+package com.hcms.department.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentMove {
+    @NotNull(message = "Department ID is required")
+    private Long departmentId;
+
+    // Null makes the department top-level
+    private Long parentDepartmentId;
+}
@@ -0,0 +1,14 @@
+package com.hcms.department.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DepartmentReorgRequest {
+    @NotEmpty(message = "At least one move is required")
+    @Valid
+    private List<DepartmentMove> moves;
+}
@@ -0,0 +1,21 @@
+package com.hcms.department.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentTreeNode {
+    private Long id;
+    private String name;
+    private String code;
+    private Long managerId;
+    private Boolean active;
+    private List<DepartmentTreeNode> children;
+}
@@ -0,0 +1,20 @@
+package com.hcms.department.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single row locked by every change to the department hierarchy, so that
+ * changes made through different instances are checked one at a time.
+ */
+@Entity
+@Table(name = "department_hierarchy_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentHierarchyLock {
+    @Id
+    private Long id;
+}
@@ -0,0 +1,23 @@
+package com.hcms.department.repository;
+
+import com.hcms.department.entity.DepartmentHierarchyLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface DepartmentHierarchyLockRepository extends JpaRepository<DepartmentHierarchyLock, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM DepartmentHierarchyLock l WHERE l.id = :id")
+    Optional<DepartmentHierarchyLock> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO department_hierarchy_locks (id) VALUES (:id)", nativeQuery = true)
+    int insertIfMissing(@Param("id") Long id);
+}
@@ -0,0 +1,49 @@
+package com.hcms.department.service;
+
+import com.hcms.department.repository.DepartmentHierarchyLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serializes changes to the department hierarchy across instances with
+ * SELECT ... FOR UPDATE on one lock row. Two moves that are each valid on
+ * their own could otherwise commit together and form a loop.
+ * <p>
+ * The lock must be taken before the transaction's first plain read: under
+ * REPEATABLE READ that read fixes the snapshot every later read sees, and a
+ * snapshot from before the lock would miss the previous holder's changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentHierarchyLocker {
+
+    private static final long LOCK_ID = 1L;
+
+    private final DepartmentHierarchyLockRepository lockRepository;
+
+    /**
+     * Creating the row up front keeps first use from racing on the insert.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createLockRow() {
+        if (lockRepository.insertIfMissing(LOCK_ID) > 0) {
+            log.info("Created department hierarchy lock row");
+        }
+    }
+
+    /**
+     * Held until the caller's transaction ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock() {
+        lockRepository.lockById(LOCK_ID)
+                .orElseThrow(() -> new IllegalStateException("Department hierarchy lock row is missing"));
+    }
+}
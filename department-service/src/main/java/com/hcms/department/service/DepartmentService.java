@@ -1,18 +1,25 @@
 package com.hcms.department.service;
 
-import com.hcms.department.client.EmployeeServiceClient;
+import com.hcms.department.client.EmployeeSummaryCache;
+import com.hcms.department.dto.DepartmentMove;
+import com.hcms.department.dto.DepartmentReorgRequest;
 import com.hcms.department.dto.DepartmentRequest;
 import com.hcms.department.dto.DepartmentResponse;
+import com.hcms.department.dto.DepartmentTreeNode;
 import com.hcms.department.entity.Department;
 import com.hcms.department.exception.ResourceNotFoundException;
 import com.hcms.department.repository.DepartmentRepository;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +28,18 @@ import java.util.stream.Collectors;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
-    private final EmployeeServiceClient employeeServiceClient;
+    private final EmployeeSummaryCache employeeSummaryCache;
+    private final DepartmentTreeCache departmentTreeCache;
+    private final DepartmentHierarchyLocker hierarchyLocker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public DepartmentResponse createDepartment(DepartmentRequest request) {
         log.info("Creating department: {}", request.getName());
+        if (request.getParentDepartmentId() != null) {
+            // The parent must not be deleted before this commits
+            hierarchyLocker.lock();
+        }
 
         if (request.getCode() != null && departmentRepository.findByCode(request.getCode()).isPresent()) {
             throw new IllegalArgumentException("Department code already exists");
@@ -42,14 +56,16 @@ public class DepartmentService {
 
         // Validate manager exists if provided
         if (request.getManagerId() != null) {
+            boolean exists;
             try {
-                employeeServiceClient.getEmployeeById(request.getManagerId());
-            } catch (FeignException.NotFound e) {
-                throw new IllegalArgumentException("Manager not found with id: " + request.getManagerId());
-            } catch (FeignException e) {
+                exists = employeeSummaryCache.exists(request.getManagerId());
+            } catch (FeignException | IllegalStateException e) {
                 log.error("Error calling employee service: {}", e.getMessage());
                 throw new IllegalArgumentException("Unable to validate manager");
             }
+            if (!exists) {
+                throw new IllegalArgumentException("Manager not found with id: " + request.getManagerId());
+            }
         }
 
         Department department = Department.builder()
@@ -62,6 +78,7 @@ public class DepartmentService {
                 .build();
 
         department = departmentRepository.save(department);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent());
         log.info("Department created with ID: {}", department.getId());
 
         return mapToResponse(department);
@@ -74,26 +91,57 @@ public class DepartmentService {
     }
 
     public List<DepartmentResponse> getAllDepartments() {
-        return departmentRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return departmentTreeCache.get().getAll();
     }
 
     public List<DepartmentResponse> getActiveDepartments() {
         return departmentRepository.findByActiveTrue().stream()
-                .map(this::mapToResponse)
+                .map(DepartmentService::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     public List<DepartmentResponse> getSubDepartments(Long parentId) {
-        return departmentRepository.findByParentDepartmentId(parentId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return departmentTreeCache.get().getChildren(parentId);
+    }
+
+    public List<DepartmentTreeNode> getDepartmentTree() {
+        return departmentTreeCache.get().getRoots();
+    }
+
+    /**
+     * The departments above this one, from the top down to its parent.
+     */
+    public List<DepartmentResponse> getAncestors(Long id) {
+        DepartmentTree tree = departmentTreeCache.get();
+        if (!tree.contains(id)) {
+            throw new ResourceNotFoundException("Department not found with id: " + id);
+        }
+        List<DepartmentResponse> path = new ArrayList<>();
+        for (Long ancestorId : tree.getAncestorIds(id)) {
+            path.add(0, tree.get(ancestorId));
+        }
+        return path;
+    }
+
+    /**
+     * Ids of the department's sub-departments at every level, for filters
+     * such as "employees in this department and below".
+     */
+    public List<Long> getDescendantIds(Long id, boolean includeSelf) {
+        DepartmentTree tree = departmentTreeCache.get();
+        if (!tree.contains(id)) {
+            throw new ResourceNotFoundException("Department not found with id: " + id);
+        }
+        return new ArrayList<>(tree.getDescendantIds(id, includeSelf));
     }
 
     @Transactional
     public DepartmentResponse updateDepartment(Long id, DepartmentRequest request) {
         log.info("Updating department with ID: {}", id);
+        if (request.getParentDepartmentId() != null) {
+            // Before any read, so the loop check below sees every committed move
+            hierarchyLocker.lock();
+        }
 
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
@@ -110,11 +158,11 @@ public class DepartmentService {
         }
 
         if (request.getParentDepartmentId() != null && !request.getParentDepartmentId().equals(department.getParentDepartmentId())) {
-            if (request.getParentDepartmentId().equals(id)) {
-                throw new IllegalArgumentException("Department cannot be its own parent");
+            DepartmentTree tree = departmentTreeCache.loadCurrent();
+            validateParent(id, request.getParentDepartmentId(), tree);
+            if (tree.isSameOrBelow(request.getParentDepartmentId(), id)) {
+                throw new IllegalArgumentException("Department cannot be moved under one of its own sub-departments");
             }
-            departmentRepository.findById(request.getParentDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Parent department not found"));
         }
 
         department.setName(request.getName());
@@ -127,14 +175,66 @@ public class DepartmentService {
         }
 
         department = departmentRepository.save(department);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent());
         log.info("Department updated: {}", department.getName());
 
         return mapToResponse(department);
     }
 
+    /**
+     * Moves many departments at once. The resulting hierarchy is checked for
+     * loops as a whole before anything is written, so moves that are only
+     * valid together (such as swapping a parent and child) are accepted.
+     */
+    @Transactional
+    public List<DepartmentResponse> reorganize(DepartmentReorgRequest request) {
+        hierarchyLocker.lock();
+
+        Map<Long, Long> moves = new HashMap<>();
+        for (DepartmentMove move : request.getMoves()) {
+            if (moves.containsKey(move.getDepartmentId())) {
+                throw new IllegalArgumentException("Department " + move.getDepartmentId() + " is moved more than once");
+            }
+            moves.put(move.getDepartmentId(), move.getParentDepartmentId());
+        }
+
+        List<Department> departments = departmentRepository.findAllById(moves.keySet());
+        if (departments.size() != moves.size()) {
+            for (Department department : departments) {
+                moves.remove(department.getId());
+            }
+            throw new ResourceNotFoundException("Department not found with id: " + moves.keySet().iterator().next());
+        }
+
+        DepartmentTree tree = departmentTreeCache.loadCurrent();
+        for (Map.Entry<Long, Long> move : moves.entrySet()) {
+            if (move.getValue() != null) {
+                validateParent(move.getKey(), move.getValue(), tree);
+            }
+        }
+        Long onLoop = tree.findLoopAfterMoves(moves);
+        if (onLoop != null) {
+            throw new IllegalArgumentException("Reorganization would put department " + onLoop
+                    + " under one of its own sub-departments");
+        }
+
+        for (Department department : departments) {
+            department.setParentDepartmentId(moves.get(department.getId()));
+        }
+        departments = departmentRepository.saveAll(departments);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent());
+        log.info("Reorganized {} departments", departments.size());
+
+        return departments.stream()
+                .map(DepartmentService::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public void deleteDepartment(Long id) {
         log.info("Deleting department with ID: {}", id);
+        // No department may be moved or created under this one before it is gone
+        hierarchyLocker.lock();
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
         
@@ -144,10 +244,24 @@ public class DepartmentService {
         }
 
         departmentRepository.delete(department);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent());
         log.info("Department deleted: {}", department.getName());
     }
 
-    private DepartmentResponse mapToResponse(Department department) {
+    /**
+     * The parent must exist and differ from the department. The tree is read
+     * under the hierarchy lock, so it holds every committed department.
+     */
+    private void validateParent(Long id, Long parentId, DepartmentTree tree) {
+        if (parentId.equals(id)) {
+            throw new IllegalArgumentException("Department cannot be its own parent");
+        }
+        if (!tree.contains(parentId)) {
+            throw new ResourceNotFoundException("Parent department not found");
+        }
+    }
+
+    static DepartmentResponse mapToResponse(Department department) {
         return DepartmentResponse.builder()
                 .id(department.getId())
                 .name(department.getName())
@@ -0,0 +1,224 @@
+package com.hcms.department.service;
+
+import com.hcms.department.dto.DepartmentResponse;
+import com.hcms.department.dto.DepartmentTreeNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of all departments and their parent links. Siblings
+ * are in name order.
+ * <p>
+ * A parent id that points to a missing department is treated as no parent.
+ * Loops in the parent links are cut: a department on a loop is shown as a
+ * root, and walks stop when they revisit a department. Writes are checked
+ * with {@link #isSameOrBelow} and {@link #findLoopAfterMoves} so that no new
+ * loops are created.
+ */
+public final class DepartmentTree {
+
+    private final Map<Long, DepartmentResponse> departments;
+    private final Map<Long, List<Long>> children;
+    private final List<DepartmentTreeNode> roots;
+
+    private DepartmentTree(Map<Long, DepartmentResponse> departments, Map<Long, List<Long>> children,
+                           List<Long> rootIds) {
+        this.departments = departments;
+        this.children = children;
+        Set<Long> placed = new HashSet<>();
+        List<DepartmentTreeNode> nodes = new ArrayList<>(rootIds.size());
+        for (Long id : rootIds) {
+            nodes.add(toNode(id, placed));
+        }
+        this.roots = Collections.unmodifiableList(nodes);
+    }
+
+    static DepartmentTree of(List<DepartmentResponse> sortedByName) {
+        Map<Long, DepartmentResponse> departments = new LinkedHashMap<>();
+        for (DepartmentResponse department : sortedByName) {
+            departments.put(department.getId(), department);
+        }
+
+        Map<Long, List<Long>> children = new HashMap<>();
+        Set<Long> rootIds = new LinkedHashSet<>();
+        for (DepartmentResponse department : sortedByName) {
+            Long parentId = department.getParentDepartmentId();
+            if (parentId != null && departments.containsKey(parentId) && !parentId.equals(department.getId())) {
+                children.computeIfAbsent(parentId, key -> new ArrayList<>()).add(department.getId());
+            } else {
+                rootIds.add(department.getId());
+            }
+        }
+
+        // Departments on a parent loop cannot be reached from a real root
+        Set<Long> reachable = new HashSet<>();
+        for (Long rootId : rootIds) {
+            collect(rootId, children, reachable);
+        }
+        for (Long id : departments.keySet()) {
+            if (!reachable.contains(id)) {
+                Long onLoop = firstRepeatedAncestor(id, departments);
+                rootIds.add(onLoop);
+                collect(onLoop, children, reachable);
+            }
+        }
+        return new DepartmentTree(departments, children, new ArrayList<>(rootIds));
+    }
+
+    public boolean contains(Long id) {
+        return departments.containsKey(id);
+    }
+
+    public DepartmentResponse get(Long id) {
+        return departments.get(id);
+    }
+
+    public List<DepartmentResponse> getAll() {
+        return new ArrayList<>(departments.values());
+    }
+
+    public List<DepartmentTreeNode> getRoots() {
+        return roots;
+    }
+
+    public List<DepartmentResponse> getChildren(Long id) {
+        List<DepartmentResponse> result = new ArrayList<>();
+        for (Long childId : children.getOrDefault(id, Collections.emptyList())) {
+            result.add(departments.get(childId));
+        }
+        return result;
+    }
+
+    /**
+     * Parent first, then its parent, up to the top. Empty for a root or an
+     * unknown department.
+     */
+    public List<Long> getAncestorIds(Long id) {
+        List<Long> ancestors = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        seen.add(id);
+        Long parentId = parentOf(id);
+        while (parentId != null && seen.add(parentId)) {
+            ancestors.add(parentId);
+            parentId = parentOf(parentId);
+        }
+        return ancestors;
+    }
+
+    /**
+     * The department's sub-departments at every level, nearest first.
+     */
+    public Set<Long> getDescendantIds(Long id, boolean includeSelf) {
+        Set<Long> descendants = new LinkedHashSet<>();
+        if (!departments.containsKey(id)) {
+            return descendants;
+        }
+        collect(id, children, descendants);
+        if (!includeSelf) {
+            descendants.remove(id);
+        }
+        return descendants;
+    }
+
+    /**
+     * Whether {@code id} is {@code ancestorId} or one of its sub-departments.
+     * Walks up from {@code id}, so costs O(depth).
+     */
+    public boolean isSameOrBelow(Long id, Long ancestorId) {
+        Set<Long> seen = new HashSet<>();
+        for (Long current = id; current != null && seen.add(current); current = parentOf(current)) {
+            if (current.equals(ancestorId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the whole tree as it would be after moving each key of
+     * {@code moves} under its value (null makes it top-level). Returns a
+     * department that would end up on a parent loop, or null if the result
+     * is a proper tree. Visits every department once.
+     */
+    public Long findLoopAfterMoves(Map<Long, Long> moves) {
+        // Departments already known to lead to a top-level department
+        Set<Long> settled = new HashSet<>();
+        Set<Long> walk = new LinkedHashSet<>();
+        Set<Long> starts = new LinkedHashSet<>(departments.keySet());
+        starts.addAll(moves.keySet());
+        for (Long start : starts) {
+            walk.clear();
+            Long current = start;
+            while (current != null && !settled.contains(current)) {
+                if (!walk.add(current)) {
+                    return current;
+                }
+                current = moves.containsKey(current) ? moves.get(current) : parentOf(current);
+            }
+            settled.addAll(walk);
+        }
+        return null;
+    }
+
+    private Long parentOf(Long id) {
+        DepartmentResponse department = departments.get(id);
+        if (department == null) {
+            return null;
+        }
+        Long parentId = department.getParentDepartmentId();
+        return parentId != null && departments.containsKey(parentId) ? parentId : null;
+    }
+
+    private DepartmentTreeNode toNode(Long id, Set<Long> placed) {
+        placed.add(id);
+        DepartmentResponse department = departments.get(id);
+        List<DepartmentTreeNode> nodes = new ArrayList<>();
+        for (Long childId : children.getOrDefault(id, Collections.emptyList())) {
+            if (!placed.contains(childId)) {
+                nodes.add(toNode(childId, placed));
+            }
+        }
+        return DepartmentTreeNode.builder()
+                .id(department.getId())
+                .name(department.getName())
+                .code(department.getCode())
+                .managerId(department.getManagerId())
+                .active(department.getActive())
+                .children(Collections.unmodifiableList(nodes))
+                .build();
+    }
+
+    /**
+     * Breadth-first from {@code id}, adding every department reached to {@code into}.
+     */
+    private static void collect(Long id, Map<Long, List<Long>> children, Set<Long> into) {
+        List<Long> queue = new ArrayList<>();
+        if (into.add(id)) {
+            queue.add(id);
+        }
+        for (int head = 0; head < queue.size(); head++) {
+            for (Long childId : children.getOrDefault(queue.get(head), Collections.emptyList())) {
+                if (into.add(childId)) {
+                    queue.add(childId);
+                }
+            }
+        }
+    }
+
+    private static Long firstRepeatedAncestor(Long id, Map<Long, DepartmentResponse> departments) {
+        Set<Long> seen = new HashSet<>();
+        Long current = id;
+        while (seen.add(current)) {
+            current = departments.get(current).getParentDepartmentId();
+        }
+        return current;
+    }
+}
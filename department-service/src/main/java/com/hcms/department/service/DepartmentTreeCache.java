@@ -0,0 +1,84 @@
+package com.hcms.department.service;
+
+import com.hcms.department.repository.DepartmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link DepartmentTree}, loaded with a single query.
+ * This instance's writes invalidate it after they commit. Writes made
+ * through other instances show up once the snapshot is older than the TTL.
+ */
+@Component
+@Slf4j
+public class DepartmentTreeCache {
+
+    private final DepartmentRepository departmentRepository;
+    private final long ttlMillis;
+    private final Timer loadTimer;
+    // Bumped by every invalidation; a snapshot from an older generation is stale
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public DepartmentTreeCache(DepartmentRepository departmentRepository,
+                               @Value("${department.tree.ttl-seconds:60}") long ttlSeconds,
+                               MeterRegistry meterRegistry) {
+        this.departmentRepository = departmentRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.loadTimer = Timer.builder("department.tree.load").register(meterRegistry);
+    }
+
+    public DepartmentTree get() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.tree();
+        }
+        return load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentsChanged(DepartmentsChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    private synchronized DepartmentTree load() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.tree();
+        }
+        // Read the generation first, so an invalidation during the query makes this snapshot stale
+        long loadedGeneration = generation.get();
+        long loadedAt = System.currentTimeMillis();
+        DepartmentTree tree = loadTimer.record(this::loadCurrent);
+        snapshot = new Snapshot(tree, loadedGeneration, loadedAt);
+        log.debug("Loaded department tree");
+        return tree;
+    }
+
+    /**
+     * Reads the tree in the caller's transaction and leaves the cache alone,
+     * for checks that must see every committed change.
+     */
+    public DepartmentTree loadCurrent() {
+        return DepartmentTree.of(departmentRepository.findAll(Sort.by("name")).stream()
+                .map(DepartmentService::mapToResponse)
+                .toList());
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.generation() == generation.get()
+                && System.currentTimeMillis() - current.loadedAt() < ttlMillis;
+    }
+
+    private record Snapshot(DepartmentTree tree, long generation, long loadedAt) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.hcms.department.service;
+
+/**
+ * Published inside every transaction that creates, updates or deletes a
+ * department; handled after commit.
+ */
+public record DepartmentsChangedEvent() {
+}
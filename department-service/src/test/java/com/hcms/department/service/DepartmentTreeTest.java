@@ -0,0 +1,84 @@
+package com.hcms.department.service;
+
+import com.hcms.department.dto.DepartmentResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentTreeTest {
+
+    // 1 -> {2 -> {4}, 3}
+    private final DepartmentTree tree = tree(1L, null, 2L, 1L, 3L, 1L, 4L, 2L);
+
+    @Test
+    void acceptsMovesThatKeepATree() {
+        assertThat(tree.findLoopAfterMoves(Map.of(4L, 3L))).isNull();
+        assertThat(tree.findLoopAfterMoves(moves(2L, null, 3L, 2L))).isNull();
+    }
+
+    @Test
+    void acceptsMovesThatAreOnlyValidTogether() {
+        // Swap 1 and 2: 2 becomes the top, 1 moves under it
+        assertThat(tree.findLoopAfterMoves(moves(2L, null, 1L, 2L))).isNull();
+    }
+
+    @Test
+    void rejectsAMoveUnderOwnSubDepartment() {
+        assertThat(tree.findLoopAfterMoves(Map.of(1L, 4L))).isIn(1L, 2L, 4L);
+    }
+
+    @Test
+    void rejectsAMoveUnderItself() {
+        assertThat(tree.findLoopAfterMoves(Map.of(3L, 3L))).isEqualTo(3L);
+    }
+
+    @Test
+    void rejectsMovesThatOnlyLoopTogether() {
+        // Each move is valid against the current tree, but not both
+        assertThat(tree.findLoopAfterMoves(Map.of(3L, 4L))).isNull();
+        assertThat(tree.findLoopAfterMoves(Map.of(2L, 3L))).isNull();
+        assertThat(tree.findLoopAfterMoves(Map.of(3L, 4L, 2L, 3L))).isIn(2L, 3L, 4L);
+    }
+
+    @Test
+    void acceptsMovesThatBreakAnExistingLoop() {
+        DepartmentTree looped = tree(1L, null, 2L, 3L, 3L, 2L);
+
+        assertThat(looped.findLoopAfterMoves(Map.of())).isIn(2L, 3L);
+        assertThat(looped.findLoopAfterMoves(Map.of(2L, 1L))).isNull();
+    }
+
+    @Test
+    void isSameOrBelowFollowsParents() {
+        assertThat(tree.isSameOrBelow(4L, 1L)).isTrue();
+        assertThat(tree.isSameOrBelow(2L, 2L)).isTrue();
+        assertThat(tree.isSameOrBelow(3L, 2L)).isFalse();
+    }
+
+    private static DepartmentTree tree(Long... idAndParent) {
+        List<DepartmentResponse> departments = new ArrayList<>();
+        for (int i = 0; i < idAndParent.length; i += 2) {
+            departments.add(DepartmentResponse.builder()
+                    .id(idAndParent[i])
+                    .name("Department " + idAndParent[i])
+                    .parentDepartmentId(idAndParent[i + 1])
+                    .active(true)
+                    .build());
+        }
+        return DepartmentTree.of(departments);
+    }
+
+    private static Map<Long, Long> moves(Long... departmentAndParent) {
+        // Map.of does not take null parents
+        Map<Long, Long> moves = new HashMap<>();
+        for (int i = 0; i < departmentAndParent.length; i += 2) {
+            moves.put(departmentAndParent[i], departmentAndParent[i + 1]);
+        }
+        return moves;
+    }
+}
@@ -1,8 +1,18 @@
 package com.hcms.employee.controller;
 
+import com.hcms.common.dto.CursorPage;
+import com.hcms.employee.dto.EmployeeChangeFeedResponse;
+import com.hcms.employee.dto.EmployeeImportResponse;
 import com.hcms.employee.dto.EmployeeRequest;
 import com.hcms.employee.dto.EmployeeResponse;
+import com.hcms.employee.dto.EmployeeSuggestionResponse;
+import com.hcms.employee.dto.EmployeeSummaryResponse;
+import com.hcms.employee.dto.OrgChartPositionResponse;
+import com.hcms.employee.entity.EmploymentStatus;
+import com.hcms.employee.service.EmployeeChangeService;
+import com.hcms.employee.service.EmployeeImportService;
 import com.hcms.employee.service.EmployeeService;
+import com.hcms.employee.service.OrgChartService;
 import com.hcms.employee.util.SecurityUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,10 +21,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
@@ -22,6 +37,9 @@ import org.springframework.web.bind.annotation.*;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeChangeService employeeChangeService;
+    private final EmployeeImportService employeeImportService;
+    private final OrgChartService orgChartService;
 
     @PostMapping
     public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody EmployeeRequest request) {
@@ -31,6 +49,22 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Bulk onboarding from a streamed {@code text/csv} (with a header row) or
+     * {@code application/x-ndjson} upload. Valid rows are imported even when
+     * others fail; the response lists the failed rows.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<EmployeeImportResponse> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        SecurityUtil.checkAdminAccess();
+        EmployeeImportService.Format format = EmployeeImportService.Format.fromContentType(contentType);
+        log.info("Importing employees from {} upload", format);
+        EmployeeImportResponse response = employeeImportService.importEmployees(body, format);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
         SecurityUtil.checkAccess(id);
@@ -38,6 +72,58 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Existence/summary lookup for a set of ids, used by the other services'
+     * employee clients to validate many employees in one round trip. Ids that
+     * do not exist are simply absent from the result.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<EmployeeSummaryResponse>> getEmployeesByIds(@RequestBody List<Long> ids) {
+        SecurityUtil.checkInternalAccess();
+        List<EmployeeSummaryResponse> response = employeeService.getEmployeeSummaries(ids);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Keyset-paged employee summaries ordered by id, used by other services to
+     * walk all employees of the company, a department or a manager's team.
+     * Pass the last id of the previous page as {@code afterId}.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<EmployeeSummaryResponse>> getEmployeeSummaries(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "500") int size,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long managerId) {
+        SecurityUtil.checkInternalAccess();
+        List<EmployeeSummaryResponse> response =
+                employeeService.getEmployeeSummariesAfter(afterId, size, departmentId, managerId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Number of employees, optionally with the given status; used by other
+     * services for company-wide headcounts.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countEmployees(@RequestParam(required = false) EmploymentStatus status) {
+        SecurityUtil.checkInternalAccess();
+        return ResponseEntity.ok(employeeService.countEmployees(status));
+    }
+
+    /**
+     * Feed of employee ids updated or deleted after the given sequence, polled
+     * by other services to invalidate their cached employee summaries.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeChangeFeedResponse> getEmployeeChanges(
+            @RequestParam(defaultValue = "-1") long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        SecurityUtil.checkInternalAccess();
+        EmployeeChangeFeedResponse response = employeeChangeService.getChangesAfter(after, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/employee-id/{employeeId}")
     public ResponseEntity<EmployeeResponse> getEmployeeByEmployeeId(@PathVariable String employeeId) {
         EmployeeResponse response = employeeService.getEmployeeByEmployeeId(employeeId);
@@ -57,6 +143,18 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset variant of {@link #getAllEmployees}, always in id order, selected by the {@code cursor} parameter (empty for the first
+     * page). Seeks past the last id instead of using OFFSET and skips the count query.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<EmployeeResponse>> getAllEmployeesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        SecurityUtil.checkManagerAccess();
+        return ResponseEntity.ok(employeeService.getAllEmployees(cursor, size));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<EmployeeResponse>> searchEmployees(
             @RequestParam String keyword,
@@ -68,6 +166,14 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<EmployeeSuggestionResponse>> autocompleteEmployees(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        SecurityUtil.checkManagerAccess();
+        return ResponseEntity.ok(employeeService.suggestEmployees(prefix, limit));
+    }
+
     @GetMapping("/department/{departmentId}")
     public ResponseEntity<Page<EmployeeResponse>> getEmployeesByDepartment(
             @PathVariable Long departmentId,
@@ -90,6 +196,34 @@ public class EmployeeController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Where the employee sits in the org chart: manager, depth from the top,
+     * and how many people report to them directly and in total.
+     */
+    @GetMapping("/{id}/org-chart")
+    public ResponseEntity<OrgChartPositionResponse> getOrgChartPosition(@PathVariable Long id) {
+        SecurityUtil.checkManagerAccess();
+        return ResponseEntity.ok(orgChartService.getPosition(id));
+    }
+
+    /**
+     * Ids of everyone under the employee at any level, nearest levels first.
+     */
+    @GetMapping("/{id}/org-chart/subordinates")
+    public ResponseEntity<List<Long>> getSubordinates(@PathVariable Long id) {
+        SecurityUtil.checkManagerAccess();
+        return ResponseEntity.ok(orgChartService.getSubordinates(id));
+    }
+
+    /**
+     * Ids of the employee's manager, that manager's manager and so on to the top.
+     */
+    @GetMapping("/{id}/org-chart/management-chain")
+    public ResponseEntity<List<Long>> getManagementChain(@PathVariable Long id) {
+        SecurityUtil.checkManagerAccess();
+        return ResponseEntity.ok(orgChartService.getManagementChain(id));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeResponse> updateEmployee(
             @PathVariable Long id,
@@ -0,0 +1,16 @@
+package com.hcms.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeImportError {
+    private Integer row;
+    private String email;
+    private String message;
+}
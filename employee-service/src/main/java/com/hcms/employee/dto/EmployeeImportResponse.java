@@ -0,0 +1,22 @@
+package com.hcms.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeImportResponse {
+    private Integer totalRows;
+    private Integer importedCount;
+    private Integer failedCount;
+    private Long durationMillis;
+    private Double rowsPerSecond;
+    private List<EmployeeImportError> errors;
+    private Boolean errorsTruncated;
+}
@@ -0,0 +1,16 @@
+package com.hcms.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSuggestionResponse {
+    private Long id;
+    private String employeeId;
+    private String name;
+}
@@ -0,0 +1,18 @@
+package com.hcms.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrgChartPositionResponse {
+    private Long employeeId;
+    private Long managerId;
+    private Integer depth;
+    private Integer directReportCount;
+    private Integer totalReportCount;
+}
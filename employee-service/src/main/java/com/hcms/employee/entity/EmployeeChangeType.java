@@ -0,0 +1,5 @@
+package com.hcms.employee.entity;
+
+public enum EmployeeChangeType {
+    CREATED, UPDATED, DELETED
+}
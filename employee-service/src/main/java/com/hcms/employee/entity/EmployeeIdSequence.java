@@ -0,0 +1,26 @@
+package com.hcms.employee.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next unreserved employee number. Nodes reserve blocks of numbers by
+ * advancing {@code next_value}, so creates never scan the employees table.
+ */
+@Entity
+@Table(name = "employee_id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeIdSequence {
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
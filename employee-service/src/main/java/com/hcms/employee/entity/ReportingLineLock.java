@@ -0,0 +1,20 @@
+package com.hcms.employee.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single row locked by every manager change, so that changes made through
+ * different instances are checked one at a time.
+ */
+@Entity
+@Table(name = "reporting_line_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportingLineLock {
+    @Id
+    private Long id;
+}
@@ -0,0 +1,147 @@
+package com.hcms.employee.hierarchy;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of positive longs (database ids) without boxing. Uses
+ * linear probing with 0 as the empty slot, and backward-shift deletion so
+ * removals leave no tombstones. Not thread-safe.
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] slots;
+    private int size;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        slots = new long[capacityFor(expectedSize)];
+    }
+
+    public boolean contains(long value) {
+        if (value <= 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        for (int i = LongHashing.mix(value) & mask; ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == 0) {
+                return false;
+            }
+        }
+    }
+
+    public boolean add(long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Only positive values can be stored: " + value);
+        }
+        int mask = slots.length - 1;
+        int i = LongHashing.mix(value) & mask;
+        for (; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return false;
+            }
+        }
+        slots[i] = value;
+        if (++size * 4 > slots.length * 3) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    public boolean remove(long value) {
+        if (value <= 0) {
+            return false;
+        }
+        int mask = slots.length - 1;
+        int i = LongHashing.mix(value) & mask;
+        for (; slots[i] != value; i = (i + 1) & mask) {
+            if (slots[i] == 0) {
+                return false;
+            }
+        }
+        // Pull later entries of the probe run back into the gap
+        for (int next = (i + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int home = LongHashing.mix(slots[next]) & mask;
+            if (((next - home) & mask) >= ((next - i) & mask)) {
+                slots[i] = slots[next];
+                i = next;
+            }
+        }
+        slots[i] = 0;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (long slot : slots) {
+            if (slot != 0) {
+                consumer.accept(slot);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        int n = 0;
+        for (long slot : slots) {
+            if (slot != 0) {
+                values[n++] = slot;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Approximate heap footprint: the object plus its slot array.
+     */
+    public long memoryBytes() {
+        return 24 + 16 + 8L * slots.length;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int i = LongHashing.mix(value) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        long[] values = toArray();
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
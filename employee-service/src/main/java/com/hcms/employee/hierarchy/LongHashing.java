@@ -0,0 +1,20 @@
+package com.hcms.employee.hierarchy;
+
+final class LongHashing {
+
+    private LongHashing() {
+    }
+
+    /**
+     * Spreads sequential ids over the table (the murmur3 finalizer).
+     */
+    static int mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,134 @@
+package com.hcms.employee.hierarchy;
+
+/**
+ * Open-addressing map from positive long keys (database ids) to long values
+ * without boxing. Same probing and deletion scheme as {@link LongHashSet}.
+ * Not thread-safe.
+ */
+public final class LongLongHashMap {
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public LongLongHashMap(int expectedSize) {
+        int capacity = LongHashSet.capacityFor(expectedSize);
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    public long get(long key, long defaultValue) {
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    /**
+     * Returns the previous value, or {@code defaultValue} if the key was absent.
+     */
+    public long put(long key, long value, long defaultValue) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Only positive keys can be stored: " + key);
+        }
+        int mask = keys.length - 1;
+        int i = LongHashing.mix(key) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                long previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Returns the removed value, or {@code defaultValue} if the key was absent.
+     */
+    public long remove(long key, long defaultValue) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return defaultValue;
+        }
+        long removed = values[i];
+        int mask = keys.length - 1;
+        for (int next = (i + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = LongHashing.mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - i) & mask)) {
+                keys[i] = keys[next];
+                values[i] = values[next];
+                i = next;
+            }
+        }
+        keys[i] = 0;
+        values[i] = 0;
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Approximate heap footprint: the object plus its two arrays.
+     */
+    public long memoryBytes() {
+        return 24 + 2 * (16 + 8L * keys.length);
+    }
+
+    private int indexOf(long key) {
+        if (key <= 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        for (int i = LongHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+            long slot = keys[i];
+            if (slot == key) {
+                return i;
+            }
+            if (slot == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = LongHashing.mix(oldKeys[j]) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
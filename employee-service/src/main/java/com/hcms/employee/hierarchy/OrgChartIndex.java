@@ -0,0 +1,468 @@
+package com.hcms.employee.hierarchy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The whole org chart in int arrays, derived from {@link ReportingLineIndex}.
+ * <p>
+ * Every employee has a dense slot; {@code parents[slot]} is the slot of their
+ * manager. Direct reports are kept in CSR form: the reports of slot {@code p}
+ * are {@code children[childStart[p] .. childStart[p + 1])}, built from
+ * {@code parents} in one counting pass. A manager change only rewrites
+ * {@code parents}; CSR entries whose parent no longer matches are skipped,
+ * and an employee who moved to a manager they did not have at the last build
+ * is linked into that manager's overlay list. Once the overlays hold more
+ * than an eighth of all employees the CSR arrays are rebuilt.
+ * <p>
+ * A report can name a manager who has no slot yet: changes arrive in feed
+ * order, and a removed manager's reports still name them. Such a report waits
+ * on the manager id and is linked as soon as that manager gets a slot.
+ * <p>
+ * Manager ids that form a loop may exist from before loops were rejected, so
+ * every traversal stops when it comes back to where it started.
+ */
+@Component
+@Slf4j
+public class OrgChartIndex implements ReportingLineListener {
+
+    private static final int NONE = -1;
+    private static final int DELETED = -2;
+    private static final int MIN_OVERLAY_BEFORE_REBUILD = 1024;
+
+    private final Timer buildTimer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private LongLongHashMap slotsById = new LongLongHashMap(0);
+    private long[] ids = new long[0];
+    private int[] parents = new int[0];
+    private int size;
+    // CSR over the first csrSize slots, and each slot's parent when it was built
+    private int[] childStart = new int[1];
+    private int[] children = new int[0];
+    private int[] csrParents = new int[0];
+    private int csrSize;
+    // Doubly linked overlay lists of reports added since the CSR build
+    private int[] overlayHead = new int[0];
+    private int[] overlayNext = new int[0];
+    private int[] overlayPrev = new int[0];
+    private int[] overlayOwner = new int[0];
+    private int overlayCount;
+    // Reports waiting for a manager without a slot: by report, and by manager
+    private LongLongHashMap awaitedManagers = new LongLongHashMap(0);
+    private Map<Long, LongHashSet> waitingReports = new HashMap<>();
+    private volatile boolean ready;
+
+    public OrgChartIndex(ReportingLineIndex reportingLineIndex, MeterRegistry meterRegistry) {
+        this.buildTimer = Timer.builder("employee.orgchart.build").register(meterRegistry);
+        Gauge.builder("employee.orgchart.bytes", this, OrgChartIndex::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        reportingLineIndex.addListener(this);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void rebuilt(LongLongHashMap managers) {
+        long started = System.nanoTime();
+        int n = managers.size();
+        long[] freshIds = new long[n];
+        int[] count = new int[1];
+        managers.forEach((employeeId, managerId) -> freshIds[count[0]++] = employeeId);
+        // Id order keeps each manager's reports, and most teams, close together
+        Arrays.sort(freshIds);
+
+        LongLongHashMap freshSlots = new LongLongHashMap(n);
+        for (int slot = 0; slot < n; slot++) {
+            freshSlots.put(freshIds[slot], slot, NONE);
+        }
+        int[] freshParents = new int[n];
+        LongLongHashMap freshAwaited = new LongLongHashMap(0);
+        Map<Long, LongHashSet> freshWaiting = new HashMap<>();
+        for (int slot = 0; slot < n; slot++) {
+            long managerId = managers.get(freshIds[slot], 0);
+            int parent = managerId != 0 ? (int) freshSlots.get(managerId, NONE) : NONE;
+            if (managerId != 0 && parent == NONE) {
+                await(freshAwaited, freshWaiting, freshIds[slot], managerId);
+            }
+            freshParents[slot] = parent;
+        }
+
+        lock.writeLock().lock();
+        try {
+            slotsById = freshSlots;
+            ids = freshIds;
+            parents = freshParents;
+            size = n;
+            awaitedManagers = freshAwaited;
+            waitingReports = freshWaiting;
+            rebuildChildren();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        long elapsed = System.nanoTime() - started;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Built org chart with {} employees in {} ms", n, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @Override
+    public void managerChanged(long employeeId, long managerId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(employeeId);
+            if (slot == NONE) {
+                slot = addSlot(employeeId);
+                adoptWaitingReports(employeeId, slot);
+            }
+            stopWaiting(employeeId);
+            int parent = managerId != 0 ? slotOf(managerId) : NONE;
+            if (managerId != 0 && parent == NONE) {
+                await(awaitedManagers, waitingReports, employeeId, managerId);
+            }
+            setParent(slot, parent);
+            if (overlayCount > Math.max(MIN_OVERLAY_BEFORE_REBUILD, size / 8)) {
+                rebuildChildren();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removed(long employeeId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(employeeId);
+            if (slot == NONE) {
+                return;
+            }
+            // Reports of a removed manager are shown without a manager, until it comes back
+            IntList reports = new IntList();
+            appendChildren(slot, slot, reports);
+            for (int i = 0; i < reports.size; i++) {
+                setParent(reports.values[i], NONE);
+                await(awaitedManagers, waitingReports, ids[reports.values[i]], employeeId);
+            }
+            stopWaiting(employeeId);
+            setParent(slot, NONE);
+            parents[slot] = DELETED;
+            slotsById.remove(employeeId, NONE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Position getPosition(long employeeId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(employeeId);
+            if (slot == NONE) {
+                return null;
+            }
+            int parent = parents[slot];
+            IntList directReports = new IntList();
+            appendChildren(slot, slot, directReports);
+            int totalReports = collectSubtree(slot).length;
+            return new Position(employeeId, parent >= 0 ? ids[parent] : null,
+                    collectAncestors(slot).length, directReports.size, totalReports);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Everyone who reports to the employee directly or indirectly, level by
+     * level, or null if the employee is not known.
+     */
+    public long[] getSubordinates(long employeeId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(employeeId);
+            return slot != NONE ? toIds(collectSubtree(slot)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The employee's manager, their manager and so on up to the top, or null
+     * if the employee is not known.
+     */
+    public long[] getManagementChain(long employeeId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(employeeId);
+            return slot != NONE ? toIds(collectAncestors(slot)) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether {@code employeeId} is {@code managerId} or reports to them,
+     * directly or indirectly. Walks up from the employee, so costs O(depth).
+     */
+    public boolean isInSubtree(long managerId, long employeeId) {
+        if (managerId == employeeId) {
+            return true;
+        }
+        lock.readLock().lock();
+        try {
+            int root = slotOf(managerId);
+            int slot = slotOf(employeeId);
+            if (root == NONE || slot == NONE) {
+                return false;
+            }
+            for (int ancestor : collectAncestors(slot)) {
+                if (ancestor == root) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Each slot has exactly one parent list it appears in, so a breadth-first
+     * walk reaches every descendant once. Only a loop back to the start itself
+     * could repeat, and that is cut off.
+     */
+    private int[] collectSubtree(int root) {
+        IntList queue = new IntList();
+        appendChildren(root, root, queue);
+        for (int head = 0; head < queue.size; head++) {
+            appendChildren(queue.values[head], root, queue);
+        }
+        return Arrays.copyOf(queue.values, queue.size);
+    }
+
+    /**
+     * Appends the current direct reports of {@code parent}, except {@code stop}.
+     */
+    private void appendChildren(int parent, int stop, IntList out) {
+        if (parent < csrSize) {
+            for (int i = childStart[parent], end = childStart[parent + 1]; i < end; i++) {
+                int child = children[i];
+                if (parents[child] == parent && child != stop) {
+                    out.add(child);
+                }
+            }
+        }
+        for (int child = overlayHead[parent]; child != NONE; child = overlayNext[child]) {
+            if (child != stop) {
+                out.add(child);
+            }
+        }
+    }
+
+    private int[] collectAncestors(int slot) {
+        int[] chain = new int[8];
+        int length = 0;
+        walk:
+        for (int parent = parents[slot]; parent >= 0 && parent != slot; parent = parents[parent]) {
+            for (int i = 0; i < length; i++) {
+                if (chain[i] == parent) {
+                    break walk;
+                }
+            }
+            if (length == chain.length) {
+                chain = Arrays.copyOf(chain, length * 2);
+            }
+            chain[length++] = parent;
+        }
+        return Arrays.copyOf(chain, length);
+    }
+
+    private void setParent(int slot, int parent) {
+        unlinkOverlay(slot);
+        parents[slot] = parent;
+        if (parent >= 0 && csrParents[slot] != parent) {
+            overlayOwner[slot] = parent;
+            overlayPrev[slot] = NONE;
+            overlayNext[slot] = overlayHead[parent];
+            if (overlayHead[parent] != NONE) {
+                overlayPrev[overlayHead[parent]] = slot;
+            }
+            overlayHead[parent] = slot;
+            overlayCount++;
+        }
+    }
+
+    private void unlinkOverlay(int slot) {
+        int owner = overlayOwner[slot];
+        if (owner == NONE) {
+            return;
+        }
+        int prev = overlayPrev[slot];
+        int next = overlayNext[slot];
+        if (prev != NONE) {
+            overlayNext[prev] = next;
+        } else {
+            overlayHead[owner] = next;
+        }
+        if (next != NONE) {
+            overlayPrev[next] = prev;
+        }
+        overlayOwner[slot] = NONE;
+        overlayCount--;
+    }
+
+    /**
+     * Links the reports that named this employee as their manager before the
+     * employee had a slot.
+     */
+    private void adoptWaitingReports(long managerId, int slot) {
+        LongHashSet reports = waitingReports.remove(managerId);
+        if (reports == null) {
+            return;
+        }
+        reports.forEach(reportId -> {
+            awaitedManagers.remove(reportId, 0);
+            setParent(slotOf(reportId), slot);
+        });
+    }
+
+    private void stopWaiting(long employeeId) {
+        long managerId = awaitedManagers.remove(employeeId, 0);
+        if (managerId == 0) {
+            return;
+        }
+        LongHashSet reports = waitingReports.get(managerId);
+        if (reports != null && reports.remove(employeeId) && reports.isEmpty()) {
+            waitingReports.remove(managerId);
+        }
+    }
+
+    private static void await(LongLongHashMap awaitedManagers, Map<Long, LongHashSet> waitingReports,
+                              long employeeId, long managerId) {
+        awaitedManagers.put(employeeId, managerId, 0);
+        waitingReports.computeIfAbsent(managerId, key -> new LongHashSet()).add(employeeId);
+    }
+
+    /**
+     * Counting sort of all slots by parent into fresh CSR arrays; clears the overlays.
+     */
+    private void rebuildChildren() {
+        int n = size;
+        int[] start = new int[n + 1];
+        for (int slot = 0; slot < n; slot++) {
+            if (parents[slot] >= 0) {
+                start[parents[slot] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            start[i + 1] += start[i];
+        }
+        int[] next = Arrays.copyOf(start, n);
+        int[] kids = new int[start[n]];
+        for (int slot = 0; slot < n; slot++) {
+            if (parents[slot] >= 0) {
+                kids[next[parents[slot]]++] = slot;
+            }
+        }
+        childStart = start;
+        children = kids;
+        csrSize = n;
+
+        int capacity = ids.length;
+        csrParents = Arrays.copyOf(parents, capacity);
+        Arrays.fill(csrParents, n, capacity, NONE);
+        overlayHead = filled(capacity);
+        overlayNext = new int[capacity];
+        overlayPrev = new int[capacity];
+        overlayOwner = filled(capacity);
+        overlayCount = 0;
+    }
+
+    private int addSlot(long employeeId) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            csrParents = grow(csrParents, capacity);
+            overlayHead = grow(overlayHead, capacity);
+            overlayNext = Arrays.copyOf(overlayNext, capacity);
+            overlayPrev = Arrays.copyOf(overlayPrev, capacity);
+            overlayOwner = grow(overlayOwner, capacity);
+        }
+        int slot = size++;
+        ids[slot] = employeeId;
+        parents[slot] = NONE;
+        slotsById.put(employeeId, slot, NONE);
+        return slot;
+    }
+
+    private int slotOf(long employeeId) {
+        return (int) slotsById.get(employeeId, NONE);
+    }
+
+    private long[] toIds(int[] slots) {
+        long[] result = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            result[i] = ids[slots[i]];
+        }
+        return result;
+    }
+
+    private long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long waiting = awaitedManagers.memoryBytes();
+            for (LongHashSet reports : waitingReports.values()) {
+                waiting += reports.memoryBytes();
+            }
+            return waiting + slotsById.memoryBytes() + 8L * ids.length
+                    + 4L * (parents.length + childStart.length + children.length + csrParents.length
+                    + overlayHead.length + overlayNext.length + overlayPrev.length + overlayOwner.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int[] filled(int capacity) {
+        int[] array = new int[capacity];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        int length = array.length;
+        int[] grown = Arrays.copyOf(array, capacity);
+        Arrays.fill(grown, length, capacity, NONE);
+        return grown;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Where an employee sits in the org chart. Depth 0 is the top.
+     */
+    public record Position(long employeeId, Long managerId, int depth, int directReports, int totalReports) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.hcms.employee.hierarchy;
+
+/**
+ * An employee and their manager, loaded without the full entity.
+ */
+public record ReportingLine(Long employeeId, Long managerId) {
+}
@@ -0,0 +1,233 @@
+package com.hcms.employee.hierarchy;
+
+import com.hcms.employee.repository.EmployeeRepository;
+import com.hcms.employee.service.EmployeeChangeFollower;
+import com.hcms.employee.service.EmployeeChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory reporting lines: every employee's manager and every manager's
+ * direct reports, held in primitive long collections. Lets the access check
+ * for MANAGER requests run without reading the employee from the database.
+ * <p>
+ * Loaded on startup and kept current like the search index, through the
+ * {@link EmployeeChangeFollower}. Until the first load finishes, {@link #isReady()} is false and callers
+ * fall back to the database. Structures derived from the reporting lines
+ * register a {@link ReportingLineListener} to be told about every change.
+ */
+@Component
+@Slf4j
+public class ReportingLineIndex implements EmployeeChangeListener {
+
+    private static final int BUILD_PAGE_SIZE = 10000;
+    // Employees without a manager are stored with this value
+    private static final long NO_MANAGER = 0;
+    private static final long ABSENT = -1;
+    // Rough cost of one HashMap entry with its boxed key
+    private static final int MAP_ENTRY_BYTES = 64;
+
+    private final EmployeeRepository employeeRepository;
+    private final Timer buildTimer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<ReportingLineListener> listeners = new CopyOnWriteArrayList<>();
+    // Changes heard of before the first load is in place
+    private final Set<Long> changedDuringBuild = new LinkedHashSet<>();
+
+    // Guarded by lock
+    private LongLongHashMap managers = new LongLongHashMap(0);
+    private Map<Long, LongHashSet> directReports = new HashMap<>();
+    private volatile boolean ready;
+
+    public ReportingLineIndex(EmployeeRepository employeeRepository,
+                              EmployeeChangeFollower changeFollower,
+                              MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.buildTimer = Timer.builder("employee.reporting.index.build").register(meterRegistry);
+        Gauge.builder("employee.reporting.index.employees", this, ReportingLineIndex::employeeCount)
+                .register(meterRegistry);
+        Gauge.builder("employee.reporting.index.bytes", this, ReportingLineIndex::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        changeFollower.addListener(this);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void addListener(ReportingLineListener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+
+        LongLongHashMap freshManagers = new LongLongHashMap((int) employeeRepository.count());
+        Map<Long, LongHashSet> freshReports = new HashMap<>();
+        long afterId = 0;
+        List<ReportingLine> page;
+        do {
+            page = employeeRepository.findReportingLinesAfter(afterId, PageRequest.of(0, BUILD_PAGE_SIZE));
+            for (ReportingLine line : page) {
+                put(freshManagers, freshReports, line.employeeId(), line.managerId());
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).employeeId();
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            managers = freshManagers;
+            directReports = freshReports;
+            for (ReportingLineListener listener : listeners) {
+                listener.rebuilt(freshManagers);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Set<Long> missed;
+        synchronized (changedDuringBuild) {
+            ready = true;
+            missed = new LinkedHashSet<>(changedDuringBuild);
+            changedDuringBuild.clear();
+        }
+        if (!missed.isEmpty()) {
+            refresh(missed);
+        }
+        long elapsed = System.nanoTime() - started;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Built reporting line index with {} employees and {} managers in {} ms",
+                freshManagers.size(), freshReports.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @Override
+    public void employeesChanged(Collection<Long> employeeIds) {
+        if (!ready) {
+            synchronized (changedDuringBuild) {
+                if (!ready) {
+                    changedDuringBuild.addAll(employeeIds);
+                    return;
+                }
+            }
+        }
+        refresh(employeeIds);
+    }
+
+    /**
+     * Re-reads the given employees' managers; employees no longer in the
+     * database are removed.
+     */
+    private void refresh(Collection<Long> ids) {
+        Map<Long, Long> current = new HashMap<>();
+        for (ReportingLine line : employeeRepository.findReportingLinesByIdIn(ids)) {
+            current.put(line.employeeId(), line.managerId());
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                if (current.containsKey(id)) {
+                    Long managerId = current.get(id);
+                    if (put(managers, directReports, id, managerId)) {
+                        for (ReportingLineListener listener : listeners) {
+                            listener.managerChanged(id, managerId != null ? managerId : NO_MANAGER);
+                        }
+                    }
+                } else if (remove(id)) {
+                    for (ReportingLineListener listener : listeners) {
+                        listener.removed(id);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether {@code employeeId} reports directly to {@code managerId}.
+     */
+    public boolean isDirectReport(long managerId, long employeeId) {
+        lock.readLock().lock();
+        try {
+            LongHashSet team = directReports.get(managerId);
+            return team != null && team.contains(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int employeeCount() {
+        lock.readLock().lock();
+        try {
+            return managers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = managers.memoryBytes();
+            for (LongHashSet team : directReports.values()) {
+                bytes += MAP_ENTRY_BYTES + team.memoryBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns false if the employee was already known with this manager.
+     */
+    private static boolean put(LongLongHashMap managers, Map<Long, LongHashSet> directReports,
+                               long employeeId, Long managerId) {
+        long manager = managerId != null ? managerId : NO_MANAGER;
+        long previous = managers.put(employeeId, manager, ABSENT);
+        if (previous == manager) {
+            return false;
+        }
+        if (previous != ABSENT && previous != NO_MANAGER) {
+            removeReport(directReports, previous, employeeId);
+        }
+        if (manager != NO_MANAGER) {
+            directReports.computeIfAbsent(manager, key -> new LongHashSet()).add(employeeId);
+        }
+        return true;
+    }
+
+    private boolean remove(long employeeId) {
+        long previous = managers.remove(employeeId, ABSENT);
+        if (previous != ABSENT && previous != NO_MANAGER) {
+            removeReport(directReports, previous, employeeId);
+        }
+        return previous != ABSENT;
+    }
+
+    private static void removeReport(Map<Long, LongHashSet> directReports, long managerId, long employeeId) {
+        LongHashSet team = directReports.get(managerId);
+        if (team != null && team.remove(employeeId) && team.isEmpty()) {
+            directReports.remove(managerId);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.hcms.employee.hierarchy;
+
+/**
+ * Told about every change to {@link ReportingLineIndex}, while its write
+ * lock is held, so derived structures change together with it. Manager ids
+ * are 0 for employees without a manager.
+ */
+public interface ReportingLineListener {
+
+    /**
+     * The index was (re)loaded. {@code managers} maps every employee to their
+     * manager and must not be kept or modified.
+     */
+    void rebuilt(LongLongHashMap managers);
+
+    /**
+     * An employee was added or their manager changed.
+     */
+    void managerChanged(long employeeId, long managerId);
+
+    void removed(long employeeId);
+}
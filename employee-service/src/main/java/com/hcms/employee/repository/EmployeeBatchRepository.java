@@ -0,0 +1,105 @@
+package com.hcms.employee.repository;
+
+import com.hcms.employee.entity.Employee;
+import com.hcms.employee.entity.EmployeeChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Plain JDBC access for bulk imports. The {@code employees} table uses
+ * IDENTITY keys, which stops Hibernate from batching inserts, so bulk writes
+ * go through {@link JdbcTemplate#batchUpdate} instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeBatchRepository {
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees (employee_id, first_name, last_name, " +
+            "email, phone_number, date_of_birth, gender, address, city, state, zip_code, country, hire_date, " +
+            "designation, department_id, manager_id, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RECORD_CHANGES = "INSERT INTO employee_changes (employee_id, change_type, changed_at) " +
+            "SELECT id, ?, ? FROM employees WHERE employee_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Lower-cased emails among the given ones that already belong to an employee.
+     */
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String sql = "SELECT email FROM employees WHERE email IN (" + placeholders(emails.size()) + ")";
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            existing.add(rs.getString(1).toLowerCase(Locale.ROOT));
+        }, emails.toArray());
+        return existing;
+    }
+
+    /**
+     * Inserts the employees in one JDBC batch. A duplicate key fails the whole
+     * batch, so callers run this in a transaction.
+     */
+    public void insertEmployees(List<Employee> employees) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, employees, employees.size(), (ps, e) -> {
+            ps.setString(1, e.getEmployeeId());
+            ps.setString(2, e.getFirstName());
+            ps.setString(3, e.getLastName());
+            ps.setString(4, e.getEmail());
+            ps.setString(5, e.getPhoneNumber());
+            ps.setObject(6, e.getDateOfBirth() != null ? Date.valueOf(e.getDateOfBirth()) : null, Types.DATE);
+            ps.setString(7, e.getGender().name());
+            ps.setString(8, e.getAddress());
+            ps.setString(9, e.getCity());
+            ps.setString(10, e.getState());
+            ps.setString(11, e.getZipCode());
+            ps.setString(12, e.getCountry());
+            ps.setDate(13, Date.valueOf(e.getHireDate()));
+            ps.setString(14, e.getDesignation());
+            ps.setObject(15, e.getDepartmentId(), Types.BIGINT);
+            ps.setObject(16, e.getManagerId(), Types.BIGINT);
+            ps.setString(17, e.getStatus().name());
+            ps.setTimestamp(18, now);
+            ps.setTimestamp(19, now);
+        });
+    }
+
+    /**
+     * Adds the imported employees to the change feed with one statement, so
+     * search indexes and other services' caches pick them up.
+     */
+    public void recordCreated(Collection<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return;
+        }
+        Object[] args = new Object[employeeIds.size() + 2];
+        args[0] = EmployeeChangeType.CREATED.name();
+        args[1] = Timestamp.valueOf(LocalDateTime.now());
+        int i = 2;
+        for (String employeeId : employeeIds) {
+            args[i++] = employeeId;
+        }
+        jdbcTemplate.update(String.format(RECORD_CHANGES, placeholders(employeeIds.size())), args);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,6 +1,10 @@
 package com.hcms.employee.repository;
 
+import com.hcms.employee.dto.EmployeeSuggestionResponse;
+import com.hcms.employee.dto.EmployeeSummaryResponse;
 import com.hcms.employee.entity.Employee;
+import com.hcms.employee.hierarchy.ReportingLine;
+import com.hcms.employee.search.SearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,10 +12,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
     Optional<Employee> findByEmployeeId(String employeeId);
     Optional<Employee> findByEmail(String email);
     boolean existsByEmail(String email);
@@ -26,7 +34,54 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Page<Employee> findByDepartmentId(Long departmentId, Pageable pageable);
     Page<Employee> findByManagerId(Long managerId, Pageable pageable);
+
+    @Query("SELECT e.managerId FROM Employee e WHERE e.id = :id")
+    Optional<Long> findManagerIdById(@Param("id") Long id);
     Page<Employee> findByStatus(com.hcms.employee.entity.EmploymentStatus status, Pageable pageable);
+    long countByStatus(com.hcms.employee.entity.EmploymentStatus status);
+
+    @Query("SELECT new com.hcms.employee.dto.EmployeeSummaryResponse(" +
+           "e.id, e.employeeId, e.firstName, e.lastName, e.departmentId, e.managerId, e.status) " +
+           "FROM Employee e WHERE e.id IN :ids")
+    List<EmployeeSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.hcms.employee.dto.EmployeeSummaryResponse(" +
+           "e.id, e.employeeId, e.firstName, e.lastName, e.departmentId, e.managerId, e.status) " +
+           "FROM Employee e WHERE e.id > :afterId " +
+           "AND (:departmentId IS NULL OR e.departmentId = :departmentId) " +
+           "AND (:managerId IS NULL OR e.managerId = :managerId) " +
+           "ORDER BY e.id")
+    List<EmployeeSummaryResponse> findSummariesAfter(@Param("afterId") Long afterId,
+                                                     @Param("departmentId") Long departmentId,
+                                                     @Param("managerId") Long managerId,
+                                                     Pageable pageable);
+
+    @Query("SELECT new com.hcms.employee.search.SearchDocument(" +
+           "e.id, e.employeeId, e.firstName, e.lastName, e.email) " +
+           "FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.hcms.employee.search.SearchDocument(" +
+           "e.id, e.employeeId, e.firstName, e.lastName, e.email) " +
+           "FROM Employee e WHERE e.id IN :ids")
+    List<SearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.hcms.employee.hierarchy.ReportingLine(e.id, e.managerId) " +
+           "FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<ReportingLine> findReportingLinesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.hcms.employee.hierarchy.ReportingLine(e.id, e.managerId) " +
+           "FROM Employee e WHERE e.id IN :ids")
+    List<ReportingLine> findReportingLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.hcms.employee.dto.EmployeeSuggestionResponse(" +
+           "e.id, e.employeeId, CONCAT(e.firstName, ' ', e.lastName)) " +
+           "FROM Employee e WHERE " +
+           "LOWER(e.firstName) LIKE CONCAT(:prefix, '%') OR " +
+           "LOWER(e.lastName) LIKE CONCAT(:prefix, '%') OR " +
+           "LOWER(e.employeeId) LIKE CONCAT(:prefix, '%') " +
+           "ORDER BY e.firstName, e.lastName")
+    List<EmployeeSuggestionResponse> findSuggestions(@Param("prefix") String prefix, Pageable pageable);
 
     @Query("SELECT MAX(CAST(SUBSTRING(e.employeeId, 4) AS int)) FROM Employee e WHERE e.employeeId LIKE 'EMP%'")
     Integer findMaxEmployeeNumber();
@@ -0,0 +1,23 @@
+package com.hcms.employee.repository;
+
+import com.hcms.employee.entity.ReportingLineLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReportingLineLockRepository extends JpaRepository<ReportingLineLock, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ReportingLineLock l WHERE l.id = :id")
+    Optional<ReportingLineLock> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO reporting_line_locks (id) VALUES (:id)", nativeQuery = true)
+    int insertIfMissing(@Param("id") Long id);
+}
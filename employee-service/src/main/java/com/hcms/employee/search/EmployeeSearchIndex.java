@@ -0,0 +1,993 @@
+package com.hcms.employee.search;
+
+import com.hcms.employee.repository.EmployeeRepository;
+import com.hcms.employee.service.EmployeeChangeFollower;
+import com.hcms.employee.service.EmployeeChangeListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory search index over first name, last name, employee code and email.
+ * <p>
+ * Field values are split into lower-cased terms. Each distinct term is kept
+ * once in a dictionary with the (employee, field) pairs that contain it, and
+ * the dictionary itself is indexed by padded trigrams ({@code " jo", "joh",
+ * "ohn", "hn "}) plus a one-letter prefix key. A query token finds candidate
+ * terms through their trigrams and checks each term once: exact, prefix,
+ * substring, and (only when exact matching finds less than a page) one typo.
+ * Employees then collect the best field-weighted score of every token; all
+ * tokens must match. Ties are broken by employee id.
+ * <p>
+ * Type-ahead suggestions use the same dictionary in sorted order: a prefix is
+ * a contiguous range found by binary search, and employees are read from the
+ * postings of the terms in that range until the limit is reached.
+ * <p>
+ * The index is built on startup and kept current through the
+ * {@link EmployeeChangeFollower}, which also carries writes made by other
+ * instances. Until the first build finishes, {@link #isReady()} is false and
+ * callers fall back to the database.
+ */
+@Component
+@Slf4j
+public class EmployeeSearchIndex implements EmployeeChangeListener {
+
+    private static final int MAX_QUERY_TOKENS = 5;
+    private static final int MIN_TYPO_LENGTH = 5;
+    // New terms are kept unsorted until this many have accumulated
+    private static final int MAX_UNSORTED_TERMS = 1024;
+
+    // Fields, stored in the low two bits of a posting
+    private static final int FIRST_NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int EMPLOYEE_CODE = 2;
+    private static final int EMAIL = 3;
+    private static final int[] FIELD_WEIGHTS = {10, 10, 10, 6};
+
+    // Match levels of one query token against one term
+    private static final int EXACT = 10;
+    private static final int PREFIX = 7;
+    private static final int SUBSTRING = 4;
+    private static final int TYPO = 2;
+
+    // Terms per employee, roughly: checking one survivor costs about this many postings
+    private static final int DOCUMENT_CHECK_RATIO = 8;
+
+    private final EmployeeRepository employeeRepository;
+    private final int buildPageSize;
+    private final Timer searchTimer;
+    private final Timer buildTimer;
+    private final Timer suggestTimer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Each buffer holds a few bytes per slot, so searches share a fixed number of them
+    private final BlockingQueue<Scratch> scratchPool;
+    // Changes heard of before the first build is in place
+    private final Set<Long> changedDuringBuild = new LinkedHashSet<>();
+
+    // Guarded by lock
+    private Segment segment = new Segment();
+    private volatile boolean ready;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               EmployeeChangeFollower changeFollower,
+                               @Value("${employee.search.build-page-size:5000}") int buildPageSize,
+                               @Value("${employee.search.scratch-buffers:4}") int scratchBuffers,
+                               MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.buildPageSize = buildPageSize;
+        this.scratchPool = new ArrayBlockingQueue<>(scratchBuffers);
+        for (int i = 0; i < scratchBuffers; i++) {
+            scratchPool.add(new Scratch());
+        }
+        this.searchTimer = Timer.builder("employee.search.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.buildTimer = Timer.builder("employee.search.index.build").register(meterRegistry);
+        this.suggestTimer = Timer.builder("employee.search.suggest.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.documents", this, index -> index.segment.live)
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.terms", this, index -> index.segment.termCount)
+                .register(meterRegistry);
+        changeFollower.addListener(this);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.nanoTime();
+
+        Segment fresh = new Segment();
+        long afterId = 0;
+        List<SearchDocument> page;
+        do {
+            page = employeeRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, buildPageSize));
+            for (SearchDocument document : page) {
+                fresh.put(document);
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == buildPageSize);
+        fresh.sortTerms();
+
+        lock.writeLock().lock();
+        try {
+            segment = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Set<Long> missed;
+        synchronized (changedDuringBuild) {
+            ready = true;
+            missed = new LinkedHashSet<>(changedDuringBuild);
+            changedDuringBuild.clear();
+        }
+        if (!missed.isEmpty()) {
+            refresh(missed);
+        }
+        long elapsed = System.nanoTime() - started;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Built employee search index with {} employees and {} terms in {} ms",
+                fresh.live, fresh.termCount, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Re-applying this instance's own changes from the feed is harmless.
+     */
+    @Override
+    public void employeesChanged(Collection<Long> employeeIds) {
+        if (!ready) {
+            synchronized (changedDuringBuild) {
+                if (!ready) {
+                    changedDuringBuild.addAll(employeeIds);
+                    return;
+                }
+            }
+        }
+        refresh(employeeIds);
+    }
+
+    /**
+     * Re-reads the given employees; those no longer in the database are removed.
+     */
+    private void refresh(Collection<Long> ids) {
+        Map<Long, SearchDocument> documents = new HashMap<>();
+        for (SearchDocument document : employeeRepository.findSearchDocumentsByIdIn(ids)) {
+            documents.put(document.id(), document);
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                SearchDocument document = documents.get(id);
+                if (document != null) {
+                    segment.put(document);
+                } else {
+                    segment.remove(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of matching employee ids, best match first, and the
+     * total number of matches.
+     */
+    public SearchResult search(String keyword, int offset, int limit) {
+        List<String> tokens = tokens(keyword);
+        if (tokens.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+        return searchTimer.record(() -> {
+            Scratch work = borrowScratch();
+            lock.readLock().lock();
+            try {
+                Segment current = segment;
+                int matches = match(current, tokens, false, work);
+                if (matches < limit && tokens.stream().anyMatch(t -> t.length() >= MIN_TYPO_LENGTH)) {
+                    matches = match(current, tokens, true, work);
+                }
+                return page(current, work.matches, matches, offset, limit);
+            } finally {
+                lock.readLock().unlock();
+                scratchPool.add(work);
+            }
+        });
+    }
+
+    /**
+     * Waits for a free buffer; searches take milliseconds, so the wait is short.
+     */
+    private Scratch borrowScratch() {
+        try {
+            return scratchPool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search buffer", e);
+        }
+    }
+
+    /**
+     * Employees with a first name, last name or employee code starting with
+     * each typed token, in term order. Only the returned suggestions are
+     * allocated.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        List<String> tokens = tokens(prefix);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return suggestTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return segment.suggest(tokens, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Fills {@code work.matches} with packed (score, slot) values and returns
+     * their count.
+     */
+    private static int match(Segment current, List<String> tokens, boolean typos, Scratch work) {
+        work.ensureCapacity(current.termCount, current.slots);
+        int[] best = work.best;
+        int[] total = work.total;
+        byte[] seen = work.seen;
+
+        // The token with the fewest postings goes first, so later tokens only narrow it down
+        List<TokenTerms> ordered = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            int[] terms = matchTerms(current, token, typos, work);
+            if (terms.length == 0) {
+                return 0;
+            }
+            ordered.add(new TokenTerms(terms, postingsSize(current, terms)));
+        }
+        ordered.sort(Comparator.comparingLong(TokenTerms::postings));
+
+        // seen[slot] counts the tokens matched so far; only the first token adds new slots
+        IntList survivors = work.first;
+        for (int k = 0; k < ordered.size(); k++) {
+            TokenTerms token = ordered.get(k);
+            IntList slots = k == 0 ? work.first : (survivors == work.left ? work.right : work.left);
+            slots.clear();
+            if (k > 0 && (long) survivors.size * DOCUMENT_CHECK_RATIO < token.postings()) {
+                checkSurvivors(current, token.terms(), survivors, work, slots);
+            } else {
+                scanPostings(current, token.terms(), k, work, slots);
+            }
+            for (int i = 0; i < slots.size; i++) {
+                int slot = slots.values[i];
+                total[slot] += best[slot];
+                best[slot] = 0;
+                seen[slot] = (byte) (k + 1);
+            }
+            survivors = slots;
+            if (slots.size == 0) {
+                break;
+            }
+        }
+
+        int matches = 0;
+        int required = tokens.size();
+        IntList candidates = work.first;
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.values[i];
+            if (seen[slot] == required) {
+                matches = work.addMatch(matches, ((long) total[slot] << 32) | (Integer.MAX_VALUE - slot));
+            }
+            seen[slot] = 0;
+            total[slot] = 0;
+        }
+        return matches;
+    }
+
+    /**
+     * Scores the token through the postings of its matching terms.
+     */
+    private static void scanPostings(Segment current, int[] terms, int k, Scratch work, IntList slots) {
+        int[] best = work.best;
+        byte[] seen = work.seen;
+        for (int packed : terms) {
+            int level = packed & 0xF;
+            Postings postings = current.termPostings[packed >>> 4];
+            for (int j = 0; j < postings.size; j++) {
+                int posting = postings.values[j];
+                int slot = posting >>> 2;
+                if (seen[slot] != k) {
+                    continue;
+                }
+                int score = level * FIELD_WEIGHTS[posting & 3];
+                if (best[slot] == 0) {
+                    slots.add(slot);
+                }
+                if (score > best[slot]) {
+                    best[slot] = score;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores the token by looking up each surviving employee's own terms; used
+     * when the token is common (e.g. an email domain) and few employees are left.
+     */
+    private static void checkSurvivors(Segment current, int[] terms, IntList survivors, Scratch work, IntList slots) {
+        byte[] levels = work.termLevels;
+        for (int packed : terms) {
+            levels[packed >>> 4] = (byte) (packed & 0xF);
+        }
+        for (int i = 0; i < survivors.size; i++) {
+            int slot = survivors.values[i];
+            int score = 0;
+            for (int ref : current.slotTerms[slot]) {
+                int level = levels[ref >>> 2];
+                if (level > 0) {
+                    score = Math.max(score, level * FIELD_WEIGHTS[ref & 3]);
+                }
+            }
+            if (score > 0) {
+                work.best[slot] = score;
+                slots.add(slot);
+            }
+        }
+        for (int packed : terms) {
+            levels[packed >>> 4] = 0;
+        }
+    }
+
+    private static long postingsSize(Segment current, int[] terms) {
+        long size = 0;
+        for (int packed : terms) {
+            size += current.termPostings[packed >>> 4].size;
+        }
+        return size;
+    }
+
+    /**
+     * The dictionary terms matching one token, as (term &lt;&lt; 4 | level).
+     */
+    private static int[] matchTerms(Segment current, String token, boolean typos, Scratch work) {
+        long[] grams = queryGrams(token);
+        int minHits = token.length() < 3 ? 1 : Math.max(1, grams.length - (typos ? 4 : 2));
+
+        // A term sharing minHits grams with the token contains one of the
+        // (grams - minHits + 1) rarest, so only those postings are scanned
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            Postings postings = current.gramTerms.get(grams[i]);
+            lists[i] = postings != null ? postings : Postings.EMPTY;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+        boolean[] marks = work.termMarks;
+        IntList touched = work.touchedTerms;
+        touched.clear();
+        for (int i = 0; i < grams.length - minHits + 1; i++) {
+            Postings postings = lists[i];
+            for (int j = 0; j < postings.size; j++) {
+                int term = postings.values[j];
+                if (!marks[term]) {
+                    marks[term] = true;
+                    touched.add(term);
+                }
+            }
+        }
+
+        IntList terms = work.terms;
+        terms.clear();
+        for (int i = 0; i < touched.size; i++) {
+            int term = touched.values[i];
+            marks[term] = false;
+            if (current.termPostings[term].size == 0) {
+                continue;
+            }
+            int level = matchTerm(current.terms[term], token, typos);
+            if (level > 0) {
+                terms.add(term << 4 | level);
+            }
+        }
+        return Arrays.copyOf(terms.values, terms.size);
+    }
+
+    private static SearchResult page(Segment current, long[] matches, int count, int offset, int limit) {
+        if (offset >= count) {
+            return new SearchResult(Collections.emptyList(), count);
+        }
+        int k = (int) Math.min((long) offset + limit, count);
+        long[] top = top(matches, count, k);
+        List<Long> ids = new ArrayList<>(k - offset);
+        for (int i = top.length - 1 - offset; i >= 0 && ids.size() < limit; i--) {
+            ids.add(current.ids[Integer.MAX_VALUE - (int) top[i]]);
+        }
+        return new SearchResult(ids, count);
+    }
+
+    /**
+     * The k largest values in ascending order, using a bounded min-heap.
+     */
+    private static long[] top(long[] values, int count, int k) {
+        long[] heap = new long[k];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            long value = values[i];
+            if (size < k) {
+                int child = size++;
+                heap[child] = value;
+                while (child > 0 && heap[(child - 1) >> 1] > heap[child]) {
+                    swap(heap, child, (child - 1) >> 1);
+                    child = (child - 1) >> 1;
+                }
+            } else if (value > heap[0]) {
+                heap[0] = value;
+                int parent = 0;
+                while (true) {
+                    int smallest = parent;
+                    int left = 2 * parent + 1;
+                    if (left < k && heap[left] < heap[smallest]) {
+                        smallest = left;
+                    }
+                    if (left + 1 < k && heap[left + 1] < heap[smallest]) {
+                        smallest = left + 1;
+                    }
+                    if (smallest == parent) {
+                        break;
+                    }
+                    swap(heap, parent, smallest);
+                    parent = smallest;
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    private static void swap(long[] values, int i, int j) {
+        long tmp = values[i];
+        values[i] = values[j];
+        values[j] = tmp;
+    }
+
+    private static int matchTerm(String term, String token, boolean typos) {
+        int length = term.length();
+        int tokenLength = token.length();
+        if (term.startsWith(token)) {
+            return length == tokenLength ? EXACT : PREFIX;
+        }
+        if (tokenLength >= 3 && term.indexOf(token, 1) > 0) {
+            return SUBSTRING;
+        }
+        if (typos && tokenLength >= MIN_TYPO_LENGTH) {
+            if (withinOneEdit(term, length, token)) {
+                return TYPO;
+            }
+            // A typo in what is still a prefix of the term
+            for (int prefix = tokenLength - 1; prefix <= tokenLength + 1; prefix++) {
+                if (prefix < length && withinOneEdit(term, prefix, token)) {
+                    return TYPO;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Whether the first {@code length} characters of the term and the token
+     * differ by at most one insertion, deletion, substitution or adjacent
+     * transposition.
+     */
+    static boolean withinOneEdit(String term, int length, String token) {
+        int a = length;
+        int b = token.length();
+        if (Math.abs(a - b) > 1) {
+            return false;
+        }
+        int min = Math.min(a, b);
+        int i = 0;
+        while (i < min && term.charAt(i) == token.charAt(i)) {
+            i++;
+        }
+        if (i == min) {
+            return true;
+        }
+        if (a == b) {
+            if (term.regionMatches(i + 1, token, i + 1, a - i - 1)) {
+                return true;
+            }
+            return i + 1 < a
+                    && term.charAt(i) == token.charAt(i + 1)
+                    && term.charAt(i + 1) == token.charAt(i)
+                    && term.regionMatches(i + 2, token, i + 2, a - i - 2);
+        }
+        return a > b
+                ? term.regionMatches(i + 1, token, i, b - i)
+                : term.regionMatches(i, token, i + 1, a - i);
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; the same split is used for
+     * indexed fields, so "john.doe@acme.com" searches as four terms.
+     */
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < lower.length() && tokens.size() < MAX_QUERY_TOKENS) {
+            if (!isTermChar(lower.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < lower.length() && isTermChar(lower.charAt(i))) {
+                i++;
+            }
+            tokens.add(lower.substring(start, i));
+        }
+        return tokens;
+    }
+
+    /**
+     * Tokens of one or two characters only match term prefixes. Longer tokens
+     * use their leading, inner and trailing trigrams, deduplicated.
+     */
+    private static long[] queryGrams(String token) {
+        int n = token.length();
+        if (n == 1) {
+            return new long[]{gram(' ', token.charAt(0), '\0')};
+        }
+        if (n == 2) {
+            return new long[]{gram(' ', token.charAt(0), token.charAt(1))};
+        }
+        Set<Long> grams = new LinkedHashSet<>();
+        grams.add(gram(' ', token.charAt(0), token.charAt(1)));
+        for (int i = 0; i + 3 <= n; i++) {
+            grams.add(gram(token.charAt(i), token.charAt(i + 1), token.charAt(i + 2)));
+        }
+        grams.add(gram(token.charAt(n - 2), token.charAt(n - 1), ' '));
+        return grams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void forEachGram(String term, LongConsumer consumer) {
+        int n = term.length();
+        consumer.accept(gram(' ', term.charAt(0), '\0'));
+        if (n >= 2) {
+            consumer.accept(gram(' ', term.charAt(0), term.charAt(1)));
+            for (int j = 0; j + 3 <= n; j++) {
+                consumer.accept(gram(term.charAt(j), term.charAt(j + 1), term.charAt(j + 2)));
+            }
+            consumer.accept(gram(term.charAt(n - 2), term.charAt(n - 1), ' '));
+        }
+    }
+
+    private static boolean isTermChar(char c) {
+        if (c < 128) {
+            return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z');
+        }
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    public record SearchResult(List<Long> ids, long total) {
+    }
+
+    public record Suggestion(Long id, String employeeId, String firstName, String lastName) {
+    }
+
+    private record TokenTerms(int[] terms, long postings) {
+    }
+
+    /**
+     * Employees by slot plus the term dictionary. Slots and term ids are
+     * assigned in arrival order, so a build assigns slots in id order. Deleted
+     * slots are reclaimed by compaction once enough have piled up; unused
+     * terms stay empty until the next build.
+     */
+    private static final class Segment {
+        private static final int MIN_DEAD_SLOTS_TO_COMPACT = 1024;
+
+        private long[] ids = new long[1024];
+        private int[][] slotTerms = new int[1024][];
+        // Display fields for suggestions
+        private String[] employeeIds = new String[1024];
+        private String[] firstNames = new String[1024];
+        private String[] lastNames = new String[1024];
+        private int slots;
+        private int live;
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final Map<String, String> names = new HashMap<>();
+
+        private String[] terms = new String[1024];
+        private Postings[] termPostings = new Postings[1024];
+        private int termCount;
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final Map<Long, Postings> gramTerms = new HashMap<>();
+        // Term ids in term order, plus the ones added since the last merge
+        private int[] sortedTerms = new int[0];
+        private final IntList unsortedTerms = new IntList();
+        private boolean sorting;
+
+        void put(SearchDocument document) {
+            int[] refs = termRefs(document);
+            Integer existing = slotById.get(document.id());
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unlink(slot);
+            } else {
+                slot = slots++;
+                if (slot == ids.length) {
+                    ids = Arrays.copyOf(ids, slot * 2);
+                    slotTerms = Arrays.copyOf(slotTerms, slot * 2);
+                    employeeIds = Arrays.copyOf(employeeIds, slot * 2);
+                    firstNames = Arrays.copyOf(firstNames, slot * 2);
+                    lastNames = Arrays.copyOf(lastNames, slot * 2);
+                }
+                ids[slot] = document.id();
+                slotById.put(document.id(), slot);
+                live++;
+            }
+            employeeIds[slot] = document.employeeId();
+            firstNames[slot] = pooled(document.firstName());
+            lastNames[slot] = pooled(document.lastName());
+            slotTerms[slot] = refs;
+            for (int ref : refs) {
+                termPostings[ref >>> 2].add(slot << 2 | (ref & 3));
+            }
+        }
+
+        void remove(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            unlink(slot);
+            slotTerms[slot] = null;
+            employeeIds[slot] = null;
+            firstNames[slot] = null;
+            lastNames[slot] = null;
+            live--;
+            int dead = slots - live;
+            if (dead >= MIN_DEAD_SLOTS_TO_COMPACT && dead >= slots / 4) {
+                compact();
+            }
+        }
+
+        /**
+         * Moves live employees down over deleted slots. Their relative order is
+         * kept, so postings stay sorted and ties still go to the earlier slot.
+         */
+        private void compact() {
+            int[] moved = new int[slots];
+            int next = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (slotTerms[slot] == null) {
+                    continue;
+                }
+                moved[slot] = next;
+                ids[next] = ids[slot];
+                slotTerms[next] = slotTerms[slot];
+                employeeIds[next] = employeeIds[slot];
+                firstNames[next] = firstNames[slot];
+                lastNames[next] = lastNames[slot];
+                next++;
+            }
+            Arrays.fill(slotTerms, next, slots, null);
+            Arrays.fill(employeeIds, next, slots, null);
+            Arrays.fill(firstNames, next, slots, null);
+            Arrays.fill(lastNames, next, slots, null);
+            for (int term = 0; term < termCount; term++) {
+                Postings postings = termPostings[term];
+                for (int i = 0; i < postings.size; i++) {
+                    int posting = postings.values[i];
+                    postings.values[i] = moved[posting >>> 2] << 2 | (posting & 3);
+                }
+            }
+            slotById.replaceAll((id, slot) -> moved[slot]);
+            slots = next;
+        }
+
+        /**
+         * Names repeat a lot across employees, so each distinct one is stored once.
+         */
+        private String pooled(String name) {
+            return name != null ? names.computeIfAbsent(name, key -> key) : null;
+        }
+
+        private void unlink(int slot) {
+            for (int ref : slotTerms[slot]) {
+                termPostings[ref >>> 2].remove(slot << 2 | (ref & 3));
+            }
+        }
+
+        /**
+         * The document's distinct (term &lt;&lt; 2 | field) references, sorted.
+         */
+        private int[] termRefs(SearchDocument document) {
+            IntList refs = new IntList();
+            addTerms(document.firstName(), FIRST_NAME, refs::add);
+            addTerms(document.lastName(), LAST_NAME, refs::add);
+            addTerms(document.employeeId(), EMPLOYEE_CODE, refs::add);
+            addTerms(document.email(), EMAIL, refs::add);
+            return Arrays.stream(refs.values, 0, refs.size).sorted().distinct().toArray();
+        }
+
+        private void addTerms(String value, int field, IntConsumer refs) {
+            if (value == null) {
+                return;
+            }
+            String lower = value.toLowerCase(Locale.ROOT);
+            int i = 0;
+            while (i < lower.length()) {
+                if (!isTermChar(lower.charAt(i))) {
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < lower.length() && isTermChar(lower.charAt(i))) {
+                    i++;
+                }
+                refs.accept(termId(lower.substring(start, i)) << 2 | field);
+            }
+        }
+
+        private int termId(String term) {
+            Integer id = termIds.get(term);
+            if (id != null) {
+                return id;
+            }
+            int newId = termCount++;
+            if (newId == terms.length) {
+                terms = Arrays.copyOf(terms, newId * 2);
+                termPostings = Arrays.copyOf(termPostings, newId * 2);
+            }
+            terms[newId] = term;
+            termPostings[newId] = new Postings();
+            termIds.put(term, newId);
+            forEachGram(term, gram -> gramTerms.computeIfAbsent(gram, key -> new Postings()).add(newId));
+            unsortedTerms.add(newId);
+            if (sorting && unsortedTerms.size >= MAX_UNSORTED_TERMS) {
+                sortTerms();
+            }
+            return newId;
+        }
+
+        /**
+         * Merges the unsorted terms into the sorted order; after the first
+         * call, later terms are merged whenever enough have accumulated.
+         */
+        void sortTerms() {
+            Integer[] added = new Integer[unsortedTerms.size];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = unsortedTerms.values[i];
+            }
+            Arrays.sort(added, Comparator.comparing(term -> terms[term]));
+
+            int[] merged = new int[sortedTerms.length + added.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < sortedTerms.length && j < added.length) {
+                merged[k++] = terms[sortedTerms[i]].compareTo(terms[added[j]]) <= 0 ? sortedTerms[i++] : added[j++];
+            }
+            while (i < sortedTerms.length) {
+                merged[k++] = sortedTerms[i++];
+            }
+            while (j < added.length) {
+                merged[k++] = added[j++];
+            }
+            sortedTerms = merged;
+            unsortedTerms.clear();
+            sorting = true;
+        }
+
+        List<Suggestion> suggest(List<String> tokens, int limit) {
+            // The longest token has the narrowest range; the others are checked per employee
+            String driver = tokens.get(0);
+            for (String token : tokens) {
+                if (token.length() > driver.length()) {
+                    driver = token;
+                }
+            }
+            List<Suggestion> suggestions = new ArrayList<>(limit);
+            int[] picked = new int[limit];
+
+            int low = 0;
+            int high = sortedTerms.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (terms[sortedTerms[mid]].compareTo(driver) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < sortedTerms.length && suggestions.size() < limit; i++) {
+                int term = sortedTerms[i];
+                if (!terms[term].startsWith(driver)) {
+                    break;
+                }
+                collect(term, tokens, suggestions, picked, limit);
+            }
+            for (int i = 0; i < unsortedTerms.size && suggestions.size() < limit; i++) {
+                int term = unsortedTerms.values[i];
+                if (terms[term].startsWith(driver)) {
+                    collect(term, tokens, suggestions, picked, limit);
+                }
+            }
+            return suggestions;
+        }
+
+        private void collect(int term, List<String> tokens, List<Suggestion> suggestions, int[] picked, int limit) {
+            Postings postings = termPostings[term];
+            for (int i = 0; i < postings.size && suggestions.size() < limit; i++) {
+                int posting = postings.values[i];
+                int slot = posting >>> 2;
+                if ((posting & 3) == EMAIL || contains(picked, suggestions.size(), slot) || !matchesAll(slot, tokens)) {
+                    continue;
+                }
+                picked[suggestions.size()] = slot;
+                suggestions.add(new Suggestion(ids[slot], employeeIds[slot], firstNames[slot], lastNames[slot]));
+            }
+        }
+
+        private boolean matchesAll(int slot, List<String> tokens) {
+            for (String token : tokens) {
+                boolean found = false;
+                for (int ref : slotTerms[slot]) {
+                    if ((ref & 3) != EMAIL && terms[ref >>> 2].startsWith(token)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean contains(int[] values, int size, int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free int list. Most terms belong to a single employee,
+     * so lists start with room for one value.
+     */
+    private static final class Postings {
+        private static final Postings EMPTY = new Postings();
+
+        private int[] values = new int[1];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] >= value) {
+                int index = Arrays.binarySearch(values, 0, size, value);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, value);
+                return;
+            }
+            insertAt(size, value);
+        }
+
+        void remove(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+        }
+
+        private void insertAt(int index, int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    /**
+     * Pooled buffers reused across searches so a query allocates little beyond
+     * its result page. All per-term and per-slot arrays are left zeroed.
+     */
+    private static final class Scratch {
+        private boolean[] termMarks = new boolean[0];
+        private int[] best = new int[0];
+        private int[] total = new int[0];
+        // Tokens matched so far, at most MAX_QUERY_TOKENS
+        private byte[] seen = new byte[0];
+        private final IntList touchedTerms = new IntList();
+        private final IntList terms = new IntList();
+        private byte[] termLevels = new byte[0];
+        private final IntList first = new IntList();
+        private final IntList left = new IntList();
+        private final IntList right = new IntList();
+        private long[] matches = new long[1024];
+
+        void ensureCapacity(int termCount, int slots) {
+            if (termMarks.length < termCount) {
+                termMarks = new boolean[Math.max(termCount, termMarks.length * 2)];
+                termLevels = new byte[termMarks.length];
+            }
+            if (best.length < slots) {
+                int length = Math.max(slots, best.length * 2);
+                best = new int[length];
+                total = new int[length];
+                seen = new byte[length];
+            }
+        }
+
+        int addMatch(int size, long match) {
+            if (size == matches.length) {
+                matches = Arrays.copyOf(matches, size * 2);
+            }
+            matches[size] = match;
+            return size + 1;
+        }
+    }
+}
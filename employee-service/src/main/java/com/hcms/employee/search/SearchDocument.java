@@ -0,0 +1,7 @@
+package com.hcms.employee.search;
+
+/**
+ * The employee fields the search index needs, loaded without the full entity.
+ */
+public record SearchDocument(Long id, String employeeId, String firstName, String lastName, String email) {
+}
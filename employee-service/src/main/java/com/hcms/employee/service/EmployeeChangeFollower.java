@@ -0,0 +1,81 @@
+package com.hcms.employee.service;
+
+import com.hcms.employee.dto.EmployeeChangeFeedResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Follows the {@code employee_changes} feed on behalf of the in-memory
+ * indexes, so they share one cursor and the feed's gap handling instead of
+ * each polling the table. Listeners hear about this instance's writes as soon
+ * as they commit, and about every write, including other instances', from the
+ * feed. The cursor only moves once every listener has taken a page.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeChangeFollower {
+
+    private static final int FEED_PAGE_SIZE = 1000;
+
+    private final EmployeeChangeService employeeChangeService;
+    private final List<EmployeeChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile long lastSequence;
+
+    public void addListener(EmployeeChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts before the indexes load, so nothing committed during a load is missed.
+     */
+    @PostConstruct
+    public void start() {
+        lastSequence = employeeChangeService.getStartSequence();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        notifyListeners(Collections.singleton(event.employeeId()));
+    }
+
+    @Scheduled(fixedDelayString = "${employee.changes.sync-interval-millis:5000}")
+    public void syncChanges() {
+        EmployeeChangeFeedResponse feed;
+        do {
+            feed = employeeChangeService.getChangesAfter(lastSequence, FEED_PAGE_SIZE);
+            if (!feed.getEmployeeIds().isEmpty() && !notifyListeners(feed.getEmployeeIds())) {
+                // Retried from the same sequence on the next run
+                return;
+            }
+            if (feed.getLastSequence() == lastSequence) {
+                return;
+            }
+            lastSequence = feed.getLastSequence();
+        } while (!feed.getEmployeeIds().isEmpty());
+    }
+
+    private boolean notifyListeners(Collection<Long> employeeIds) {
+        boolean delivered = true;
+        for (EmployeeChangeListener listener : listeners) {
+            try {
+                listener.employeesChanged(employeeIds);
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply {} employee changes to {}", employeeIds.size(),
+                        listener.getClass().getSimpleName(), e);
+                delivered = false;
+            }
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,12 @@
+package com.hcms.employee.service;
+
+import java.util.Collection;
+
+/**
+ * Told about employees created, updated or deleted on any instance. The same
+ * employee may be reported more than once, so handling must be idempotent.
+ */
+public interface EmployeeChangeListener {
+
+    void employeesChanged(Collection<Long> employeeIds);
+}
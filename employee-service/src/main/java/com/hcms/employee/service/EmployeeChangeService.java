@@ -0,0 +1,117 @@
+package com.hcms.employee.service;
+
+import com.hcms.employee.dto.EmployeeChangeFeedResponse;
+import com.hcms.employee.entity.EmployeeChange;
+import com.hcms.employee.entity.EmployeeChangeType;
+import com.hcms.employee.repository.EmployeeChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records employee changes and serves them as a feed ordered by sequence.
+ * <p>
+ * Sequences come from an IDENTITY column and are allocated at insert time, so
+ * a transaction can commit after one holding a higher sequence. A reader that
+ * simply moved past the highest sequence it saw would skip the late row for
+ * good. The feed therefore only advances its cursor up to the first missing
+ * sequence, until the rows after the gap are older than
+ * {@code employee.changes.commit-grace-seconds}; by then the missing sequence
+ * belongs to a rolled-back or abandoned insert. Employees after an open gap
+ * are still returned, and are returned again until the cursor passes them.
+ */
+@Service
+@Slf4j
+public class EmployeeChangeService {
+
+    private final EmployeeChangeRepository employeeChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long commitGraceSeconds;
+    private static final int MAX_FEED_SIZE = 1000;
+    private static final int RETENTION_HOURS = 24;
+
+    public EmployeeChangeService(EmployeeChangeRepository employeeChangeRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${employee.changes.commit-grace-seconds:60}") long commitGraceSeconds) {
+        this.employeeChangeRepository = employeeChangeRepository;
+        this.eventPublisher = eventPublisher;
+        this.commitGraceSeconds = commitGraceSeconds;
+    }
+
+    /**
+     * Records a change in the caller's transaction, so the feed only ever
+     * exposes changes that were actually committed. Local listeners get an
+     * {@link EmployeeChangedEvent}.
+     */
+    @Transactional
+    public void recordChange(Long employeeId, EmployeeChangeType changeType) {
+        employeeChangeRepository.save(EmployeeChange.builder()
+                .employeeId(employeeId)
+                .changeType(changeType)
+                .build());
+        eventPublisher.publishEvent(new EmployeeChangedEvent(employeeId));
+    }
+
+    /**
+     * Returns the employees changed after the given sequence, and the sequence
+     * to pass next time. A negative sequence only returns a starting position,
+     * which is how a consumer with an empty cache starts following the feed.
+     */
+    public EmployeeChangeFeedResponse getChangesAfter(long after, int limit) {
+        if (after < 0) {
+            return EmployeeChangeFeedResponse.builder()
+                    .lastSequence(getStartSequence())
+                    .employeeIds(Collections.emptyList())
+                    .build();
+        }
+
+        int size = Math.min(Math.max(limit, 1), MAX_FEED_SIZE);
+        List<EmployeeChange> changes = employeeChangeRepository
+                .findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size));
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(commitGraceSeconds);
+        long lastSequence = after;
+        for (EmployeeChange change : changes) {
+            if (change.getId() != lastSequence + 1 && change.getChangedAt().isAfter(settledBefore)) {
+                // A lower sequence may still commit
+                break;
+            }
+            lastSequence = change.getId();
+        }
+
+        return EmployeeChangeFeedResponse.builder()
+                .lastSequence(lastSequence)
+                .employeeIds(changes.stream()
+                        .map(EmployeeChange::getEmployeeId)
+                        .distinct()
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * A position that no change still being committed can fall behind: the
+     * highest sequence recorded before the grace period.
+     */
+    public long getStartSequence() {
+        Long settled = employeeChangeRepository.findMaxIdChangedBefore(
+                LocalDateTime.now().minusSeconds(commitGraceSeconds));
+        return settled != null ? settled : 0L;
+    }
+
+    @Scheduled(cron = "${employee.changes.purge-cron:0 0 * * * *}")
+    @Transactional
+    public void purgeOldChanges() {
+        int deleted = employeeChangeRepository.deleteByChangedAtBefore(LocalDateTime.now().minusHours(RETENTION_HOURS));
+        if (deleted > 0) {
+            log.info("Purged {} employee change records older than {} hours", deleted, RETENTION_HOURS);
+        }
+    }
+}
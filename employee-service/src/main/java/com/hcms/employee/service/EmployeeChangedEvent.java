@@ -0,0 +1,7 @@
+package com.hcms.employee.service;
+
+/**
+ * Published when an employee was created, updated or deleted.
+ */
+public record EmployeeChangedEvent(Long employeeId) {
+}
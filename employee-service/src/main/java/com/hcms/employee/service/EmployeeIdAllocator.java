@@ -0,0 +1,161 @@
+package com.hcms.employee.service;
+
+import com.hcms.employee.repository.EmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hi/lo allocator for {@code EMP%03d} employee IDs. Each node reserves a
+ * block of numbers from {@code employee_id_sequences} and hands them out from
+ * memory, so concurrent creates never collide and never wait on each other's
+ * transactions. Numbers left in a block when a node stops are skipped, which
+ * leaves gaps.
+ * <p>
+ * Blocks are reserved on a dedicated single-connection pool in autocommit
+ * mode, never on the caller's transaction or a second connection from the
+ * main pool: a create that needs a block while the main pool is exhausted
+ * would otherwise wait on itself.
+ */
+@Service
+@Slf4j
+public class EmployeeIdAllocator {
+
+    static final String SEQUENCE = "employee";
+
+    // LAST_INSERT_ID(expr) remembers the new value for this connection, so no second read of the row is needed
+    private static final String RESERVE_SQL =
+            "UPDATE employee_id_sequences SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = ?";
+    private static final String RESERVED_SQL = "SELECT LAST_INSERT_ID()";
+    private static final String SEED_SQL =
+            "INSERT IGNORE INTO employee_id_sequences (name, next_value) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeRepository employeeRepository;
+    private final int blockSize;
+
+    // Guarded by this
+    private long next;
+    private long limit;
+
+    @Autowired
+    public EmployeeIdAllocator(DataSourceProperties dataSourceProperties,
+                               EmployeeRepository employeeRepository,
+                               @Value("${employee.id.block-size:50}") int blockSize) {
+        this(new JdbcTemplate(sequenceDataSource(dataSourceProperties)), employeeRepository, blockSize);
+    }
+
+    EmployeeIdAllocator(JdbcTemplate jdbcTemplate, EmployeeRepository employeeRepository, int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeRepository = employeeRepository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Not a bean, so the application's own DataSource is still auto-configured.
+     */
+    private static HikariDataSource sequenceDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("employee-id-allocator");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        dataSource.setAutoCommit(true);
+        return dataSource;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (jdbcTemplate.getDataSource() instanceof HikariDataSource sequenceDataSource) {
+            sequenceDataSource.close();
+        }
+    }
+
+    public synchronized String nextEmployeeId() {
+        if (next >= limit) {
+            reserveBlock(blockSize);
+        }
+        return format(next++);
+    }
+
+    /**
+     * IDs for a bulk import. Whatever the current block cannot cover is
+     * reserved in one extra block.
+     */
+    public synchronized List<String> nextEmployeeIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            if (next >= limit) {
+                reserveBlock(Math.max(blockSize, count - ids.size()));
+            }
+            ids.add(format(next++));
+        }
+        return ids;
+    }
+
+    static String format(long number) {
+        return String.format("EMP%03d", number);
+    }
+
+    /**
+     * Reserves [end - size, end). The update commits on its own, so the
+     * sequence row is only locked for the duration of this one statement.
+     */
+    private void reserveBlock(int size) {
+        Long end = reserve(size);
+        if (end == null) {
+            seed();
+            end = reserve(size);
+        }
+        if (end == null) {
+            throw new IllegalStateException("Employee ID sequence row is missing");
+        }
+        limit = end;
+        next = end - size;
+        log.debug("Reserved employee numbers {} to {}", next, limit - 1);
+    }
+
+    /**
+     * The new end of the sequence, or null if its row does not exist yet.
+     * Both statements must run on the same connection for LAST_INSERT_ID().
+     */
+    private Long reserve(int size) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RESERVE_SQL)) {
+                update.setInt(1, size);
+                update.setString(2, SEQUENCE);
+                if (update.executeUpdate() == 0) {
+                    return null;
+                }
+            }
+            try (PreparedStatement select = connection.prepareStatement(RESERVED_SQL);
+                 ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+    }
+
+    /**
+     * First use: continue after the highest existing number. Several nodes may
+     * race here; INSERT IGNORE keeps the first row.
+     */
+    private void seed() {
+        Integer max = employeeRepository.findMaxEmployeeNumber();
+        long start = max != null ? max + 1L : 1L;
+        jdbcTemplate.update(SEED_SQL, SEQUENCE, start);
+        log.info("Seeded employee ID sequence at {}", start);
+    }
+}
@@ -0,0 +1,435 @@
+package com.hcms.employee.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hcms.employee.dto.EmployeeImportError;
+import com.hcms.employee.dto.EmployeeImportResponse;
+import com.hcms.employee.dto.EmployeeRequest;
+import com.hcms.employee.entity.Employee;
+import com.hcms.employee.entity.EmploymentStatus;
+import com.hcms.employee.repository.EmployeeBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk onboarding from a CSV or JSON-lines upload. The body is read as a
+ * stream, one chunk of rows at a time. A worker pool parses and validates
+ * each chunk. Email uniqueness is checked with one query per chunk, and
+ * valid rows are written with JDBC batch inserts. Rows that fail are
+ * reported individually and do not stop the import.
+ *
+ * <p>CSV needs a header row naming {@link EmployeeRequest} properties, either
+ * as {@code firstName} or {@code first_name}. Unknown columns are ignored.
+ */
+@Service
+@Slf4j
+public class EmployeeImportService {
+
+    public enum Format {
+        CSV, JSON_LINES;
+
+        public static Format fromContentType(String contentType) {
+            String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return JSON_LINES;
+            }
+            throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+        }
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EmployeeBatchRepository employeeBatchRepository;
+    private final EmployeeIdAllocator employeeIdAllocator;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int workerCount;
+    private final ExecutorService workers;
+    private final Counter importedRows;
+
+    public EmployeeImportService(EmployeeBatchRepository employeeBatchRepository,
+                                 EmployeeIdAllocator employeeIdAllocator,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${employee.import.workers:4}") int workerCount,
+                                 @Value("${employee.import.chunk-size:1000}") int chunkSize) {
+        this.employeeBatchRepository = employeeBatchRepository;
+        this.employeeIdAllocator = employeeIdAllocator;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+        this.importedRows = Counter.builder("employee.import.rows").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public EmployeeImportResponse importEmployees(InputStream body, Format format) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportState state = new ImportState();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        String[] header = null;
+        if (format == Format.CSV) {
+            String headerLine = readRecord(reader, format);
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV header row is required");
+            }
+            header = parseHeader(headerLine);
+        }
+
+        // Row numbers are 1-based data rows, not counting the CSV header
+        List<RawRow> chunk = new ArrayList<>(chunkSize);
+        int row = 0;
+        String record;
+        while ((record = readRecord(reader, format)) != null) {
+            row++;
+            if (record.isBlank()) {
+                continue;
+            }
+            chunk.add(new RawRow(row, record));
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, format, header, state);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, format, header, state);
+        }
+
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Imported {} of {} employees in {} ms ({} failed)",
+                state.imported, state.total, durationMillis, state.failed);
+        state.errors.sort(Comparator.comparing(EmployeeImportError::getRow));
+        return EmployeeImportResponse.builder()
+                .totalRows(state.total)
+                .importedCount(state.imported)
+                .failedCount(state.failed)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(durationMillis > 0 ? state.total * 1000.0 / durationMillis : state.total)
+                .errors(state.errors)
+                .errorsTruncated(state.failed > state.errors.size())
+                .build();
+    }
+
+    private void processChunk(List<RawRow> chunk, Format format, String[] header, ImportState state) {
+        state.total += chunk.size();
+        List<ParsedRow> parsed = parseInParallel(chunk, format, header);
+
+        // Emails compare case-insensitively, like the column's collation
+        List<ParsedRow> candidates = new ArrayList<>(parsed.size());
+        Set<String> chunkEmails = new HashSet<>();
+        for (ParsedRow row : parsed) {
+            if (row.error != null) {
+                state.fail(row.row, row.email(), row.error);
+            } else if (!state.seenEmails.add(row.email().toLowerCase(Locale.ROOT))) {
+                state.fail(row.row, row.email(), "Email appears more than once in the import");
+            } else {
+                candidates.add(row);
+                chunkEmails.add(row.email());
+            }
+        }
+
+        Set<String> existing = employeeBatchRepository.findExistingEmails(chunkEmails);
+        List<ParsedRow> accepted = new ArrayList<>(candidates.size());
+        for (ParsedRow row : candidates) {
+            if (existing.contains(row.email().toLowerCase(Locale.ROOT))) {
+                state.fail(row.row, row.email(), "Email already exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> employeeIds = employeeIdAllocator.nextEmployeeIds(accepted.size());
+        List<Employee> employees = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            employees.add(toEmployee(employeeIds.get(i), accepted.get(i).request));
+        }
+
+        try {
+            insert(employees);
+            state.imported += employees.size();
+            importedRows.increment(employees.size());
+        } catch (DataIntegrityViolationException e) {
+            // Someone created one of these emails since the lookup; find it row by row
+            log.warn("Batch insert of {} employees failed, retrying row by row: {}", employees.size(), e.getMessage());
+            for (int i = 0; i < employees.size(); i++) {
+                try {
+                    insert(List.of(employees.get(i)));
+                    state.imported++;
+                    importedRows.increment();
+                } catch (DataIntegrityViolationException rowError) {
+                    state.fail(accepted.get(i).row, accepted.get(i).email(),
+                            insertFailure(rowError, accepted.get(i).email()));
+                }
+            }
+        }
+    }
+
+    /**
+     * The reason reported for a row that failed to insert on its own. MySQL
+     * quotes the duplicate value in its message, which tells an email clash
+     * apart from any other constraint.
+     */
+    private static String insertFailure(DataIntegrityViolationException e, String email) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        String message = String.valueOf(cause.getMessage());
+        if (e instanceof DuplicateKeyException && email != null
+                && message.toLowerCase(Locale.ROOT).contains("'" + email.toLowerCase(Locale.ROOT) + "'")) {
+            return "Email already exists";
+        }
+        if (cause instanceof SQLException sqlException) {
+            return "Insert failed (SQLState " + sqlException.getSQLState() + "): " + message;
+        }
+        return "Insert failed: " + message;
+    }
+
+    private void insert(List<Employee> employees) {
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeBatchRepository.insertEmployees(employees);
+            employeeBatchRepository.recordCreated(employees.stream().map(Employee::getEmployeeId).toList());
+        });
+    }
+
+    private List<ParsedRow> parseInParallel(List<RawRow> chunk, Format format, String[] header) {
+        int sliceSize = (chunk.size() + workerCount - 1) / workerCount;
+        List<Future<List<ParsedRow>>> futures = new ArrayList<>(workerCount);
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<RawRow> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            futures.add(workers.submit(() -> {
+                List<ParsedRow> rows = new ArrayList<>(slice.size());
+                for (RawRow raw : slice) {
+                    rows.add(parse(raw, format, header));
+                }
+                return rows;
+            }));
+        }
+
+        List<ParsedRow> parsed = new ArrayList<>(chunk.size());
+        try {
+            for (Future<List<ParsedRow>> future : futures) {
+                parsed.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Employee import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Employee import failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return parsed;
+    }
+
+    private ParsedRow parse(RawRow raw, Format format, String[] header) {
+        EmployeeRequest request;
+        try {
+            request = format == Format.CSV
+                    ? objectMapper.treeToValue(toJson(raw.text, header), EmployeeRequest.class)
+                    : objectMapper.readValue(raw.text, EmployeeRequest.class);
+        } catch (JsonProcessingException e) {
+            return new ParsedRow(raw.row, null, "Malformed row: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(raw.row, null, "Malformed row: " + e.getMessage());
+        }
+        if (request == null) {
+            return new ParsedRow(raw.row, null, "Malformed row");
+        }
+
+        Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .reduce((a, b) -> a + "; " + b)
+                    .orElse("Invalid row");
+            return new ParsedRow(raw.row, request, message);
+        }
+        return new ParsedRow(raw.row, request, null);
+    }
+
+    private ObjectNode toJson(String record, String[] header) {
+        List<String> fields = splitCsv(record);
+        if (fields.size() > header.length) {
+            throw new IllegalArgumentException("Row has " + fields.size() + " fields but the header has " + header.length);
+        }
+        ObjectNode node = objectMapper.createObjectNode();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (header[i] != null && !value.isEmpty()) {
+                node.put(header[i], value);
+            }
+        }
+        return node;
+    }
+
+    private static Employee toEmployee(String employeeId, EmployeeRequest request) {
+        return Employee.builder()
+                .employeeId(employeeId)
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .dateOfBirth(request.getDateOfBirth())
+                .gender(request.getGender())
+                .address(request.getAddress())
+                .city(request.getCity())
+                .state(request.getState())
+                .zipCode(request.getZipCode())
+                .country(request.getCountry())
+                .hireDate(request.getHireDate())
+                .designation(request.getDesignation())
+                .departmentId(request.getDepartmentId())
+                .managerId(request.getManagerId())
+                .status(request.getStatus() != null ? request.getStatus() : EmploymentStatus.ACTIVE)
+                .build();
+    }
+
+    /**
+     * Maps header names to request property names; columns that match no
+     * property are left null and skipped.
+     */
+    private static String[] parseHeader(String headerLine) {
+        Map<String, String> properties = new HashMap<>();
+        for (String property : List.of("firstName", "lastName", "email", "phoneNumber", "dateOfBirth", "gender",
+                "address", "city", "state", "zipCode", "country", "hireDate", "designation", "departmentId",
+                "managerId", "status")) {
+            properties.put(property.toLowerCase(Locale.ROOT), property);
+        }
+        List<String> columns = splitCsv(headerLine);
+        String[] header = new String[columns.size()];
+        for (int i = 0; i < header.length; i++) {
+            String key = columns.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+            header[i] = properties.get(key);
+        }
+        return header;
+    }
+
+    /**
+     * Next record from the upload. A CSV record may span lines inside a
+     * quoted field, so lines are joined until the quotes balance.
+     */
+    private static String readRecord(BufferedReader reader, Format format) throws IOException {
+        String line = reader.readLine();
+        if (line == null || format != Format.CSV || quoteCount(line) % 2 == 0) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        int quotes = quoteCount(line);
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += quoteCount(line);
+        }
+        return record.toString();
+    }
+
+    private static int quoteCount(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<String> splitCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record RawRow(int row, String text) {
+    }
+
+    private record ParsedRow(int row, EmployeeRequest request, String error) {
+
+        String email() {
+            return request != null ? request.getEmail() : null;
+        }
+    }
+
+    /**
+     * Counters and the emails seen so far; only touched by the importing thread.
+     */
+    private static final class ImportState {
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<EmployeeImportError> errors = new ArrayList<>();
+        private int total;
+        private int imported;
+        private int failed;
+
+        void fail(int row, String email, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EmployeeImportError(row, email, message));
+            }
+        }
+    }
+}
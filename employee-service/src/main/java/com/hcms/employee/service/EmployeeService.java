@@ -1,24 +1,49 @@
 package com.hcms.employee.service;
 
+import com.hcms.common.dto.CursorPage;
+import com.hcms.common.util.CursorCodec;
 import com.hcms.employee.dto.EmployeeRequest;
 import com.hcms.employee.dto.EmployeeResponse;
+import com.hcms.employee.dto.EmployeeSuggestionResponse;
+import com.hcms.employee.dto.EmployeeSummaryResponse;
 import com.hcms.employee.entity.Employee;
+import com.hcms.employee.entity.EmployeeChangeType;
 import com.hcms.employee.entity.EmploymentStatus;
 import com.hcms.employee.exception.ResourceNotFoundException;
 import com.hcms.employee.repository.EmployeeRepository;
+import com.hcms.employee.search.EmployeeSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeChangeService employeeChangeService;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeIdAllocator employeeIdAllocator;
+    private final OrgChartService orgChartService;
+    private final ReportingLineLocker reportingLineLocker;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SUGGESTIONS = 50;
 
     @Transactional
     public EmployeeResponse createEmployee(EmployeeRequest request) {
@@ -28,7 +53,7 @@ public class EmployeeService {
             throw new IllegalArgumentException("Email already exists");
         }
 
-        String employeeId = generateEmployeeId();
+        String employeeId = employeeIdAllocator.nextEmployeeId();
 
         Employee employee = Employee.builder()
                 .employeeId(employeeId)
@@ -51,6 +76,7 @@ public class EmployeeService {
                 .build();
 
         employee = employeeRepository.save(employee);
+        employeeChangeService.recordChange(employee.getId(), EmployeeChangeType.CREATED);
         log.info("Employee created with ID: {}", employee.getEmployeeId());
 
         return mapToResponse(employee);
@@ -68,12 +94,87 @@ public class EmployeeService {
         return mapToResponse(employee);
     }
 
+    public List<EmployeeSummaryResponse> getEmployeeSummaries(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LinkedHashSet<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size cannot exceed " + MAX_BATCH_SIZE + " ids");
+        }
+        return employeeRepository.findSummariesByIdIn(distinctIds);
+    }
+
+    /**
+     * Keyset page of employee summaries with ids greater than {@code afterId},
+     * optionally limited to a department or a manager's direct reports.
+     */
+    public List<EmployeeSummaryResponse> getEmployeeSummariesAfter(Long afterId, int size,
+                                                                   Long departmentId, Long managerId) {
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        return employeeRepository.findSummariesAfter(afterId, departmentId, managerId, PageRequest.of(0, size));
+    }
+
+    public long countEmployees(EmploymentStatus status) {
+        return status != null ? employeeRepository.countByStatus(status) : employeeRepository.count();
+    }
+
     public Page<EmployeeResponse> getAllEmployees(Pageable pageable) {
         return employeeRepository.findAll(pageable).map(this::mapToResponse);
     }
 
+    public CursorPage<EmployeeResponse> getAllEmployees(String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor, 0);
+        int pageSize = CursorCodec.pageSize(size);
+        List<Employee> rows = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        return CursorCodec.page(rows, pageSize, Employee::getId, this::mapToResponse);
+    }
+
+    /**
+     * Ranked search from the in-memory index; only the page's employees are
+     * loaded from the database. Falls back to a LIKE query while the index is
+     * still being built or for a blank keyword.
+     */
     public Page<EmployeeResponse> searchEmployees(String keyword, Pageable pageable) {
-        return employeeRepository.searchEmployees(keyword, pageable).map(this::mapToResponse);
+        if (!searchIndex.isReady() || keyword == null || keyword.isBlank()) {
+            return employeeRepository.searchEmployees(keyword, pageable).map(this::mapToResponse);
+        }
+        EmployeeSearchIndex.SearchResult result =
+                searchIndex.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Employee> employees = employeeRepository.findAllById(result.ids()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        List<EmployeeResponse> content = result.ids().stream()
+                .map(employees::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    /**
+     * Type-ahead for employee pickers: prefix matches on first name, last name
+     * and employee code, from the search index once it is built.
+     */
+    public List<EmployeeSuggestionResponse> suggestEmployees(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        if (!searchIndex.isReady()) {
+            return employeeRepository.findSuggestions(prefix.trim().toLowerCase(Locale.ROOT), PageRequest.of(0, limit));
+        }
+        List<EmployeeSearchIndex.Suggestion> suggestions = searchIndex.suggest(prefix, limit);
+        List<EmployeeSuggestionResponse> response = new ArrayList<>(suggestions.size());
+        for (EmployeeSearchIndex.Suggestion suggestion : suggestions) {
+            response.add(new EmployeeSuggestionResponse(suggestion.id(), suggestion.employeeId(),
+                    suggestion.firstName() + " " + suggestion.lastName()));
+        }
+        return response;
     }
 
     public Page<EmployeeResponse> getEmployeesByDepartment(Long departmentId, Pageable pageable) {
@@ -87,6 +188,10 @@ public class EmployeeService {
     @Transactional
     public EmployeeResponse updateEmployee(Long id, EmployeeRequest request) {
         log.info("Updating employee with ID: {}", id);
+        if (request.getManagerId() != null) {
+            // Before the first read, so the loop check sees manager changes committed by the previous holder
+            reportingLineLocker.lock();
+        }
 
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
@@ -94,6 +199,9 @@ public class EmployeeService {
         if (!employee.getEmail().equals(request.getEmail()) && employeeRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email already exists");
         }
+        if (!Objects.equals(employee.getManagerId(), request.getManagerId())) {
+            orgChartService.validateManager(id, request.getManagerId());
+        }
 
         employee.setFirstName(request.getFirstName());
         employee.setLastName(request.getLastName());
@@ -115,6 +223,7 @@ public class EmployeeService {
         }
 
         employee = employeeRepository.save(employee);
+        employeeChangeService.recordChange(employee.getId(), EmployeeChangeType.UPDATED);
         log.info("Employee updated: {}", employee.getEmployeeId());
 
         return mapToResponse(employee);
@@ -126,15 +235,10 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
         employeeRepository.delete(employee);
+        employeeChangeService.recordChange(employee.getId(), EmployeeChangeType.DELETED);
         log.info("Employee deleted: {}", employee.getEmployeeId());
     }
 
-    private String generateEmployeeId() {
-        Integer maxNumber = employeeRepository.findMaxEmployeeNumber();
-        int nextNumber = (maxNumber == null) ? 1 : maxNumber + 1;
-        return String.format("EMP%03d", nextNumber);
-    }
-
     private EmployeeResponse mapToResponse(Employee employee) {
         return EmployeeResponse.builder()
                 .id(employee.getId())
@@ -0,0 +1,93 @@
+package com.hcms.employee.service;
+
+import com.hcms.employee.dto.OrgChartPositionResponse;
+import com.hcms.employee.exception.ResourceNotFoundException;
+import com.hcms.employee.exception.ServiceUnavailableException;
+import com.hcms.employee.hierarchy.OrgChartIndex;
+import com.hcms.employee.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Transitive reporting-line queries, answered from {@link OrgChartIndex}.
+ * Manager changes are checked against the table instead, since the index
+ * trails committed writes.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrgChartService {
+
+    private final OrgChartIndex orgChartIndex;
+    private final EmployeeRepository employeeRepository;
+
+    public OrgChartPositionResponse getPosition(Long employeeId) {
+        checkReady();
+        OrgChartIndex.Position position = orgChartIndex.getPosition(employeeId);
+        if (position == null) {
+            throw notFound(employeeId);
+        }
+        return OrgChartPositionResponse.builder()
+                .employeeId(position.employeeId())
+                .managerId(position.managerId())
+                .depth(position.depth())
+                .directReportCount(position.directReports())
+                .totalReportCount(position.totalReports())
+                .build();
+    }
+
+    public List<Long> getSubordinates(Long employeeId) {
+        checkReady();
+        long[] ids = orgChartIndex.getSubordinates(employeeId);
+        if (ids == null) {
+            throw notFound(employeeId);
+        }
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    public List<Long> getManagementChain(Long employeeId) {
+        checkReady();
+        long[] ids = orgChartIndex.getManagementChain(employeeId);
+        if (ids == null) {
+            throw notFound(employeeId);
+        }
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    /**
+     * Rejects a manager that is the employee or one of their reports, which
+     * would make the reporting lines loop. Walks up from the new manager
+     * through the table, so the caller must hold the {@link ReportingLineLocker}
+     * lock for the walk to see every committed manager change.
+     */
+    public void validateManager(Long employeeId, Long managerId) {
+        if (managerId == null) {
+            return;
+        }
+        if (managerId.equals(employeeId)) {
+            throw new IllegalArgumentException("Employee cannot be their own manager");
+        }
+        Set<Long> seen = new HashSet<>();
+        Long current = managerId;
+        while (current != null && seen.add(current)) {
+            current = employeeRepository.findManagerIdById(current).orElse(null);
+            if (employeeId.equals(current)) {
+                throw new IllegalArgumentException("Manager cannot be one of the employee's own reports");
+            }
+        }
+    }
+
+    private void checkReady() {
+        if (!orgChartIndex.isReady()) {
+            throw new ServiceUnavailableException("Org chart is still loading, please retry shortly");
+        }
+    }
+
+    private static ResourceNotFoundException notFound(Long employeeId) {
+        return new ResourceNotFoundException("Employee not found with id: " + employeeId);
+    }
+}
@@ -0,0 +1,49 @@
+package com.hcms.employee.service;
+
+import com.hcms.employee.repository.ReportingLineLockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serializes manager changes across instances with SELECT ... FOR UPDATE on
+ * one lock row. Two manager changes that are each valid on their own could
+ * otherwise commit together and make the reporting lines loop.
+ * <p>
+ * The lock must be taken before the transaction's first plain read: under
+ * REPEATABLE READ that read fixes the snapshot every later read sees, and a
+ * snapshot from before the lock would miss the previous holder's changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportingLineLocker {
+
+    private static final long LOCK_ID = 1L;
+
+    private final ReportingLineLockRepository lockRepository;
+
+    /**
+     * Creating the row up front keeps first use from racing on the insert.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createLockRow() {
+        if (lockRepository.insertIfMissing(LOCK_ID) > 0) {
+            log.info("Created reporting line lock row");
+        }
+    }
+
+    /**
+     * Held until the caller's transaction ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock() {
+        lockRepository.lockById(LOCK_ID)
+                .orElseThrow(() -> new IllegalStateException("Reporting line lock row is missing"));
+    }
+}
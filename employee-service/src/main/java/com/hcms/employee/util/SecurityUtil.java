@@ -1,23 +1,34 @@
 package com.hcms.employee.util;
 
 import com.hcms.employee.exception.ForbiddenException;
-import com.hcms.employee.exception.ResourceNotFoundException;
+import com.hcms.employee.hierarchy.ReportingLineIndex;
 import com.hcms.employee.repository.EmployeeRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.List;
 
 @Component
-@RequiredArgsConstructor
 public class SecurityUtil {
 
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
     private static EmployeeRepository employeeRepository;
+    private static ReportingLineIndex reportingLineIndex;
+    private static byte[] internalToken;
 
-    public SecurityUtil(EmployeeRepository employeeRepository) {
+    public SecurityUtil(EmployeeRepository employeeRepository, ReportingLineIndex reportingLineIndex,
+                        @Value("${internal.token}") String internalToken) {
         SecurityUtil.employeeRepository = employeeRepository;
+        SecurityUtil.reportingLineIndex = reportingLineIndex;
+        if (internalToken.isBlank()) {
+            throw new IllegalStateException("internal.token must not be blank");
+        }
+        SecurityUtil.internalToken = internalToken.getBytes(StandardCharsets.UTF_8);
     }
 
     public static String getCurrentUserRole() {
@@ -51,6 +62,19 @@ public class SecurityUtil {
         }
     }
 
+    /**
+     * For endpoints only other services call, often from background jobs with
+     * no user headers. They send the shared {@code internal.token} as
+     * X-Internal-Token; the gateway never forwards that header from clients.
+     */
+    public static void checkInternalAccess() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        String token = attributes != null ? attributes.getRequest().getHeader(INTERNAL_TOKEN_HEADER) : null;
+        if (token == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), internalToken)) {
+            throw new ForbiddenException("Access denied. Internal endpoint.");
+        }
+    }
+
     public static void checkAccess(Long employeeId) {
         String role = getCurrentUserRole();
         Long currentUserId = getCurrentUserId();
@@ -65,13 +89,8 @@ public class SecurityUtil {
 
         if (role.equals("MANAGER")) {
             // Check if employee is in manager's team
-            if (employeeRepository != null) {
-                boolean isTeamMember = employeeRepository.findById(employeeId)
-                        .map(emp -> emp.getManagerId() != null && emp.getManagerId().equals(currentUserId))
-                        .orElse(false);
-                if (!isTeamMember) {
-                    throw new ForbiddenException("Access denied. You can only access your team members.");
-                }
+            if (!isTeamMember(currentUserId, employeeId)) {
+                throw new ForbiddenException("Access denied. You can only access your team members.");
             }
             return;
         }
@@ -86,5 +105,17 @@ public class SecurityUtil {
 
         throw new ForbiddenException("Access denied.");
     }
-}
 
+    private static boolean isTeamMember(Long managerId, Long employeeId) {
+        if (managerId == null || employeeId == null) {
+            return false;
+        }
+        if (reportingLineIndex != null && reportingLineIndex.isReady()) {
+            return reportingLineIndex.isDirectReport(managerId, employeeId);
+        }
+        // Index still loading
+        return employeeRepository.findById(employeeId)
+                .map(emp -> managerId.equals(emp.getManagerId()))
+                .orElse(false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.hcms.employee.hierarchy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+    @Test
+    void addsAndRemovesValues() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.add(5)).isTrue();
+        assertThat(set.add(5)).isFalse();
+        assertThat(set.add(7)).isTrue();
+        assertThat(set.contains(5)).isTrue();
+        assertThat(set.size()).isEqualTo(2);
+
+        assertThat(set.remove(5)).isTrue();
+        assertThat(set.remove(5)).isFalse();
+        assertThat(set.contains(5)).isFalse();
+        assertThat(set.toArray()).containsExactly(7L);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        LongHashSet set = new LongHashSet(2);
+        for (long value = 1; value <= 1000; value++) {
+            set.add(value);
+        }
+
+        assertThat(set.size()).isEqualTo(1000);
+        for (long value = 1; value <= 1000; value++) {
+            assertThat(set.contains(value)).isTrue();
+        }
+        assertThat(set.contains(1001)).isFalse();
+    }
+
+    @Test
+    void onlyStoresPositiveValues() {
+        LongHashSet set = new LongHashSet();
+
+        assertThatThrownBy(() -> set.add(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> set.add(-3)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.remove(-3)).isFalse();
+    }
+
+    @Test
+    void removalsKeepProbeRunsReachable() {
+        // A small table keeps probe runs long, so backward-shift deletion is exercised
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            long value = 1 + random.nextInt(200);
+            if (random.nextBoolean()) {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long value = 1; value <= 200; value++) {
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+    }
+
+    @Test
+    void forEachVisitsEveryValueOnce() {
+        LongHashSet set = new LongHashSet();
+        set.add(3);
+        set.add(1);
+        set.add(2);
+        Set<Long> visited = new HashSet<>();
+
+        set.forEach(value -> assertThat(visited.add(value)).isTrue());
+
+        assertThat(visited).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(set.isEmpty()).isFalse();
+    }
+}
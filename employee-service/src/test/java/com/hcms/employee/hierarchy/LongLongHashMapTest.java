@@ -0,0 +1,70 @@
+package com.hcms.employee.hierarchy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongHashMapTest {
+
+    private static final long ABSENT = -1;
+
+    @Test
+    void putReturnsThePreviousValue() {
+        LongLongHashMap map = new LongLongHashMap(0);
+
+        assertThat(map.put(10, 0, ABSENT)).isEqualTo(ABSENT);
+        assertThat(map.put(10, 20, ABSENT)).isEqualTo(0L);
+        assertThat(map.get(10, ABSENT)).isEqualTo(20L);
+        assertThat(map.get(11, ABSENT)).isEqualTo(ABSENT);
+        assertThat(map.containsKey(10)).isTrue();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeReturnsTheRemovedValue() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(1, 100, ABSENT);
+
+        assertThat(map.remove(1, ABSENT)).isEqualTo(100L);
+        assertThat(map.remove(1, ABSENT)).isEqualTo(ABSENT);
+        assertThat(map.containsKey(1)).isFalse();
+        assertThat(map.size()).isEqualTo(0);
+    }
+
+    @Test
+    void onlyStoresPositiveKeys() {
+        LongLongHashMap map = new LongLongHashMap(0);
+
+        assertThatThrownBy(() -> map.put(0, 1, ABSENT)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(-5, ABSENT)).isEqualTo(ABSENT);
+        assertThat(map.remove(0, ABSENT)).isEqualTo(ABSENT);
+    }
+
+    @Test
+    void matchesHashMapUnderRandomUpdates() {
+        LongLongHashMap map = new LongLongHashMap(0);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            long key = 1 + random.nextInt(300);
+            if (random.nextInt(3) > 0) {
+                long value = random.nextInt(1000);
+                assertThat(map.put(key, value, ABSENT)).isEqualTo(expected.getOrDefault(key, ABSENT));
+                expected.put(key, value);
+            } else {
+                Long removed = expected.remove(key);
+                assertThat(map.remove(key, ABSENT)).isEqualTo(removed != null ? removed : ABSENT);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,165 @@
+package com.hcms.employee.hierarchy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OrgChartIndexTest {
+
+    private OrgChartIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OrgChartIndex(mock(ReportingLineIndex.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void answersFromTheBuiltChart() {
+        // 1 -> 2 -> {3, 4}, 4 -> 5
+        index.rebuilt(managers(1, 0, 2, 1, 3, 2, 4, 2, 5, 4));
+
+        assertThat(index.getManagementChain(5)).containsExactly(4L, 2L, 1L);
+        assertThat(index.getSubordinates(2)).containsExactly(3L, 4L, 5L);
+        assertThat(index.isInSubtree(1, 5)).isTrue();
+        assertThat(index.isInSubtree(3, 5)).isFalse();
+        assertThat(index.getPosition(2)).isEqualTo(new OrgChartIndex.Position(2, 1L, 1, 2, 3));
+        assertThat(index.getSubordinates(99)).isNull();
+    }
+
+    @Test
+    void movedEmployeeLeavesTheOldTeam() {
+        index.rebuilt(managers(1, 0, 2, 1, 3, 1, 4, 2));
+
+        index.managerChanged(4, 3);
+
+        assertThat(index.getSubordinates(2)).isEmpty();
+        assertThat(index.getSubordinates(3)).containsExactly(4L);
+        assertThat(index.getManagementChain(4)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void removedManagersReportsHaveNoManager() {
+        index.rebuilt(managers(1, 0, 2, 1, 3, 2));
+
+        index.removed(2);
+
+        assertThat(index.getPosition(2)).isNull();
+        assertThat(index.getManagementChain(3)).isEmpty();
+        assertThat(index.getSubordinates(1)).isEmpty();
+    }
+
+    @Test
+    void reportArrivingBeforeTheirManagerIsLinkedLater() {
+        index.rebuilt(managers(1, 0));
+
+        index.managerChanged(5, 4);
+        assertThat(index.getManagementChain(5)).isEmpty();
+
+        index.managerChanged(4, 1);
+        assertThat(index.getManagementChain(5)).containsExactly(4L, 1L);
+        assertThat(index.getSubordinates(1)).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void buildKeepsReportsWaitingForAMissingManager() {
+        index.rebuilt(managers(1, 0, 3, 2));
+
+        index.managerChanged(2, 1);
+
+        assertThat(index.getManagementChain(3)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void reportsOfARemovedManagerRejoinWhenTheyReturn() {
+        index.rebuilt(managers(1, 0, 2, 1, 3, 2));
+
+        index.removed(2);
+        index.managerChanged(2, 1);
+
+        assertThat(index.getSubordinates(2)).containsExactly(3L);
+    }
+
+    @Test
+    void walksStopOnExistingLoops() {
+        index.rebuilt(managers(1, 2, 2, 1, 3, 1));
+
+        assertThat(index.getManagementChain(1)).containsExactly(2L);
+        assertThat(index.getSubordinates(1)).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void staysConsistentAcrossOverlayRebuilds() {
+        int employees = 3000;
+        Map<Long, Long> expected = new HashMap<>();
+        LongLongHashMap initial = new LongLongHashMap(employees);
+        Random random = new Random(11);
+        for (long id = 1; id <= employees; id++) {
+            // Managers always have a lower id, so the chart stays a forest
+            long manager = id == 1 ? 0 : 1 + random.nextInt((int) id - 1);
+            expected.put(id, manager);
+            initial.put(id, manager, -1);
+        }
+        index.rebuilt(initial);
+
+        // Enough moves to go past the overlay limit more than once
+        for (int i = 0; i < 5000; i++) {
+            long id = 2 + random.nextInt(employees - 1);
+            long manager = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt((int) id - 1);
+            expected.put(id, manager);
+            index.managerChanged(id, manager);
+        }
+
+        for (long id = 1; id <= employees; id += 37) {
+            assertThat(index.getManagementChain(id)).containsExactly(chain(expected, id));
+            assertThat(toSet(index.getSubordinates(id))).isEqualTo(subtree(expected, id));
+        }
+    }
+
+    private static LongLongHashMap managers(long... pairs) {
+        LongLongHashMap managers = new LongLongHashMap(pairs.length / 2);
+        for (int i = 0; i < pairs.length; i += 2) {
+            managers.put(pairs[i], pairs[i + 1], -1);
+        }
+        return managers;
+    }
+
+    private static long[] chain(Map<Long, Long> managers, long id) {
+        List<Long> chain = new ArrayList<>();
+        for (long manager = managers.get(id); manager != 0; manager = managers.get(manager)) {
+            chain.add(manager);
+        }
+        return chain.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Set<Long> subtree(Map<Long, Long> managers, long root) {
+        Set<Long> below = new HashSet<>();
+        for (long id : managers.keySet()) {
+            for (long manager = managers.get(id); manager != 0; manager = managers.get(manager)) {
+                if (manager == root) {
+                    below.add(id);
+                    break;
+                }
+            }
+        }
+        return below;
+    }
+
+    private static Set<Long> toSet(long[] values) {
+        Set<Long> set = new HashSet<>();
+        for (long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+}
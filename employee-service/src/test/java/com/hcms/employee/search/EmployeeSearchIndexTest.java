@@ -0,0 +1,92 @@
+package com.hcms.employee.search;
+
+import com.hcms.employee.repository.EmployeeRepository;
+import com.hcms.employee.service.EmployeeChangeFollower;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeSearchIndexTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+
+    @Test
+    void exactMatchesRankAboveWordsThatStartWithTheToken() {
+        EmployeeSearchIndex index = built(
+                new SearchDocument(1L, "EMP001", "Johnny", "Walker", "jwalker@hcms.com"),
+                new SearchDocument(2L, "EMP002", "Mary", "Johnson", "mjohnson@hcms.com"),
+                new SearchDocument(3L, "EMP003", "John", "Smith", "jsmith@hcms.com"),
+                new SearchDocument(4L, "EMP004", "Jon", "Snow", "jsnow@hcms.com"));
+
+        EmployeeSearchIndex.SearchResult result = index.search("john", 0, 10);
+
+        // Ties are broken by id
+        assertThat(result.ids()).containsExactly(3L, 1L, 2L);
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        EmployeeSearchIndex index = built(
+                new SearchDocument(1L, "EMP001", "John", "Smith", "jsmith@hcms.com"),
+                new SearchDocument(2L, "EMP002", "John", "Walker", "jwalker@hcms.com"));
+
+        assertThat(index.search("john walker", 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void oneTypoIsForgivenWhenNothingMatchesExactly() {
+        EmployeeSearchIndex index = built(
+                new SearchDocument(1L, "EMP001", "John", "Smith", "jsmith@hcms.com"),
+                new SearchDocument(2L, "EMP002", "Mary", "Jones", "mjones@hcms.com"));
+
+        assertThat(index.search("smiht", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("smxyz", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void deletedEmployeeLeavesTheIndex() {
+        EmployeeSearchIndex index = built(
+                new SearchDocument(1L, "EMP001", "John", "Smith", "jsmith@hcms.com"),
+                new SearchDocument(2L, "EMP002", "John", "Walker", "jwalker@hcms.com"));
+        // The change feed names the employee; the row is gone
+        when(employeeRepository.findSearchDocumentsByIdIn(anyCollection())).thenReturn(List.of());
+
+        index.employeesChanged(List.of(1L));
+
+        EmployeeSearchIndex.SearchResult result = index.search("john", 0, 10);
+        assertThat(result.ids()).containsExactly(2L);
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesShareTheTotal() {
+        EmployeeSearchIndex index = built(LongStream.rangeClosed(1, 25)
+                .mapToObj(id -> new SearchDocument(id, "EMP" + id, "Alex", "Member" + id, "alex" + id + "@hcms.com"))
+                .toArray(SearchDocument[]::new));
+
+        EmployeeSearchIndex.SearchResult second = index.search("alex", 10, 10);
+        EmployeeSearchIndex.SearchResult last = index.search("alex", 20, 10);
+
+        assertThat(second.ids()).containsExactly(11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L);
+        assertThat(second.total()).isEqualTo(25);
+        assertThat(last.ids()).containsExactly(21L, 22L, 23L, 24L, 25L);
+        assertThat(last.total()).isEqualTo(25);
+    }
+
+    private EmployeeSearchIndex built(SearchDocument... documents) {
+        when(employeeRepository.findSearchDocumentsAfter(any(), any())).thenReturn(List.of(documents));
+        EmployeeSearchIndex index = new EmployeeSearchIndex(employeeRepository, mock(EmployeeChangeFollower.class),
+                1000, 2, new SimpleMeterRegistry());
+        index.build();
+        return index;
+    }
+}
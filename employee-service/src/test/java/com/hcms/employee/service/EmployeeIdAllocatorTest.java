@@ -0,0 +1,173 @@
+package com.hcms.employee.service;
+
+import com.hcms.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeIdAllocatorTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final SequenceTable sequences = new SequenceTable();
+
+    @Test
+    void handsOutABlockBeforeReservingTheNext() {
+        sequences.rows.put(EmployeeIdAllocator.SEQUENCE, 10L);
+        EmployeeIdAllocator allocator = allocator(3);
+
+        assertThat(nextIds(allocator, 4)).containsExactly("EMP010", "EMP011", "EMP012", "EMP013");
+        assertThat(sequences.reservations).isEqualTo(2);
+        assertThat(sequences.rows.get(EmployeeIdAllocator.SEQUENCE)).isEqualTo(16L);
+    }
+
+    @Test
+    void nodesReserveDisjointBlocks() {
+        sequences.rows.put(EmployeeIdAllocator.SEQUENCE, 1L);
+        EmployeeIdAllocator first = allocator(5);
+        EmployeeIdAllocator second = allocator(5);
+
+        List<String> ids = new ArrayList<>();
+        ids.addAll(nextIds(first, 3));
+        ids.addAll(nextIds(second, 3));
+        ids.addAll(nextIds(first, 3));
+
+        assertThat(ids).containsExactly(
+                "EMP001", "EMP002", "EMP003", "EMP006", "EMP007", "EMP008", "EMP004", "EMP005", "EMP011");
+    }
+
+    @Test
+    void bulkRequestsReserveWhatTheBlockCannotCover() {
+        sequences.rows.put(EmployeeIdAllocator.SEQUENCE, 1L);
+        EmployeeIdAllocator allocator = allocator(5);
+        allocator.nextEmployeeId();
+
+        List<String> ids = allocator.nextEmployeeIds(20);
+
+        assertThat(ids).hasSize(20);
+        assertThat(ids.get(0)).isEqualTo("EMP002");
+        assertThat(ids.get(19)).isEqualTo("EMP021");
+        // The four left in the first block, then one block for the other sixteen
+        assertThat(sequences.reservations).isEqualTo(2);
+        assertThat(sequences.rows.get(EmployeeIdAllocator.SEQUENCE)).isEqualTo(22L);
+    }
+
+    @Test
+    void firstUseContinuesAfterTheHighestExistingNumber() {
+        when(employeeRepository.findMaxEmployeeNumber()).thenReturn(41);
+
+        assertThat(allocator(50).nextEmployeeId()).isEqualTo("EMP042");
+        assertThat(sequences.rows.get(EmployeeIdAllocator.SEQUENCE)).isEqualTo(92L);
+    }
+
+    @Test
+    void firstUseWithoutEmployeesStartsAtOne() {
+        when(employeeRepository.findMaxEmployeeNumber()).thenReturn(null);
+
+        assertThat(allocator(50).nextEmployeeId()).isEqualTo("EMP001");
+    }
+
+    @Test
+    void seedFromAnotherNodeWins() {
+        when(employeeRepository.findMaxEmployeeNumber()).thenReturn(41);
+        // Another node seeds and reserves between our failed reservation and our seed
+        sequences.beforeSeed = () -> sequences.rows.put(EmployeeIdAllocator.SEQUENCE, 92L);
+
+        assertThat(allocator(50).nextEmployeeId()).isEqualTo("EMP092");
+    }
+
+    private EmployeeIdAllocator allocator(int blockSize) {
+        return new EmployeeIdAllocator(sequences, employeeRepository, blockSize);
+    }
+
+    private static List<String> nextIds(EmployeeIdAllocator allocator, int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(allocator.nextEmployeeId());
+        }
+        return ids;
+    }
+
+    /**
+     * The employee_id_sequences table, answering the allocator's statements
+     * the way MySQL would, including LAST_INSERT_ID(expr).
+     */
+    private static final class SequenceTable extends JdbcTemplate {
+
+        private final Map<String, Long> rows = new HashMap<>();
+        private Runnable beforeSeed = () -> {
+        };
+        private int reservations;
+        private long lastInsertId;
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (!sql.startsWith("INSERT IGNORE")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            beforeSeed.run();
+            return rows.putIfAbsent((String) args[0], (Long) args[1]) == null ? 1 : 0;
+        }
+
+        @Override
+        public <T> T execute(ConnectionCallback<T> action) {
+            try {
+                return action.doInConnection(proxy(Connection.class, (method, args) ->
+                        method.equals("prepareStatement") ? statement((String) args[0]) : null));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private PreparedStatement statement(String sql) {
+            Object[] params = new Object[3];
+            return proxy(PreparedStatement.class, (method, args) -> switch (method) {
+                case "setInt", "setString" -> params[(Integer) args[0]] = args[1];
+                case "executeUpdate" -> reserve(sql, (String) params[2], (Integer) params[1]);
+                case "executeQuery" -> proxy(ResultSet.class, (resultMethod, resultArgs) -> switch (resultMethod) {
+                    case "next" -> true;
+                    case "getLong" -> lastInsertId;
+                    default -> null;
+                });
+                default -> null;
+            });
+        }
+
+        private int reserve(String sql, String name, int size) {
+            if (!sql.startsWith("UPDATE")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            Long value = rows.get(name);
+            if (value == null) {
+                return 0;
+            }
+            lastInsertId = value + size;
+            rows.put(name, lastInsertId);
+            reservations++;
+            return 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, JdbcCall call) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> call.invoke(method.getName(), args));
+        }
+
+        private interface JdbcCall {
+            Object invoke(String method, Object[] args);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.hcms.employee.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hcms.employee.dto.EmployeeImportError;
+import com.hcms.employee.dto.EmployeeImportResponse;
+import com.hcms.employee.entity.Employee;
+import com.hcms.employee.repository.EmployeeBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeImportServiceTest {
+
+    private final EmployeeBatchRepository employeeBatchRepository = mock(EmployeeBatchRepository.class);
+    private final EmployeeIdAllocator employeeIdAllocator = mock(EmployeeIdAllocator.class);
+    private EmployeeImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger nextNumber = new AtomicInteger(1);
+        when(employeeIdAllocator.nextEmployeeIds(anyInt())).thenAnswer(invocation ->
+                IntStream.range(0, invocation.<Integer>getArgument(0))
+                        .mapToObj(i -> EmployeeIdAllocator.format(nextNumber.getAndIncrement()))
+                        .toList());
+        importService = new EmployeeImportService(employeeBatchRepository, employeeIdAllocator,
+                new ObjectMapper().findAndRegisterModules(), mock(Validator.class),
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void rowThatLostAnEmailRaceFailsOnItsOwn() throws IOException {
+        // taken@hcms.com was created by someone else after the chunk's email lookup
+        failInsertsOf("taken@hcms.com",
+                new DuplicateKeyException("Duplicate entry 'taken@hcms.com' for key 'employees.email'"));
+
+        EmployeeImportResponse response = importService.importEmployees(
+                jsonLines("first@hcms.com", "taken@hcms.com", "third@hcms.com"),
+                EmployeeImportService.Format.JSON_LINES);
+
+        assertThat(response.getImportedCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        assertThat(response.getErrors())
+                .containsExactly(new EmployeeImportError(2, "taken@hcms.com", "Email already exists"));
+        // The failed batch, then one insert per row
+        verify(employeeBatchRepository, times(4)).insertEmployees(anyList());
+        verify(employeeBatchRepository).recordCreated(List.of("EMP001"));
+        verify(employeeBatchRepository).recordCreated(List.of("EMP003"));
+    }
+
+    @Test
+    void rowFailingOnAnotherKeyReportsTheCause() throws IOException {
+        failInsertsOf("second@hcms.com",
+                new DuplicateKeyException("Duplicate entry 'EMP002' for key 'employees.employee_id'"));
+
+        EmployeeImportResponse response = importService.importEmployees(
+                jsonLines("first@hcms.com", "second@hcms.com"),
+                EmployeeImportService.Format.JSON_LINES);
+
+        assertThat(response.getImportedCount()).isEqualTo(1);
+        assertThat(response.getErrors()).containsExactly(new EmployeeImportError(2, "second@hcms.com",
+                "Insert failed: Duplicate entry 'EMP002' for key 'employees.employee_id'"));
+    }
+
+    private void failInsertsOf(String email, RuntimeException failure) {
+        doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.stream().anyMatch(employee -> email.equals(employee.getEmail()))) {
+                throw failure;
+            }
+            return null;
+        }).when(employeeBatchRepository).insertEmployees(anyList());
+    }
+
+    private static InputStream jsonLines(String... emails) {
+        String body = Stream.of(emails)
+                .map(email -> "{\"firstName\":\"Test\",\"lastName\":\"User\",\"email\":\"" + email + "\"}")
+                .collect(Collectors.joining("\n"));
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,151 @@
+package com.hcms.common.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent lookups by id into a single batch call. Lookups
+ * arriving within the batch window share one round trip; a batch is sent
+ * early once it reaches the maximum size.
+ *
+ * @param <T> what the batch call returns per id
+ */
+@Slf4j
+public class BatchingLookup<T> {
+
+    private final String name;
+    private final Function<List<Long>, List<T>> batchCall;
+    private final Function<T, Long> idOf;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService dispatcher = Executors.newFixedThreadPool(4);
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<T>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder batchCalls = new LongAdder();
+
+    /**
+     * @param name      what is looked up, e.g. {@code employee}; prefixes the
+     *                  {@code <name>.client.lookups} and {@code <name>.client.batch.calls} counters
+     * @param batchCall returns the results found for a list of ids, in any order
+     * @param idOf      the id of a result
+     */
+    public BatchingLookup(String name,
+                          Function<List<Long>, List<T>> batchCall,
+                          Function<T, Long> idOf,
+                          long windowMillis,
+                          int maxBatchSize,
+                          long timeoutMillis,
+                          MeterRegistry meterRegistry) {
+        this.name = name;
+        this.batchCall = batchCall;
+        this.idOf = idOf;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+
+        FunctionCounter.builder(name + ".client.lookups", lookups, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder(name + ".client.batch.calls", batchCalls, LongAdder::sum).register(meterRegistry);
+    }
+
+    /**
+     * Returns the result for the id, or {@code null} if the batch call found none.
+     * Errors from the batch call (e.g. {@code FeignException}) are rethrown as-is.
+     */
+    public T get(Long id) {
+        lookups.increment();
+
+        CompletableFuture<T> future;
+        Map<Long, CompletableFuture<T>> fullBatch = null;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(id, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = pending;
+                pending = new HashMap<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            Map<Long, CompletableFuture<T>> batch = fullBatch;
+            dispatcher.execute(() -> dispatch(batch));
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Lookup of " + name + " " + id + " failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Lookup of " + name + " " + id + " timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lookup of " + name + " " + id + " interrupted", e);
+        }
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<T>> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        dispatcher.execute(() -> dispatch(batch));
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<T>> batch) {
+        batchCalls.increment();
+        try {
+            Map<Long, T> byId = new HashMap<>();
+            for (T found : batchCall.apply(new ArrayList<>(batch.keySet()))) {
+                byId.put(idOf.apply(found), found);
+            }
+            batch.forEach((id, future) -> future.complete(byId.get(id)));
+        } catch (RuntimeException e) {
+            log.error("Batch {} lookup of {} ids failed: {}", name, batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    public long getBatchCallCount() {
+        return batchCalls.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dispatcher.shutdown();
+    }
+}
@@ -0,0 +1,66 @@
+package com.hcms.common.util;
+
+import com.hcms.common.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token wraps the id of
+ * the last row returned, so the next query seeks past it by index instead
+ * of skipping rows with OFFSET, and no COUNT query is needed.
+ */
+public final class CursorCodec {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final String PREFIX = "k1:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the id carried by the token, or {@code start} for an empty token (first page).
+     *
+     * @throws InvalidCursorException if the token was not issued by {@link #encode(long)}
+     */
+    public static long decode(String cursor, long start) {
+        if (cursor == null || cursor.isBlank()) {
+            return start;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (!value.startsWith(PREFIX)) {
+                throw new InvalidCursorException();
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra
+     * row only signals that more rows follow.
+     */
+    public static <E, T> CursorPage<T> page(List<E> rows, int size, Function<E, Long> idOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> slice = hasMore ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(slice.stream().map(mapper).toList())
+                .size(slice.size())
+                .nextCursor(hasMore ? encode(idOf.apply(slice.get(slice.size() - 1))) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+}
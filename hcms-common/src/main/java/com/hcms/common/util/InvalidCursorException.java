@@ -0,0 +1,12 @@
+package com.hcms.common.util;
+
+/**
+ * Thrown by {@link CursorCodec} for a cursor it did not issue. Services map it
+ * to 400 Bad Request.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException() {
+        super("Invalid cursor");
+    }
+}
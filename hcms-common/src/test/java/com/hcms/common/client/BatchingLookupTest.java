@@ -0,0 +1,128 @@
+package com.hcms.common.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingLookupTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+    private BatchingLookup<Item> lookup;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        lookup.shutdown();
+    }
+
+    @Test
+    void concurrentLookupsShareOneCall() throws Exception {
+        lookup = lookup(200, 100, 3000, ids -> ids.stream().filter(id -> id != 4L).map(Item::new).toList());
+
+        List<Future<Item>> lookups = lookUpConcurrently(1L, 2L, 3L, 4L, 5L);
+
+        for (int i = 0; i < lookups.size(); i++) {
+            Item found = lookups.get(i).get(5, TimeUnit.SECONDS);
+            if (i == 3) {
+                assertThat(found).isNull();
+            } else {
+                assertThat(found.id()).isEqualTo(i + 1L);
+            }
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(lookup.getLookupCount()).isEqualTo(5);
+        assertThat(lookup.getBatchCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        // A window longer than the timeout: only the size limit can send the batch in time
+        lookup = lookup(10_000, 2, 3000, ids -> ids.stream().map(Item::new).toList());
+
+        List<Future<Item>> lookups = lookUpConcurrently(1L, 2L);
+
+        assertThat(lookups.get(0).get(5, TimeUnit.SECONDS).id()).isEqualTo(1L);
+        assertThat(lookups.get(1).get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+    }
+
+    @Test
+    void lookupTimesOutWhenTheBatchCallHangs() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        lookup = lookup(5, 100, 100, ids -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        });
+
+        try {
+            assertThatThrownBy(() -> lookup.get(1L))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Lookup of item 1 timed out");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failedBatchCallFailsEveryLookupInIt() throws Exception {
+        IllegalStateException failure = new IllegalStateException("item-service unavailable");
+        lookup = lookup(200, 100, 3000, ids -> {
+            throw failure;
+        });
+
+        List<Future<Item>> lookups = lookUpConcurrently(1L, 2L, 3L);
+
+        for (Future<Item> pending : lookups) {
+            assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(failure);
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    private BatchingLookup<Item> lookup(long windowMillis, int maxBatchSize, long timeoutMillis,
+                                        Function<List<Long>, List<Item>> batchCall) {
+        return new BatchingLookup<>("item", ids -> {
+            calls.incrementAndGet();
+            return batchCall.apply(ids);
+        }, Item::id, windowMillis, maxBatchSize, timeoutMillis, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Starts one lookup per id on its own thread, all released at once so they
+     * land in the same batch window.
+     */
+    private List<Future<Item>> lookUpConcurrently(Long... ids) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Item>> lookups = new ArrayList<>();
+        for (Long id : ids) {
+            lookups.add(callers.submit(() -> {
+                start.await();
+                return lookup.get(id);
+            }));
+        }
+        start.countDown();
+        return lookups;
+    }
+
+    private record Item(Long id) {
+    }
+}
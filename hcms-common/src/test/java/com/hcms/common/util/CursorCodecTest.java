@@ -0,0 +1,73 @@
+package com.hcms.common.util;
+
+import com.hcms.common.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        for (long id : new long[]{0, 1, 42, Long.MAX_VALUE}) {
+            assertThat(CursorCodec.decode(CursorCodec.encode(id), -1)).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        assertThat(CursorCodec.encode(Long.MAX_VALUE)).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void emptyCursorStartsAtTheGivenId() {
+        assertThat(CursorCodec.decode(null, 7)).isEqualTo(7);
+        assertThat(CursorCodec.decode("", 7)).isEqualTo(7);
+        assertThat(CursorCodec.decode("  ", 7)).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String wrongPrefix = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("k2:5".getBytes(StandardCharsets.US_ASCII));
+        String notANumber = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("k1:abc".getBytes(StandardCharsets.US_ASCII));
+        for (String cursor : List.of("not base64!", wrongPrefix, notANumber)) {
+            assertThatThrownBy(() -> CursorCodec.decode(cursor, 0))
+                    .isInstanceOf(InvalidCursorException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(CursorCodec.pageSize(0)).isEqualTo(1);
+        assertThat(CursorCodec.pageSize(50)).isEqualTo(50);
+        assertThat(CursorCodec.pageSize(CursorCodec.MAX_PAGE_SIZE + 1)).isEqualTo(CursorCodec.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void extraRowSignalsMoreAndIsDropped() {
+        CursorPage<String> page = CursorCodec.page(List.of(10L, 20L, 30L), 2, Function.identity(), String::valueOf);
+
+        assertThat(page.getContent()).containsExactly("10", "20");
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(CursorCodec.decode(page.getNextCursor(), 0)).isEqualTo(20L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<String> page = CursorCodec.page(List.of(10L, 20L), 2, Function.identity(), String::valueOf);
+
+        assertThat(page.getContent()).containsExactly("10", "20");
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+}
@@ -1,5 +1,6 @@
 package com.hcms.leave.controller;
 
+import com.hcms.common.dto.CursorPage;
 import com.hcms.leave.dto.LeaveApprovalRequest;
 import com.hcms.leave.dto.LeaveBalanceResponse;
 import com.hcms.leave.dto.LeaveRequest;
@@ -13,10 +14,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -65,6 +68,28 @@ public class LeaveController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset variant, selected by the {@code cursor} parameter (empty for the first
+     * page). Seeks past the last id instead of using OFFSET and skips the count query.
+     */
+    @GetMapping(value = "/pending", params = "cursor")
+    public ResponseEntity<CursorPage<LeaveResponse>> getPendingLeavesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        SecurityUtil.checkManagerAccess();
+        return ResponseEntity.ok(leaveService.getPendingLeaves(cursor, size));
+    }
+
+    /**
+     * Employees on approved leave on the given date. Used by attendance-service's absentee job.
+     */
+    @GetMapping("/on-leave")
+    public ResponseEntity<List<Long>> getEmployeeIdsOnLeave(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        SecurityUtil.checkInternalAccess();
+        return ResponseEntity.ok(leaveService.getEmployeeIdsOnLeave(date));
+    }
+
     @PostMapping("/{id}/approve")
     public ResponseEntity<LeaveResponse> approveLeave(
             @PathVariable Long id,
@@ -1,5 +1,6 @@
 package com.hcms.leave.exception;
 
+import com.hcms.common.util.InvalidCursorException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -30,9 +31,9 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
-    @ExceptionHandler(BadRequestException.class)
+    @ExceptionHandler({BadRequestException.class, InvalidCursorException.class})
     public ResponseEntity<ErrorResponse> handleBadRequestException(
-            BadRequestException ex, HttpServletRequest request) {
+            RuntimeException ex, HttpServletRequest request) {
         log.error("Bad request: {}", ex.getMessage());
         ErrorResponse error = ErrorResponse.builder()
                 .message(ex.getMessage())
@@ -17,6 +17,7 @@ import java.util.List;
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
     Page<Leave> findByEmployeeId(Long employeeId, Pageable pageable);
     Page<Leave> findByStatus(LeaveStatus status, Pageable pageable);
+    List<Leave> findByStatusAndIdGreaterThanOrderByIdAsc(LeaveStatus status, Long afterId, Pageable pageable);
     Page<Leave> findByApprovedBy(Long approvedBy, Pageable pageable);
     
     @Query("SELECT l FROM Leave l WHERE l.employeeId = :employeeId AND " +
@@ -27,6 +28,11 @@ public interface LeaveRepository extends JpaRepository<Leave, Long> {
                                       @Param("endDate") LocalDate endDate,
                                       @Param("status") LeaveStatus status);
     
+    @Query("SELECT DISTINCT l.employeeId FROM Leave l WHERE l.status = :status AND " +
+           "l.startDate <= :date AND l.endDate >= :date")
+    List<Long> findEmployeeIdsOnLeave(@Param("date") LocalDate date,
+                                      @Param("status") LeaveStatus status);
+
     @Query("SELECT l FROM Leave l WHERE l.employeeId = :employeeId AND " +
            "l.leaveType = :leaveType AND l.status = 'APPROVED'")
     List<Leave> findApprovedLeavesByType(@Param("employeeId") Long employeeId,
@@ -1,6 +1,8 @@
 package com.hcms.leave.service;
 
-import com.hcms.leave.client.EmployeeServiceClient;
+import com.hcms.common.dto.CursorPage;
+import com.hcms.common.util.CursorCodec;
+import com.hcms.leave.client.EmployeeSummaryCache;
 import com.hcms.leave.client.NotificationServiceClient;
 import com.hcms.leave.client.dto.NotificationRequest;
 import com.hcms.leave.dto.LeaveApprovalRequest;
@@ -18,6 +20,7 @@ import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +37,7 @@ public class LeaveService {
 
     private final LeaveRepository leaveRepository;
     private final LeaveBalanceRepository leaveBalanceRepository;
-    private final EmployeeServiceClient employeeServiceClient;
+    private final EmployeeSummaryCache employeeSummaryCache;
     private final NotificationServiceClient notificationServiceClient;
 
     @Transactional
@@ -42,14 +45,16 @@ public class LeaveService {
         log.info("Applying leave for employee: {}", request.getEmployeeId());
 
         // Validate employee exists
+        boolean exists;
         try {
-            employeeServiceClient.getEmployeeById(request.getEmployeeId());
-        } catch (FeignException.NotFound e) {
-            throw new BadRequestException("Employee not found with id: " + request.getEmployeeId());
-        } catch (FeignException e) {
+            exists = employeeSummaryCache.exists(request.getEmployeeId());
+        } catch (FeignException | IllegalStateException e) {
             log.error("Error calling employee service: {}", e.getMessage());
             throw new BadRequestException("Unable to validate employee");
         }
+        if (!exists) {
+            throw new BadRequestException("Employee not found with id: " + request.getEmployeeId());
+        }
 
         if (request.getStartDate().isAfter(request.getEndDate())) {
             throw new BadRequestException("Start date cannot be after end date");
@@ -180,6 +185,21 @@ public class LeaveService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Ids of employees with approved leave covering the given date.
+     */
+    public List<Long> getEmployeeIdsOnLeave(LocalDate date) {
+        return leaveRepository.findEmployeeIdsOnLeave(date, LeaveStatus.APPROVED);
+    }
+
+    public CursorPage<LeaveResponse> getPendingLeaves(String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor, 0);
+        int pageSize = CursorCodec.pageSize(size);
+        List<Leave> rows = leaveRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                LeaveStatus.PENDING, afterId, PageRequest.of(0, pageSize + 1));
+        return CursorCodec.page(rows, pageSize, Leave::getId, this::mapToResponse);
+    }
+
     public Page<LeaveResponse> getLeavesByApprover(Long approverId, Pageable pageable) {
         return leaveRepository.findByApprovedBy(approverId, pageable)
                 .map(this::mapToResponse);
@@ -236,8 +256,9 @@ public class LeaveService {
     private void sendLeaveNotification(Leave leave, String notificationType, String message) {
         try {
             // Get employee details to find manager
-            var employee = employeeServiceClient.getEmployeeById(leave.getEmployeeId());
-            Long recipientId = employee.getManagerId() != null ? employee.getManagerId() : leave.getEmployeeId();
+            var employee = employeeSummaryCache.getEmployee(leave.getEmployeeId());
+            Long recipientId = employee != null && employee.getManagerId() != null
+                    ? employee.getManagerId() : leave.getEmployeeId();
 
             NotificationRequest notificationRequest = NotificationRequest.builder()
                     .recipientId(recipientId)
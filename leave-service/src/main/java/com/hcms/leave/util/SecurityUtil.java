@@ -3,16 +3,30 @@ package com.hcms.leave.util;
 import com.hcms.leave.exception.ForbiddenException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 @Component
 @Slf4j
 public class SecurityUtil {
 
     private static final String USER_ID_HEADER = "X-User-Id";
     private static final String USER_ROLE_HEADER = "X-User-Role";
+    private static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    private static byte[] internalToken;
+
+    public SecurityUtil(@Value("${internal.token}") String internalToken) {
+        if (internalToken.isBlank()) {
+            throw new IllegalStateException("internal.token must not be blank");
+        }
+        SecurityUtil.internalToken = internalToken.getBytes(StandardCharsets.UTF_8);
+    }
 
     public static Long getCurrentUserId() {
         HttpServletRequest request = getRequest();
@@ -50,6 +64,18 @@ public class SecurityUtil {
         }
     }
 
+    /**
+     * For endpoints only other services call, often from background jobs with
+     * no user headers. They send the shared {@code internal.token} as
+     * X-Internal-Token; the gateway never forwards that header from clients.
+     */
+    public static void checkInternalAccess() {
+        String token = getRequest().getHeader(INTERNAL_TOKEN_HEADER);
+        if (token == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), internalToken)) {
+            throw new ForbiddenException("Access denied. Internal endpoint.");
+        }
+    }
+
     public static void checkLeaveAccess(Long employeeId) {
         Long currentUserId = getCurrentUserId();
         String role = getCurrentUserRole();
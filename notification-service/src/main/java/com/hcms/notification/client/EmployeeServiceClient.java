@@ -0,0 +1,18 @@
+package com.hcms.notification.client;
+
+import com.hcms.notification.client.dto.EmployeeSummaryResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@FeignClient(name = "employee-service", path = "/api/employees")
+public interface EmployeeServiceClient {
+
+    @GetMapping("/summaries")
+    List<EmployeeSummaryResponse> getEmployeeSummaries(@RequestParam("afterId") long afterId,
+                                                       @RequestParam("size") int size,
+                                                       @RequestParam(value = "departmentId", required = false) Long departmentId,
+                                                       @RequestParam(value = "managerId", required = false) Long managerId);
+}
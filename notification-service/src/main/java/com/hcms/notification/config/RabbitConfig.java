@@ -0,0 +1,46 @@
+package com.hcms.notification.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "notification.dispatch.broker", havingValue = "rabbit", matchIfMissing = true)
+public class RabbitConfig {
+
+    @Bean
+    public Queue notificationDispatchQueue(
+            @Value("${notification.dispatch.queue:notification.dispatch}") String queueName) {
+        return new Queue(queueName, true);
+    }
+
+    @Bean
+    public FanoutExchange notificationFanoutExchange(
+            @Value("${notification.fanout.exchange:notification.fanout}") String exchangeName) {
+        return new FanoutExchange(exchangeName);
+    }
+
+    // One exclusive, auto-delete queue per instance, so every instance gets every fanout message
+    @Bean
+    public Queue notificationFanoutQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding notificationFanoutBinding(FanoutExchange notificationFanoutExchange, Queue notificationFanoutQueue) {
+        return BindingBuilder.bind(notificationFanoutQueue).to(notificationFanoutExchange);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
@@ -0,0 +1,44 @@
+package com.hcms.notification.controller;
+
+import com.hcms.notification.dto.BroadcastRequest;
+import com.hcms.notification.dto.BroadcastResponse;
+import com.hcms.notification.entity.BroadcastTarget;
+import com.hcms.notification.service.BroadcastService;
+import com.hcms.notification.util.SecurityUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications/broadcasts")
+@RequiredArgsConstructor
+@Slf4j
+public class BroadcastController {
+
+    private final BroadcastService broadcastService;
+
+    @PostMapping
+    public ResponseEntity<BroadcastResponse> startBroadcast(@Valid @RequestBody BroadcastRequest request) {
+        SecurityUtil.checkBroadcastAccess(request.getTargetType() == BroadcastTarget.MANAGER_TEAM, request.getTargetId());
+        log.info("Starting broadcast to {} {}", request.getTargetType(), request.getTargetId());
+        BroadcastResponse response = broadcastService.startBroadcast(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BroadcastResponse> getBroadcast(@PathVariable Long id) {
+        BroadcastResponse response = broadcastService.getBroadcast(id);
+        SecurityUtil.checkBroadcastAccess(response.getTargetType() == BroadcastTarget.MANAGER_TEAM, response.getTargetId());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<BroadcastResponse> resumeBroadcast(@PathVariable Long id) {
+        SecurityUtil.checkAdminAccess();
+        BroadcastResponse response = broadcastService.resumeBroadcast(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
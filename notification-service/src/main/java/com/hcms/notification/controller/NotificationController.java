@@ -1,8 +1,14 @@
 package com.hcms.notification.controller;
 
+import com.hcms.common.dto.CursorPage;
+import com.hcms.notification.dto.MarkAllReadResponse;
 import com.hcms.notification.dto.NotificationRequest;
 import com.hcms.notification.dto.NotificationResponse;
+import com.hcms.notification.dto.UnreadCountResponse;
 import com.hcms.notification.service.NotificationService;
+import com.hcms.notification.service.NotificationStreamService;
+import com.hcms.notification.service.UnreadCountService;
+import com.hcms.notification.util.SecurityUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +16,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -20,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
+    private final UnreadCountService unreadCountService;
 
     @PostMapping
     public ResponseEntity<NotificationResponse> createNotification(
@@ -29,6 +39,18 @@ public class NotificationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Server-sent event stream of the current user's new IN_APP notifications.
+     * Browsers reconnect automatically and send Last-Event-ID, which replays
+     * anything created while disconnected.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long recipientId = SecurityUtil.getCurrentUserId();
+        return notificationStreamService.subscribe(recipientId, lastEventId);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<NotificationResponse> getNotificationById(@PathVariable Long id) {
         NotificationResponse response = notificationService.getNotificationById(id);
@@ -45,6 +67,39 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset variant, selected by the {@code cursor} parameter (empty for the first
+     * page). Seeks past the last id instead of using OFFSET and skips the count query.
+     */
+    @GetMapping(value = "/recipient/{recipientId}", params = "cursor")
+    public ResponseEntity<CursorPage<NotificationResponse>> getNotificationsByRecipientByCursor(
+            @PathVariable Long recipientId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        SecurityUtil.checkRecipientAccess(recipientId);
+        return ResponseEntity.ok(notificationService.getNotificationsByRecipient(recipientId, cursor, size));
+    }
+
+    /**
+     * Unread IN_APP notification count for the badge, served from memory.
+     */
+    @GetMapping("/recipient/{recipientId}/unread-count")
+    public ResponseEntity<UnreadCountResponse> getUnreadCount(@PathVariable Long recipientId) {
+        SecurityUtil.checkRecipientAccess(recipientId);
+        UnreadCountResponse response = UnreadCountResponse.builder()
+                .recipientId(recipientId)
+                .unreadCount(unreadCountService.getUnreadCount(recipientId))
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/recipient/{recipientId}/read-all")
+    public ResponseEntity<MarkAllReadResponse> markAllAsRead(@PathVariable Long recipientId) {
+        SecurityUtil.checkRecipientAccess(recipientId);
+        MarkAllReadResponse response = notificationService.markAllAsRead(recipientId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<Page<NotificationResponse>> getAllNotifications(
             @RequestParam(defaultValue = "0") int page,
@@ -0,0 +1,33 @@
+package com.hcms.notification.dto;
+
+import com.hcms.notification.entity.BroadcastStatus;
+import com.hcms.notification.entity.BroadcastTarget;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.entity.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BroadcastResponse {
+    private Long id;
+    private BroadcastTarget targetType;
+    private Long targetId;
+    private NotificationType notificationType;
+    private NotificationChannel channel;
+    private String subject;
+    private BroadcastStatus status;
+    private Integer resolvedCount;
+    private Integer createdCount;
+    private Long durationMillis;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package com.hcms.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarkAllReadResponse {
+    private Long recipientId;
+    private Integer markedCount;
+}
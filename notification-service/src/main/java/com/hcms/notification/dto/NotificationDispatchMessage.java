@@ -0,0 +1,19 @@
+package com.hcms.notification.dto;
+
+import com.hcms.notification.entity.NotificationChannel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDispatchMessage {
+    private Long notificationId;
+    private NotificationChannel channel;
+    private int attempt;
+    // Epoch millis of the first enqueue, kept across retries for latency reporting
+    private long enqueuedAt;
+}
@@ -0,0 +1,27 @@
+package com.hcms.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast to every notification-service instance so each can update the
+ * streams connected to it and its unread counts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationFanoutMessage {
+    private Type type;
+    private Long recipientId;
+    // Set for CREATED
+    private NotificationResponse notification;
+    // Set for READ: how many unread notifications were marked read
+    private int count;
+
+    public enum Type {
+        CREATED, READ
+    }
+}
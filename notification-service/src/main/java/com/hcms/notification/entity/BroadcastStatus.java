@@ -0,0 +1,8 @@
+package com.hcms.notification.entity;
+
+public enum BroadcastStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
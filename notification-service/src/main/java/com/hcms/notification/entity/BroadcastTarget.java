@@ -0,0 +1,7 @@
+package com.hcms.notification.entity;
+
+public enum BroadcastTarget {
+    ALL_EMPLOYEES,
+    DEPARTMENT,
+    MANAGER_TEAM
+}
@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at"),
+    @Index(name = "idx_notifications_recipient_id", columnList = "recipient_id, id"),
+    @Index(name = "idx_notifications_claim_token", columnList = "claim_token")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,12 +44,19 @@ public class Notification {
     @Column(name = "status", nullable = false)
     private NotificationStatus status = NotificationStatus.PENDING;
 
+    @Column(name = "broadcast_id")
+    private Long broadcastId;
+
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    // Set by the stale PENDING sweep that last claimed this notification
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
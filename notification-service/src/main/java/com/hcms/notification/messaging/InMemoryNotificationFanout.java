@@ -0,0 +1,25 @@
+package com.hcms.notification.messaging;
+
+import com.hcms.notification.dto.NotificationFanoutMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-instance stand-in used with the in-memory dispatch queue.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.dispatch.broker", havingValue = "in-memory")
+public class InMemoryNotificationFanout implements NotificationFanout {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InMemoryNotificationFanout(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(NotificationFanoutMessage message) {
+        eventPublisher.publishEvent(message);
+    }
+}
@@ -0,0 +1,65 @@
+package com.hcms.notification.messaging;
+
+import com.hcms.notification.dto.NotificationDispatchMessage;
+import com.hcms.notification.service.NotificationDispatcher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Broker stand-in for tests and local runs without RabbitMQ. Messages are lost
+ * on shutdown; the stale PENDING sweep in {@link NotificationDispatcher}
+ * re-publishes them after a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.dispatch.broker", havingValue = "in-memory")
+@Slf4j
+public class InMemoryNotificationQueue implements NotificationQueue {
+
+    private final BlockingQueue<NotificationDispatchMessage> queue = new LinkedBlockingQueue<>();
+    private final NotificationDispatcher dispatcher;
+    private Thread consumer;
+
+    public InMemoryNotificationQueue(@Lazy NotificationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @PostConstruct
+    public void start() {
+        consumer = new Thread(this::consume, "notification-queue-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void publish(NotificationDispatchMessage message) {
+        queue.add(message);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private void consume() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                dispatcher.dispatch(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Failed to hand off notification dispatch: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        consumer.interrupt();
+    }
+}
@@ -0,0 +1,13 @@
+package com.hcms.notification.messaging;
+
+import com.hcms.notification.dto.NotificationFanoutMessage;
+
+/**
+ * Delivers a message to every running instance, including this one. Each
+ * instance receives it as a local {@link NotificationFanoutMessage}
+ * application event.
+ */
+public interface NotificationFanout {
+
+    void publish(NotificationFanoutMessage message);
+}
@@ -0,0 +1,12 @@
+package com.hcms.notification.messaging;
+
+import com.hcms.notification.dto.NotificationDispatchMessage;
+
+/**
+ * Queue feeding the notification dispatcher. The notification row is the
+ * durable record; a message only asks the dispatcher to deliver it.
+ */
+public interface NotificationQueue {
+
+    void publish(NotificationDispatchMessage message);
+}
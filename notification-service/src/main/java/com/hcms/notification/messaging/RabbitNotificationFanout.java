@@ -0,0 +1,50 @@
+package com.hcms.notification.messaging;
+
+import com.hcms.notification.dto.NotificationFanoutMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes to a fanout exchange; every instance consumes from its own
+ * auto-delete queue bound to it.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.dispatch.broker", havingValue = "rabbit", matchIfMissing = true)
+@Slf4j
+public class RabbitNotificationFanout implements NotificationFanout {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String exchange;
+
+    public RabbitNotificationFanout(RabbitTemplate rabbitTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${notification.fanout.exchange:notification.fanout}") String exchange) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.eventPublisher = eventPublisher;
+        this.exchange = exchange;
+    }
+
+    @Override
+    public void publish(NotificationFanoutMessage message) {
+        try {
+            rabbitTemplate.convertAndSend(exchange, "", message);
+        } catch (AmqpException e) {
+            // Other instances miss this one, but clients connected here still get it;
+            // their cached unread counts catch up once they expire
+            log.warn("Unable to fan out {} for recipient {}: {}", message.getType(), message.getRecipientId(), e.getMessage());
+            eventPublisher.publishEvent(message);
+        }
+    }
+
+    @RabbitListener(queues = "#{notificationFanoutQueue.name}")
+    public void onMessage(NotificationFanoutMessage message) {
+        eventPublisher.publishEvent(message);
+    }
+}
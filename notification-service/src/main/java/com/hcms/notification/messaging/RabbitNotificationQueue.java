@@ -0,0 +1,65 @@
+package com.hcms.notification.messaging;
+
+import com.hcms.notification.dto.NotificationDispatchMessage;
+import com.hcms.notification.service.NotificationDispatcher;
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnProperty(name = "notification.dispatch.broker", havingValue = "rabbit", matchIfMissing = true)
+@Slf4j
+public class RabbitNotificationQueue implements NotificationQueue {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final NotificationDispatcher dispatcher;
+    private final String queueName;
+
+    public RabbitNotificationQueue(RabbitTemplate rabbitTemplate,
+                                   @Lazy NotificationDispatcher dispatcher,
+                                   @Value("${notification.dispatch.queue:notification.dispatch}") String queueName) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.dispatcher = dispatcher;
+        this.queueName = queueName;
+    }
+
+    @Override
+    public void publish(NotificationDispatchMessage message) {
+        rabbitTemplate.convertAndSend(queueName, message);
+    }
+
+    /**
+     * Acks a message only after the worker batch holding it is done, so
+     * messages waiting in the dispatcher's buffers are redelivered if this
+     * instance stops.
+     */
+    @RabbitListener(queues = "${notification.dispatch.queue:notification.dispatch}", ackMode = "MANUAL")
+    public void onMessage(NotificationDispatchMessage message, Channel channel,
+                          @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) throws IOException {
+        log.debug("Received dispatch message for notification: {}", message.getNotificationId());
+        try {
+            dispatcher.dispatch(message, () -> ack(channel, deliveryTag, message));
+        } catch (RuntimeException e) {
+            log.error("Failed to hand off notification {}, returning it to the queue: {}",
+                    message.getNotificationId(), e.getMessage());
+            channel.basicNack(deliveryTag, false, true);
+        }
+    }
+
+    private void ack(Channel channel, long deliveryTag, NotificationDispatchMessage message) {
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException e) {
+            log.error("Failed to ack dispatch of notification {}: {}", message.getNotificationId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.hcms.notification.provider;
+
+import com.hcms.notification.entity.NotificationChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the email/SMS providers. Each request costs a fixed
+ * latency plus a per-recipient cost and can be made to fail at a given rate,
+ * which is enough to compare dispatch batch sizes against throughput.
+ * Enabled with {@code notification.provider.type=fake}.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.provider.type", havingValue = "fake")
+@Slf4j
+public class FakeNotificationProvider implements NotificationProvider {
+
+    private final long requestLatencyMicros;
+    private final long perRecipientMicros;
+    private final double failureRate;
+
+    public FakeNotificationProvider(
+            @Value("${notification.provider.fake.request-latency-millis:0}") long requestLatencyMillis,
+            @Value("${notification.provider.fake.per-recipient-micros:0}") long perRecipientMicros,
+            @Value("${notification.provider.fake.failure-rate:0.0}") double failureRate) {
+        this.requestLatencyMicros = requestLatencyMillis * 1000;
+        this.perRecipientMicros = perRecipientMicros;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public void send(NotificationChannel channel, String subject, String message, List<Long> recipientIds) {
+        long latencyMicros = requestLatencyMicros + perRecipientMicros * recipientIds.size();
+        if (latencyMicros > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(latencyMicros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending " + channel + " request", e);
+            }
+        }
+
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IllegalStateException("Simulated " + channel + " provider failure");
+        }
+        log.debug("Sent {} request to {} recipients, subject: {}", channel, recipientIds.size(), subject);
+    }
+}
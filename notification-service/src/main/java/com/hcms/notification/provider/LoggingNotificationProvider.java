@@ -0,0 +1,24 @@
+package com.hcms.notification.provider;
+
+import com.hcms.notification.entity.NotificationChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default provider: logs each request instead of delivering it.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.provider.type", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingNotificationProvider implements NotificationProvider {
+
+    @Override
+    public void send(NotificationChannel channel, String subject, String message, List<Long> recipientIds) {
+        // In production, call SendGrid/AWS SES for EMAIL and Twilio/AWS SNS for SMS
+        log.info("Sending {} to {} recipients, subject: {}", channel, recipientIds.size(), subject);
+        log.debug("{} content: {}", channel, message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hcms.notification.provider;
+
+import com.hcms.notification.entity.NotificationChannel;
+
+import java.util.List;
+
+/**
+ * Delivery provider for a channel. One call is one provider request carrying
+ * the same subject and message to every recipient; it either succeeds for all
+ * of them or throws.
+ */
+public interface NotificationProvider {
+
+    void send(NotificationChannel channel, String subject, String message, List<Long> recipientIds);
+}
@@ -0,0 +1,118 @@
+package com.hcms.notification.repository;
+
+import com.hcms.notification.entity.Notification;
+import com.hcms.notification.entity.NotificationBroadcast;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.entity.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access for bulk notification writes. The {@code notifications}
+ * table uses IDENTITY keys, which stops Hibernate from batching inserts, so
+ * broadcasts insert through {@link JdbcTemplate#batchUpdate} instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_NOTIFICATION = "INSERT INTO notifications (recipient_id, notification_type, " +
+            "channel, subject, message, status, broadcast_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // A single statement, so of two instances sweeping at once only one claims each row:
+    // the other waits on the row lock and then no longer sees it as stale
+    private static final String CLAIM_STALE_PENDING = "UPDATE notifications SET claim_token = ?, updated_at = ? " +
+            "WHERE status = 'PENDING' AND updated_at < ? ORDER BY id LIMIT ?";
+    private static final String FIND_CLAIMED = "SELECT id, channel FROM notifications WHERE claim_token = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts one PENDING notification per recipient in a single JDBC batch.
+     *
+     * @return the inserted notifications with their generated ids
+     */
+    public List<Notification> insertBroadcastNotifications(NotificationBroadcast broadcast, List<Long> recipientIds) {
+        if (recipientIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_NOTIFICATION, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, recipientIds.get(i));
+                        ps.setString(2, broadcast.getNotificationType().name());
+                        ps.setString(3, broadcast.getChannel().name());
+                        ps.setString(4, broadcast.getSubject());
+                        ps.setString(5, broadcast.getMessage());
+                        ps.setString(6, NotificationStatus.PENDING.name());
+                        ps.setLong(7, broadcast.getId());
+                        ps.setTimestamp(8, timestamp);
+                        ps.setTimestamp(9, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return recipientIds.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<Notification> inserted = new ArrayList<>(recipientIds.size());
+        for (int i = 0; i < recipientIds.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            inserted.add(Notification.builder()
+                    .id(id.longValue())
+                    .recipientId(recipientIds.get(i))
+                    .notificationType(broadcast.getNotificationType())
+                    .channel(broadcast.getChannel())
+                    .subject(broadcast.getSubject())
+                    .message(broadcast.getMessage())
+                    .status(NotificationStatus.PENDING)
+                    .broadcastId(broadcast.getId())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return inserted;
+    }
+
+    /**
+     * Claims up to {@code limit} notifications that have been PENDING since
+     * before the cutoff, bumping their {@code updated_at} to {@code now}.
+     *
+     * @return the claimed notifications' channels by id
+     */
+    public Map<Long, NotificationChannel> claimStalePending(LocalDateTime cutoff, LocalDateTime now, int limit) {
+        String token = UUID.randomUUID().toString();
+        if (jdbcTemplate.update(CLAIM_STALE_PENDING, token, Timestamp.valueOf(now), Timestamp.valueOf(cutoff), limit) == 0) {
+            return Map.of();
+        }
+        Map<Long, NotificationChannel> claimed = new LinkedHashMap<>();
+        jdbcTemplate.query(FIND_CLAIMED,
+                (RowCallbackHandler) rs -> claimed.put(rs.getLong(1), NotificationChannel.valueOf(rs.getString(2))),
+                token);
+        return claimed;
+    }
+}
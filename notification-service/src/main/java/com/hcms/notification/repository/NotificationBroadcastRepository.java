@@ -0,0 +1,22 @@
+package com.hcms.notification.repository;
+
+import com.hcms.notification.entity.NotificationBroadcast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationBroadcastRepository extends JpaRepository<NotificationBroadcast, Long> {
+
+    // Runs in the same transaction as the chunk's inserts so the cursor never gets ahead of the data
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.resolvedCount = b.resolvedCount + :resolved, " +
+            "b.createdCount = b.createdCount + :created, b.lastEmployeeId = :lastEmployeeId, b.updatedAt = :now " +
+            "WHERE b.id = :id")
+    int addProgress(@Param("id") Long id, @Param("resolved") int resolved, @Param("created") int created,
+                    @Param("lastEmployeeId") Long lastEmployeeId, @Param("now") LocalDateTime now);
+}
@@ -6,15 +6,69 @@ import com.hcms.notification.entity.NotificationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     Page<Notification> findByRecipientIdOrderByCreatedAtDesc(Long recipientId, Pageable pageable);
+    List<Notification> findByRecipientIdAndIdLessThanOrderByIdDesc(Long recipientId, Long beforeId, Pageable pageable);
     Page<Notification> findByRecipientIdAndChannel(Long recipientId, NotificationChannel channel, Pageable pageable);
     List<Notification> findByStatus(NotificationStatus status);
     Page<Notification> findByRecipientIdAndStatus(Long recipientId, NotificationStatus status, Pageable pageable);
+
+    List<Notification> findTop100ByRecipientIdAndChannelAndIdGreaterThanOrderByIdAsc(
+            Long recipientId, NotificationChannel channel, Long afterId);
+
+    long countByRecipientIdAndChannelAndStatusIn(Long recipientId, NotificationChannel channel,
+                                                 Collection<NotificationStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.hcms.notification.entity.NotificationStatus.READ, " +
+            "n.updatedAt = :now WHERE n.id = :id AND n.channel = :channel AND n.status IN :statuses")
+    int markReadIfStatusIn(@Param("id") Long id, @Param("channel") NotificationChannel channel,
+                           @Param("statuses") Collection<NotificationStatus> statuses, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.hcms.notification.entity.NotificationStatus.READ, " +
+            "n.updatedAt = :now WHERE n.id = :id AND n.status <> com.hcms.notification.entity.NotificationStatus.READ")
+    int markRead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.hcms.notification.entity.NotificationStatus.READ, " +
+            "n.updatedAt = :now WHERE n.recipientId = :recipientId AND n.channel = :channel AND n.status IN :statuses")
+    int markAllRead(@Param("recipientId") Long recipientId, @Param("channel") NotificationChannel channel,
+                    @Param("statuses") Collection<NotificationStatus> statuses, @Param("now") LocalDateTime now);
+
+    // Bulk status transitions for the dispatcher; rows that left PENDING in the meantime are not touched
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.hcms.notification.entity.NotificationStatus.SENT, " +
+            "n.sentAt = :sentAt, n.errorMessage = null, n.updatedAt = :sentAt " +
+            "WHERE n.id IN :ids AND n.status = com.hcms.notification.entity.NotificationStatus.PENDING")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.status = com.hcms.notification.entity.NotificationStatus.FAILED, " +
+            "n.errorMessage = :errorMessage, n.updatedAt = :now " +
+            "WHERE n.id IN :ids AND n.status = com.hcms.notification.entity.NotificationStatus.PENDING")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("errorMessage") String errorMessage,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.errorMessage = :errorMessage, n.updatedAt = :now " +
+            "WHERE n.id IN :ids AND n.status = com.hcms.notification.entity.NotificationStatus.PENDING")
+    int recordError(@Param("ids") Collection<Long> ids, @Param("errorMessage") String errorMessage,
+                    @Param("now") LocalDateTime now);
 }
 
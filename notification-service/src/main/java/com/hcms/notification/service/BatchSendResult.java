@@ -0,0 +1,25 @@
+package com.hcms.notification.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of sending a batch of notifications: the ids that were accepted by
+ * the provider and the error message for each id that was not.
+ */
+public record BatchSendResult(List<Long> sentIds, Map<Long, String> failures) {
+
+    public BatchSendResult() {
+        this(new ArrayList<>(), new LinkedHashMap<>());
+    }
+
+    void addSent(List<Long> ids) {
+        sentIds.addAll(ids);
+    }
+
+    void addFailed(List<Long> ids, String errorMessage) {
+        ids.forEach(id -> failures.put(id, errorMessage));
+    }
+}
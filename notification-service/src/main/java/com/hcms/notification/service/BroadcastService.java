@@ -0,0 +1,206 @@
+package com.hcms.notification.service;
+
+import com.hcms.notification.client.EmployeeServiceClient;
+import com.hcms.notification.client.dto.EmployeeSummaryResponse;
+import com.hcms.notification.dto.BroadcastRequest;
+import com.hcms.notification.dto.BroadcastResponse;
+import com.hcms.notification.entity.BroadcastStatus;
+import com.hcms.notification.entity.BroadcastTarget;
+import com.hcms.notification.entity.Notification;
+import com.hcms.notification.entity.NotificationBroadcast;
+import com.hcms.notification.exception.BadRequestException;
+import com.hcms.notification.exception.ResourceNotFoundException;
+import com.hcms.notification.repository.NotificationBatchRepository;
+import com.hcms.notification.repository.NotificationBroadcastRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Sends one notification to every employee of a target (the whole company, a
+ * department or a manager's team). Recipients are resolved by keyset-paging
+ * through employee-service and each page is inserted with one JDBC batch, so
+ * memory use is bounded by the page size rather than the company size.
+ *
+ * <p>The employee cursor is committed together with each page of inserts,
+ * which makes a failed or interrupted broadcast resumable without duplicates.
+ */
+@Service
+@Slf4j
+public class BroadcastService {
+
+    private final NotificationBroadcastRepository broadcastRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final NotificationService notificationService;
+    private final EmployeeServiceClient employeeServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Set<Long> activeBroadcasts = ConcurrentHashMap.newKeySet();
+
+    public BroadcastService(NotificationBroadcastRepository broadcastRepository,
+                            NotificationBatchRepository notificationBatchRepository,
+                            NotificationService notificationService,
+                            EmployeeServiceClient employeeServiceClient,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${notification.broadcast.page-size:500}") int pageSize) {
+        this.broadcastRepository = broadcastRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.notificationService = notificationService;
+        this.employeeServiceClient = employeeServiceClient;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+    }
+
+    public BroadcastResponse startBroadcast(BroadcastRequest request) {
+        if (request.getTargetType() != BroadcastTarget.ALL_EMPLOYEES && request.getTargetId() == null) {
+            throw new BadRequestException("Target id is required for target type " + request.getTargetType());
+        }
+        log.info("Starting {} broadcast to {} {}", request.getNotificationType(), request.getTargetType(), request.getTargetId());
+
+        NotificationBroadcast broadcast = broadcastRepository.save(NotificationBroadcast.builder()
+                .targetType(request.getTargetType())
+                .targetId(request.getTargetType() == BroadcastTarget.ALL_EMPLOYEES ? null : request.getTargetId())
+                .notificationType(request.getNotificationType())
+                .channel(request.getChannel())
+                .subject(request.getSubject())
+                .message(request.getMessage())
+                .status(BroadcastStatus.PENDING)
+                .resolvedCount(0)
+                .createdCount(0)
+                .build());
+
+        submit(broadcast.getId());
+        return mapToResponse(broadcast);
+    }
+
+    public BroadcastResponse resumeBroadcast(Long id) {
+        NotificationBroadcast broadcast = findBroadcast(id);
+        if (broadcast.getStatus() == BroadcastStatus.COMPLETED) {
+            throw new BadRequestException("Broadcast is already completed");
+        }
+        log.info("Resuming broadcast {} after employee {}", id, broadcast.getLastEmployeeId());
+        submit(id);
+        return mapToResponse(broadcast);
+    }
+
+    public BroadcastResponse getBroadcast(Long id) {
+        return mapToResponse(findBroadcast(id));
+    }
+
+    private void submit(Long broadcastId) {
+        if (!activeBroadcasts.add(broadcastId)) {
+            throw new BadRequestException("Broadcast is already executing");
+        }
+        executor.execute(() -> {
+            try {
+                execute(broadcastId);
+            } finally {
+                activeBroadcasts.remove(broadcastId);
+            }
+        });
+    }
+
+    private void execute(Long broadcastId) {
+        long startNanos = System.nanoTime();
+        NotificationBroadcast broadcast = findBroadcast(broadcastId);
+        broadcast.setStatus(BroadcastStatus.RUNNING);
+        broadcast.setErrorMessage(null);
+        if (broadcast.getStartedAt() == null) {
+            broadcast.setStartedAt(LocalDateTime.now());
+        }
+        broadcast = broadcastRepository.save(broadcast);
+
+        Long departmentId = broadcast.getTargetType() == BroadcastTarget.DEPARTMENT ? broadcast.getTargetId() : null;
+        Long managerId = broadcast.getTargetType() == BroadcastTarget.MANAGER_TEAM ? broadcast.getTargetId() : null;
+        long afterId = broadcast.getLastEmployeeId() != null ? broadcast.getLastEmployeeId() : 0L;
+
+        try {
+            List<EmployeeSummaryResponse> page;
+            do {
+                page = employeeServiceClient.getEmployeeSummaries(afterId, pageSize, departmentId, managerId);
+                if (page.isEmpty()) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getId();
+                writePage(broadcast, page, afterId);
+            } while (page.size() == pageSize);
+
+            finish(broadcastId, BroadcastStatus.COMPLETED, null, startNanos);
+        } catch (Exception e) {
+            log.error("Broadcast {} failed after employee {}: {}", broadcastId, afterId, e.getMessage());
+            finish(broadcastId, BroadcastStatus.FAILED, e.getMessage(), startNanos);
+        }
+    }
+
+    private void writePage(NotificationBroadcast broadcast, List<EmployeeSummaryResponse> page, long lastEmployeeId) {
+        List<Long> recipientIds = page.stream()
+                .filter(employee -> !"TERMINATED".equals(employee.getStatus()))
+                .map(EmployeeSummaryResponse::getId)
+                .collect(Collectors.toList());
+
+        List<Notification> inserted = transactionTemplate.execute(status -> {
+            List<Notification> rows = notificationBatchRepository.insertBroadcastNotifications(broadcast, recipientIds);
+            broadcastRepository.addProgress(broadcast.getId(), page.size(), rows.size(), lastEmployeeId, LocalDateTime.now());
+            return rows;
+        });
+
+        // Published after commit so the dispatcher and other listeners see the rows
+        notificationService.publishCreated(inserted);
+        log.debug("Broadcast {} wrote {} notifications up to employee {}", broadcast.getId(), inserted.size(), lastEmployeeId);
+    }
+
+    private void finish(Long broadcastId, BroadcastStatus status, String error, long startNanos) {
+        NotificationBroadcast broadcast = findBroadcast(broadcastId);
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        broadcast.setStatus(status);
+        broadcast.setErrorMessage(error);
+        broadcast.setDurationMillis(durationMillis);
+        if (status == BroadcastStatus.COMPLETED) {
+            broadcast.setCompletedAt(LocalDateTime.now());
+        }
+        broadcastRepository.save(broadcast);
+        log.info("Broadcast {} {}: {} employees resolved, {} notifications created in {} ms", broadcastId, status,
+                broadcast.getResolvedCount(), broadcast.getCreatedCount(), durationMillis);
+    }
+
+    private NotificationBroadcast findBroadcast(Long id) {
+        return broadcastRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found with id: " + id));
+    }
+
+    private BroadcastResponse mapToResponse(NotificationBroadcast broadcast) {
+        return BroadcastResponse.builder()
+                .id(broadcast.getId())
+                .targetType(broadcast.getTargetType())
+                .targetId(broadcast.getTargetId())
+                .notificationType(broadcast.getNotificationType())
+                .channel(broadcast.getChannel())
+                .subject(broadcast.getSubject())
+                .status(broadcast.getStatus())
+                .resolvedCount(broadcast.getResolvedCount())
+                .createdCount(broadcast.getCreatedCount())
+                .durationMillis(broadcast.getDurationMillis())
+                .errorMessage(broadcast.getErrorMessage())
+                .startedAt(broadcast.getStartedAt())
+                .completedAt(broadcast.getCompletedAt())
+                .createdAt(broadcast.getCreatedAt())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
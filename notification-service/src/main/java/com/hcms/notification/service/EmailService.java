@@ -1,23 +1,58 @@
 package com.hcms.notification.service;
 
 import com.hcms.notification.entity.Notification;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.provider.NotificationProvider;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 public class EmailService {
 
-    public void sendEmail(Notification notification) {
-        // In production, integrate with email service (SendGrid, AWS SES, etc.)
-        log.info("Sending email to recipient: {}, subject: {}", 
-                notification.getRecipientId(), notification.getSubject());
-        log.info("Email content: {}", notification.getMessage());
-        
-        // Simulate email sending
-        // In production: emailClient.send(recipientEmail, notification.getSubject(), notification.getMessage());
+    private final NotificationProvider provider;
+    private final int maxRecipientsPerRequest;
+
+    public EmailService(NotificationProvider provider,
+                        @Value("${notification.email.max-recipients-per-request:500}") int maxRecipientsPerRequest) {
+        this.provider = provider;
+        this.maxRecipientsPerRequest = maxRecipientsPerRequest;
     }
-}
 
+    /**
+     * Sends the emails as one provider request per distinct subject and body,
+     * split into requests of at most {@code maxRecipientsPerRequest} recipients.
+     */
+    public BatchSendResult sendEmails(List<Notification> notifications) {
+        Map<EmailTemplate, List<Notification>> byTemplate = notifications.stream()
+                .collect(Collectors.groupingBy(n -> new EmailTemplate(n.getSubject(), n.getMessage()),
+                        LinkedHashMap::new, Collectors.toList()));
 
+        BatchSendResult result = new BatchSendResult();
+        byTemplate.forEach((template, group) -> {
+            for (int from = 0; from < group.size(); from += maxRecipientsPerRequest) {
+                List<Notification> chunk = group.subList(from, Math.min(from + maxRecipientsPerRequest, group.size()));
+                List<Long> ids = chunk.stream().map(Notification::getId).collect(Collectors.toList());
+                List<Long> recipientIds = chunk.stream().map(Notification::getRecipientId).collect(Collectors.toList());
+                try {
+                    log.info("Sending email to {} recipients, subject: {}", recipientIds.size(), template.subject());
+                    provider.send(NotificationChannel.EMAIL, template.subject(), template.message(), recipientIds);
+                    result.addSent(ids);
+                } catch (Exception e) {
+                    log.error("Email request for {} recipients failed: {}", recipientIds.size(), e.getMessage());
+                    result.addFailed(ids, e.getMessage());
+                }
+            }
+        });
+        return result;
+    }
 
+    private record EmailTemplate(String subject, String message) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.hcms.notification.service;
+
+import com.hcms.notification.dto.NotificationResponse;
+
+/**
+ * Published when a notification row has been created. Listeners that need the
+ * row to be visible to other transactions should use the AFTER_COMMIT phase.
+ */
+public record NotificationCreatedEvent(NotificationResponse notification) {
+}
@@ -0,0 +1,327 @@
+package com.hcms.notification.service;
+
+import com.hcms.notification.dto.NotificationDispatchMessage;
+import com.hcms.notification.entity.Notification;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.entity.NotificationStatus;
+import com.hcms.notification.messaging.NotificationQueue;
+import com.hcms.notification.repository.NotificationBatchRepository;
+import com.hcms.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers queued notifications on a bounded set of workers per channel and
+ * moves them from PENDING to SENT or FAILED. Each worker drains up to
+ * {@code batchSize} messages at a time, sends them through the channel's batch
+ * sender and writes the status changes back as bulk updates. Failed sends are
+ * re-queued with exponential backoff until the attempt limit is reached.
+ */
+@Service
+@Slf4j
+public class NotificationDispatcher {
+
+    private static final int SWEEP_PAGE_SIZE = 500;
+    private static final Set<NotificationChannel> SUPPORTED_CHANNELS =
+            EnumSet.of(NotificationChannel.EMAIL, NotificationChannel.SMS, NotificationChannel.IN_APP);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final EmailService emailService;
+    private final SmsService smsService;
+    private final NotificationQueue notificationQueue;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationChannel, BlockingQueue<QueuedMessage>> buffers =
+            new EnumMap<>(NotificationChannel.class);
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final double backoffMultiplier;
+    private final long maxBackoffMillis;
+    private final long staleAfterMillis;
+
+    public NotificationDispatcher(NotificationRepository notificationRepository,
+                                  NotificationBatchRepository notificationBatchRepository,
+                                  EmailService emailService,
+                                  SmsService smsService,
+                                  NotificationQueue notificationQueue,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.dispatch.concurrency.email:4}") int emailConcurrency,
+                                  @Value("${notification.dispatch.concurrency.sms:2}") int smsConcurrency,
+                                  @Value("${notification.dispatch.concurrency.in-app:4}") int inAppConcurrency,
+                                  @Value("${notification.dispatch.concurrency.push:1}") int pushConcurrency,
+                                  @Value("${notification.dispatch.worker-queue-capacity:1000}") int workerQueueCapacity,
+                                  @Value("${notification.dispatch.batch-size:100}") int batchSize,
+                                  @Value("${notification.dispatch.max-attempts:3}") int maxAttempts,
+                                  @Value("${notification.dispatch.backoff.initial-millis:1000}") long initialBackoffMillis,
+                                  @Value("${notification.dispatch.backoff.multiplier:2.0}") double backoffMultiplier,
+                                  @Value("${notification.dispatch.backoff.max-millis:60000}") long maxBackoffMillis,
+                                  @Value("${notification.dispatch.stale-after-millis:600000}") long staleAfterMillis) {
+        this.notificationRepository = notificationRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.notificationQueue = notificationQueue;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.staleAfterMillis = staleAfterMillis;
+
+        Map<NotificationChannel, Integer> concurrency = new EnumMap<>(NotificationChannel.class);
+        concurrency.put(NotificationChannel.EMAIL, emailConcurrency);
+        concurrency.put(NotificationChannel.SMS, smsConcurrency);
+        concurrency.put(NotificationChannel.IN_APP, inAppConcurrency);
+        concurrency.put(NotificationChannel.PUSH, pushConcurrency);
+
+        this.workers = Executors.newFixedThreadPool(concurrency.values().stream().mapToInt(Integer::intValue).sum());
+        concurrency.forEach((channel, workerCount) -> {
+            BlockingQueue<QueuedMessage> buffer = new LinkedBlockingQueue<>(workerQueueCapacity);
+            buffers.put(channel, buffer);
+            for (int i = 0; i < workerCount; i++) {
+                workers.execute(() -> runWorker(channel, buffer));
+            }
+            Gauge.builder("notification.dispatch.backlog", buffer, BlockingQueue::size)
+                    .tag("channel", channel.name())
+                    .register(meterRegistry);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        enqueue(event.notification().getId(), event.notification().getChannel());
+    }
+
+    /**
+     * Hands a queued message to the workers of its channel. Blocks while that
+     * channel's buffer is full.
+     */
+    public void dispatch(NotificationDispatchMessage message) {
+        dispatch(message, () -> { });
+    }
+
+    /**
+     * Like {@link #dispatch(NotificationDispatchMessage)}, running
+     * {@code onHandled} once the batch holding the message was delivered or
+     * failed. A failed batch leaves its notifications PENDING for the stale sweep.
+     */
+    public void dispatch(NotificationDispatchMessage message, Runnable onHandled) {
+        try {
+            buffers.get(message.getChannel()).put(new QueuedMessage(message, onHandled));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing notification " + message.getNotificationId(), e);
+        }
+    }
+
+    /**
+     * Re-publishes notifications that stayed PENDING for longer than the stale
+     * threshold, e.g. because the publish failed or the broker lost the message.
+     * Every instance sweeps, but each stale row is claimed by only one of them.
+     */
+    @Scheduled(fixedDelayString = "${notification.dispatch.sweep-interval-millis:60000}",
+            initialDelayString = "${notification.dispatch.sweep-initial-delay-millis:10000}")
+    public void requeueStalePending() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusNanos(staleAfterMillis * 1_000_000);
+        int requeued = 0;
+
+        // Claimed rows are no longer stale, so each page claims the next ones
+        Map<Long, NotificationChannel> page;
+        do {
+            page = notificationBatchRepository.claimStalePending(cutoff, now, SWEEP_PAGE_SIZE);
+            page.forEach(this::enqueue);
+            requeued += page.size();
+        } while (page.size() == SWEEP_PAGE_SIZE);
+
+        if (requeued > 0) {
+            log.warn("Re-queued {} stale pending notifications", requeued);
+        }
+    }
+
+    private void enqueue(Long notificationId, NotificationChannel channel) {
+        NotificationDispatchMessage message = NotificationDispatchMessage.builder()
+                .notificationId(notificationId)
+                .channel(channel)
+                .attempt(1)
+                .enqueuedAt(System.currentTimeMillis())
+                .build();
+        try {
+            notificationQueue.publish(message);
+        } catch (Exception e) {
+            log.error("Failed to enqueue notification {}, it will be retried by the stale sweep: {}",
+                    notificationId, e.getMessage());
+        }
+    }
+
+    private void runWorker(NotificationChannel channel, BlockingQueue<QueuedMessage> buffer) {
+        List<QueuedMessage> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, batchSize - 1);
+                deliverBatch(channel, batch.stream().map(QueuedMessage::message).collect(Collectors.toList()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Dispatch of {} {} notifications failed: {}", batch.size(), channel, e.getMessage());
+            } finally {
+                batch.forEach(QueuedMessage::handled);
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliverBatch(NotificationChannel channel, List<NotificationDispatchMessage> batch) {
+        Map<Long, NotificationDispatchMessage> messages = new LinkedHashMap<>();
+        batch.forEach(message -> messages.putIfAbsent(message.getNotificationId(), message));
+
+        List<Notification> pending = notificationRepository.findAllById(messages.keySet()).stream()
+                .filter(n -> n.getStatus() == NotificationStatus.PENDING)
+                .collect(Collectors.toList());
+        if (pending.isEmpty()) {
+            log.debug("Skipping dispatch of {} {} notifications, no longer pending", messages.size(), channel);
+            return;
+        }
+        DistributionSummary.builder("notification.dispatch.batch.size")
+                .tag("channel", channel.name())
+                .register(meterRegistry)
+                .record(pending.size());
+
+        if (!SUPPORTED_CHANNELS.contains(channel)) {
+            List<Long> ids = pending.stream().map(Notification::getId).collect(Collectors.toList());
+            notificationRepository.markFailed(ids, "Unsupported notification channel: " + channel, LocalDateTime.now());
+            ids.forEach(id -> recordLatency(messages.get(id), "failed"));
+            return;
+        }
+
+        BatchSendResult result = send(channel, pending);
+        if (!result.sentIds().isEmpty()) {
+            notificationRepository.markSent(result.sentIds(), LocalDateTime.now());
+            result.sentIds().forEach(id -> recordLatency(messages.get(id), "sent"));
+        }
+        if (!result.failures().isEmpty()) {
+            handleFailures(messages, result.failures());
+        }
+    }
+
+    private BatchSendResult send(NotificationChannel channel, List<Notification> notifications) {
+        switch (channel) {
+            case EMAIL:
+                return emailService.sendEmails(notifications);
+            case SMS:
+                return smsService.sendSms(notifications);
+            default:
+                // In-app notifications are stored in DB and retrieved via API
+                log.info("In-app notifications stored for {} recipients", notifications.size());
+                BatchSendResult result = new BatchSendResult();
+                result.addSent(notifications.stream().map(Notification::getId).collect(Collectors.toList()));
+                return result;
+        }
+    }
+
+    private void handleFailures(Map<Long, NotificationDispatchMessage> messages, Map<Long, String> failures) {
+        // Provider requests fail as a whole, so grouping by error keeps this to a few bulk updates
+        Map<String, List<Long>> retryByError = new HashMap<>();
+        Map<String, List<Long>> failedByError = new HashMap<>();
+
+        failures.forEach((id, error) -> {
+            NotificationDispatchMessage message = messages.get(id);
+            if (message.getAttempt() < maxAttempts) {
+                retryByError.computeIfAbsent(error, e -> new ArrayList<>()).add(id);
+                NotificationDispatchMessage retry = NotificationDispatchMessage.builder()
+                        .notificationId(id)
+                        .channel(message.getChannel())
+                        .attempt(message.getAttempt() + 1)
+                        .enqueuedAt(message.getEnqueuedAt())
+                        .build();
+                retryScheduler.schedule(() -> republish(retry), backoffMillis(message.getAttempt()), TimeUnit.MILLISECONDS);
+                meterRegistry.counter("notification.dispatch.retries", "channel", message.getChannel().name()).increment();
+            } else {
+                failedByError.computeIfAbsent(error, e -> new ArrayList<>()).add(id);
+                recordLatency(message, "failed");
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        retryByError.forEach((error, ids) -> {
+            log.warn("Failed to send {} notifications, retrying with backoff: {}", ids.size(), error);
+            notificationRepository.recordError(ids, error, now);
+        });
+        failedByError.forEach((error, ids) -> {
+            log.error("Failed to send {} notifications after {} attempts: {}", ids.size(), maxAttempts, error);
+            notificationRepository.markFailed(ids, error, now);
+        });
+    }
+
+    private void republish(NotificationDispatchMessage message) {
+        try {
+            notificationQueue.publish(message);
+        } catch (Exception e) {
+            log.error("Failed to re-queue notification {}, it will be retried by the stale sweep: {}",
+                    message.getNotificationId(), e.getMessage());
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        double delay = initialBackoffMillis * Math.pow(backoffMultiplier, attempt - 1);
+        return (long) Math.min(delay, maxBackoffMillis);
+    }
+
+    private void recordLatency(NotificationDispatchMessage message, String outcome) {
+        Timer.builder("notification.dispatch.latency")
+                .description("Time from first enqueue to the final SENT/FAILED transition")
+                .tag("channel", message.getChannel().name())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(System.currentTimeMillis() - message.getEnqueuedAt(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private record QueuedMessage(NotificationDispatchMessage message, Runnable onHandled) {
+
+        void handled() {
+            try {
+                onHandled.run();
+            } catch (Exception e) {
+                log.error("Failed to complete dispatch of notification {}: {}",
+                        message.getNotificationId(), e.getMessage());
+            }
+        }
+    }
+}
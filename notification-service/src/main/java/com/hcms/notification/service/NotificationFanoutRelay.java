@@ -0,0 +1,39 @@
+package com.hcms.notification.service;
+
+import com.hcms.notification.dto.NotificationFanoutMessage;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.messaging.NotificationFanout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fans out committed IN_APP creations and reads, which the stream and unread
+ * count services on every instance apply.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationFanoutRelay {
+
+    private final NotificationFanout fanout;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (event.notification().getChannel() == NotificationChannel.IN_APP) {
+            fanout.publish(NotificationFanoutMessage.builder()
+                    .type(NotificationFanoutMessage.Type.CREATED)
+                    .recipientId(event.notification().getRecipientId())
+                    .notification(event.notification())
+                    .build());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        fanout.publish(NotificationFanoutMessage.builder()
+                .type(NotificationFanoutMessage.Type.READ)
+                .recipientId(event.recipientId())
+                .count(event.count())
+                .build());
+    }
+}
@@ -1,26 +1,35 @@
 package com.hcms.notification.service;
 
+import com.hcms.common.dto.CursorPage;
+import com.hcms.common.util.CursorCodec;
+import com.hcms.notification.dto.MarkAllReadResponse;
 import com.hcms.notification.dto.NotificationRequest;
 import com.hcms.notification.dto.NotificationResponse;
 import com.hcms.notification.entity.Notification;
+import com.hcms.notification.entity.NotificationChannel;
 import com.hcms.notification.entity.NotificationStatus;
 import com.hcms.notification.exception.ResourceNotFoundException;
 import com.hcms.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final EmailService emailService;
-    private final SmsService smsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public NotificationResponse createNotification(NotificationRequest request) {
@@ -36,40 +45,22 @@ public class NotificationService {
                 .status(NotificationStatus.PENDING)
                 .build();
 
-        notification = notificationRepository.save(notification);
-
-        // Send notification asynchronously (in production, use RabbitMQ)
-        try {
-            sendNotification(notification);
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(java.time.LocalDateTime.now());
-        } catch (Exception e) {
-            log.error("Failed to send notification: {}", e.getMessage());
-            notification.setStatus(NotificationStatus.FAILED);
-            notification.setErrorMessage(e.getMessage());
-        }
-
         notification = notificationRepository.save(notification);
         log.info("Notification created: {}", notification.getId());
 
-        return mapToResponse(notification);
+        // Delivery happens on the dispatcher's worker pools once this transaction commits
+        NotificationResponse response = mapToResponse(notification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(response));
+        return response;
     }
 
-    private void sendNotification(Notification notification) {
-        switch (notification.getChannel()) {
-            case EMAIL:
-                emailService.sendEmail(notification);
-                break;
-            case SMS:
-                smsService.sendSms(notification);
-                break;
-            case IN_APP:
-                // In-app notifications are stored in DB and retrieved via API
-                log.info("In-app notification stored for recipient: {}", notification.getRecipientId());
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported notification channel: " + notification.getChannel());
-        }
+    /**
+     * Publishes creation events for notifications inserted in bulk outside
+     * {@link #createNotification}, e.g. by a broadcast. Call after the insert
+     * has committed.
+     */
+    void publishCreated(List<Notification> notifications) {
+        notifications.forEach(n -> eventPublisher.publishEvent(new NotificationCreatedEvent(mapToResponse(n))));
     }
 
     public NotificationResponse getNotificationById(Long id) {
@@ -83,20 +74,72 @@ public class NotificationService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Newest first, like the paged variant, but ordered by id so the cursor can seek.
+     */
+    public CursorPage<NotificationResponse> getNotificationsByRecipient(Long recipientId, String cursor, int size) {
+        long beforeId = CursorCodec.decode(cursor, Long.MAX_VALUE);
+        int pageSize = CursorCodec.pageSize(size);
+        List<Notification> rows = notificationRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(
+                recipientId, beforeId, PageRequest.of(0, pageSize + 1));
+        return CursorCodec.page(rows, pageSize, Notification::getId, this::mapToResponse);
+    }
+
+    /**
+     * IN_APP notifications created after the given id, oldest first; used to
+     * replay what a reconnecting stream missed.
+     */
+    List<NotificationResponse> getInAppNotificationsAfter(Long recipientId, Long afterId) {
+        return notificationRepository.findTop100ByRecipientIdAndChannelAndIdGreaterThanOrderByIdAsc(
+                        recipientId, NotificationChannel.IN_APP, afterId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     public Page<NotificationResponse> getAllNotifications(Pageable pageable) {
         return notificationRepository.findAll(pageable)
                 .map(this::mapToResponse);
     }
 
+    /**
+     * The unread-to-read transition is a conditional UPDATE, so of two
+     * concurrent calls only one decrements the unread count.
+     */
     @Transactional
     public NotificationResponse markAsRead(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        int markedUnread = notificationRepository.markReadIfStatusIn(id, NotificationChannel.IN_APP,
+                UnreadCountService.UNREAD_STATUSES, now);
+        if (markedUnread == 0) {
+            // Other channels and statuses do not affect the unread count
+            notificationRepository.markRead(id, now);
+        }
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + id));
-        notification.setStatus(NotificationStatus.READ);
-        notification = notificationRepository.save(notification);
+        if (markedUnread > 0) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(notification.getRecipientId(), 1));
+        }
         return mapToResponse(notification);
     }
 
+    /**
+     * Marks every unread IN_APP notification of the recipient as read with a
+     * single UPDATE.
+     */
+    @Transactional
+    public MarkAllReadResponse markAllAsRead(Long recipientId) {
+        int marked = notificationRepository.markAllRead(recipientId, NotificationChannel.IN_APP,
+                UnreadCountService.UNREAD_STATUSES, LocalDateTime.now());
+        log.info("Marked {} notifications as read for recipient: {}", marked, recipientId);
+        if (marked > 0) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(recipientId, marked));
+        }
+        return MarkAllReadResponse.builder()
+                .recipientId(recipientId)
+                .markedCount(marked)
+                .build();
+    }
+
     private NotificationResponse mapToResponse(Notification notification) {
         return NotificationResponse.builder()
                 .id(notification.getId())
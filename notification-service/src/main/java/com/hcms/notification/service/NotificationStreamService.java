@@ -0,0 +1,140 @@
+package com.hcms.notification.service;
+
+import com.hcms.notification.dto.NotificationFanoutMessage;
+import com.hcms.notification.dto.NotificationResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes new IN_APP notifications to connected clients over server-sent events.
+ * Streams are async requests, so an idle connection holds no request thread;
+ * sends run on a small dedicated pool so a slow client never blocks the
+ * thread that created the notification.
+ * <p>
+ * A recipient's stream can be connected to any instance, so new notifications
+ * are fanned out through the broker and every instance pushes to its own streams.
+ */
+@Service
+@Slf4j
+public class NotificationStreamService {
+
+    private final NotificationService notificationService;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService pushExecutor;
+    private final long timeoutMillis;
+
+    public NotificationStreamService(NotificationService notificationService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notification.stream.timeout-millis:1800000}") long timeoutMillis,
+                                     @Value("${notification.stream.push-threads:4}") int pushThreads) {
+        this.notificationService = notificationService;
+        this.timeoutMillis = timeoutMillis;
+        this.pushExecutor = Executors.newFixedThreadPool(pushThreads);
+
+        Gauge.builder("notification.stream.connections", connections, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("notification.stream.recipients", emitters, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the recipient. When the client reconnects with the id
+     * of the last event it received, the IN_APP notifications it missed are
+     * replayed first; clients should ignore ids they have already seen.
+     */
+    public SseEmitter subscribe(Long recipientId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.compute(recipientId, (id, set) -> {
+            Set<SseEmitter> registered = set != null ? set : ConcurrentHashMap.newKeySet();
+            registered.add(emitter);
+            return registered;
+        });
+        connections.incrementAndGet();
+
+        emitter.onCompletion(() -> unregister(recipientId, emitter));
+        emitter.onTimeout(() -> unregister(recipientId, emitter));
+        emitter.onError(e -> unregister(recipientId, emitter));
+
+        if (lastEventId != null) {
+            pushExecutor.execute(() -> {
+                List<NotificationResponse> missed = notificationService.getInAppNotificationsAfter(recipientId, lastEventId);
+                missed.forEach(notification -> send(recipientId, emitter, notification));
+            });
+        }
+        log.debug("Opened notification stream for recipient: {}", recipientId);
+        return emitter;
+    }
+
+    @EventListener
+    public void onFanout(NotificationFanoutMessage message) {
+        if (message.getType() != NotificationFanoutMessage.Type.CREATED) {
+            return;
+        }
+        NotificationResponse notification = message.getNotification();
+        Set<SseEmitter> recipientEmitters = emitters.get(notification.getRecipientId());
+        if (recipientEmitters == null) {
+            return;
+        }
+        pushExecutor.execute(() ->
+                recipientEmitters.forEach(emitter -> send(notification.getRecipientId(), emitter, notification)));
+    }
+
+    // Keeps idle streams alive through proxies and detects clients that went away without closing
+    @Scheduled(fixedRateString = "${notification.stream.heartbeat-millis:25000}")
+    public void sendHeartbeats() {
+        emitters.forEach((recipientId, recipientEmitters) -> pushExecutor.execute(() ->
+                recipientEmitters.forEach(emitter -> {
+                    try {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    } catch (IOException | IllegalStateException e) {
+                        unregister(recipientId, emitter);
+                    }
+                })));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    private void send(Long recipientId, SseEmitter emitter, NotificationResponse notification) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name("notification")
+                    .data(notification));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping notification stream for recipient {}: {}", recipientId, e.getMessage());
+            unregister(recipientId, emitter);
+        }
+    }
+
+    private void unregister(Long recipientId, SseEmitter emitter) {
+        emitters.computeIfPresent(recipientId, (id, set) -> {
+            if (set.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pushExecutor.shutdownNow();
+        emitters.values().forEach(set -> set.forEach(SseEmitter::complete));
+    }
+}
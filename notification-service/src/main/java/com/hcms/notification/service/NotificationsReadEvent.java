@@ -0,0 +1,7 @@
+package com.hcms.notification.service;
+
+/**
+ * Published when unread IN_APP notifications of a recipient were marked read.
+ */
+public record NotificationsReadEvent(Long recipientId, int count) {
+}
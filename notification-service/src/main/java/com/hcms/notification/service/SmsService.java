@@ -1,22 +1,54 @@
 package com.hcms.notification.service;
 
 import com.hcms.notification.entity.Notification;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.provider.NotificationProvider;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 @Slf4j
 public class SmsService {
 
-    public void sendSms(Notification notification) {
-        // In production, integrate with SMS service (Twilio, AWS SNS, etc.)
-        log.info("Sending SMS to recipient: {}, message: {}", 
-                notification.getRecipientId(), notification.getMessage());
-        
-        // Simulate SMS sending
-        // In production: smsClient.send(recipientPhone, notification.getMessage());
-    }
-}
+    private final NotificationProvider provider;
+    private final int maxRecipientsPerRequest;
 
+    public SmsService(NotificationProvider provider,
+                      @Value("${notification.sms.max-recipients-per-request:100}") int maxRecipientsPerRequest) {
+        this.provider = provider;
+        this.maxRecipientsPerRequest = maxRecipientsPerRequest;
+    }
 
+    /**
+     * Sends the messages as one provider request per distinct text, split into
+     * requests of at most {@code maxRecipientsPerRequest} recipients.
+     */
+    public BatchSendResult sendSms(List<Notification> notifications) {
+        Map<String, List<Notification>> byMessage = notifications.stream()
+                .collect(Collectors.groupingBy(Notification::getMessage, LinkedHashMap::new, Collectors.toList()));
 
+        BatchSendResult result = new BatchSendResult();
+        byMessage.forEach((message, group) -> {
+            for (int from = 0; from < group.size(); from += maxRecipientsPerRequest) {
+                List<Notification> chunk = group.subList(from, Math.min(from + maxRecipientsPerRequest, group.size()));
+                List<Long> ids = chunk.stream().map(Notification::getId).collect(Collectors.toList());
+                List<Long> recipientIds = chunk.stream().map(Notification::getRecipientId).collect(Collectors.toList());
+                try {
+                    log.info("Sending SMS to {} recipients", recipientIds.size());
+                    provider.send(NotificationChannel.SMS, null, message, recipientIds);
+                    result.addSent(ids);
+                } catch (Exception e) {
+                    log.error("SMS request for {} recipients failed: {}", recipientIds.size(), e.getMessage());
+                    result.addFailed(ids, e.getMessage());
+                }
+            }
+        });
+        return result;
+    }
+}
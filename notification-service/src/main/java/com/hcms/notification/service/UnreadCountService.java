@@ -0,0 +1,68 @@
+package com.hcms.notification.service;
+
+import com.hcms.notification.dto.NotificationFanoutMessage;
+import com.hcms.notification.entity.NotificationChannel;
+import com.hcms.notification.entity.NotificationStatus;
+import com.hcms.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of unread IN_APP notification counts (PENDING or SENT) per recipient.
+ * A count is loaded from the table on first use and expired when a creation
+ * or read event for the recipient is fanned out, so the next request reloads
+ * it rather than applying deltas to it. Entries also expire after
+ * {@code notification.unread.ttl-millis}, which bounds how long a count stays
+ * wrong when a fanout message never reaches this instance.
+ */
+@Service
+@Slf4j
+public class UnreadCountService {
+
+    static final List<NotificationStatus> UNREAD_STATUSES = List.of(NotificationStatus.PENDING, NotificationStatus.SENT);
+
+    private final NotificationRepository notificationRepository;
+    private final long ttlMillis;
+    private final Map<Long, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public UnreadCountService(NotificationRepository notificationRepository, MeterRegistry meterRegistry,
+                              @Value("${notification.unread.ttl-millis:60000}") long ttlMillis) {
+        this.notificationRepository = notificationRepository;
+        this.ttlMillis = ttlMillis;
+        Gauge.builder("notification.unread.recipients", counts, Map::size).register(meterRegistry);
+    }
+
+    public long getUnreadCount(Long recipientId) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(recipientId);
+        if (cached != null && now - cached.loadedAt() < ttlMillis) {
+            return cached.count();
+        }
+        long count = notificationRepository.countByRecipientIdAndChannelAndStatusIn(
+                recipientId, NotificationChannel.IN_APP, UNREAD_STATUSES);
+        // Only cache the count if no event for the recipient arrived while it was loading
+        counts.compute(recipientId, (id, current) -> current == cached ? new CachedCount(count, now) : current);
+        return count;
+    }
+
+    /**
+     * Replaces the recipient's count with an expired entry rather than removing
+     * it, so a load that started before the event sees the change and does not
+     * cache what it read.
+     */
+    @EventListener
+    public void onFanout(NotificationFanoutMessage message) {
+        counts.put(message.getRecipientId(), new CachedCount(0, 0));
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+    }
+}
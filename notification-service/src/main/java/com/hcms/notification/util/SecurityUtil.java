@@ -0,0 +1,77 @@
+package com.hcms.notification.util;
+
+import com.hcms.notification.exception.ForbiddenException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Component
+public class SecurityUtil {
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+    private static final String USER_ROLE_HEADER = "X-User-Role";
+
+    public static Long getCurrentUserId() {
+        HttpServletRequest request = getRequest();
+        String userIdStr = request.getHeader(USER_ID_HEADER);
+        if (userIdStr == null || userIdStr.isEmpty()) {
+            throw new ForbiddenException("User ID not found in request");
+        }
+        try {
+            return Long.parseLong(userIdStr);
+        } catch (NumberFormatException e) {
+            throw new ForbiddenException("Invalid user ID format");
+        }
+    }
+
+    public static String getCurrentUserRole() {
+        HttpServletRequest request = getRequest();
+        String role = request.getHeader(USER_ROLE_HEADER);
+        if (role == null || role.isEmpty()) {
+            throw new ForbiddenException("User role not found in request");
+        }
+        return role;
+    }
+
+    public static void checkAdminAccess() {
+        if (!isAdmin(getCurrentUserRole())) {
+            throw new ForbiddenException("Access denied. Admin privileges required.");
+        }
+    }
+
+    public static void checkRecipientAccess(Long recipientId) {
+        if (isAdmin(getCurrentUserRole())) {
+            return;
+        }
+        if (!getCurrentUserId().equals(recipientId)) {
+            throw new ForbiddenException("Access denied. You can only access your own notifications.");
+        }
+    }
+
+    /**
+     * Admins can broadcast to any target; a manager only to their own team.
+     */
+    public static void checkBroadcastAccess(boolean managerTeamTarget, Long managerId) {
+        String role = getCurrentUserRole();
+        if (isAdmin(role)) {
+            return;
+        }
+        if (managerTeamTarget && "MANAGER".equals(role) && getCurrentUserId().equals(managerId)) {
+            return;
+        }
+        throw new ForbiddenException("Access denied. Admins can broadcast to any target, managers only to their own team.");
+    }
+
+    private static boolean isAdmin(String role) {
+        return "ADMIN".equals(role) || "SUPER_ADMIN".equals(role);
+    }
+
+    private static HttpServletRequest getRequest() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new IllegalStateException("Request context not available");
+        }
+        return attributes.getRequest();
+    }
+}
@@ -0,0 +1,35 @@
+package com.hcms.payroll.client;
+
+import com.hcms.common.client.BatchingLookup;
+import com.hcms.payroll.client.dto.EmployeeSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent employee lookups into a single call to
+ * {@code POST /api/employees/batch}. See {@link BatchingLookup}.
+ */
+@Component
+public class EmployeeLookupBatcher extends BatchingLookup<EmployeeSummaryResponse> {
+
+    public EmployeeLookupBatcher(EmployeeServiceClient employeeServiceClient,
+                                 @Value("${employee-client.batch.window-millis:5}") long windowMillis,
+                                 @Value("${employee-client.batch.max-size:200}") int maxBatchSize,
+                                 @Value("${employee-client.batch.timeout-millis:3000}") long timeoutMillis,
+                                 MeterRegistry meterRegistry) {
+        super("employee", employeeServiceClient::getEmployeesByIds, EmployeeSummaryResponse::getId,
+                windowMillis, maxBatchSize, timeoutMillis, meterRegistry);
+    }
+
+    /**
+     * Returns the employee summary, or {@code null} if no employee has the given id.
+     */
+    public EmployeeSummaryResponse getEmployee(Long id) {
+        return get(id);
+    }
+
+    public boolean exists(Long id) {
+        return get(id) != null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hcms.payroll.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeChangeFeedResponse {
+    private Long lastSequence;
+    private List<Long> employeeIds;
+}
@@ -2,6 +2,7 @@ package com.hcms.payroll.config;
 
 import feign.Logger;
 import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -39,5 +40,14 @@ public class FeignConfig {
             }
         };
     }
-}
 
+    /**
+     * Identifies service-to-service calls to internal endpoints. Background
+     * jobs have no user headers to forward, so every call carries the token.
+     */
+    @Bean
+    public RequestInterceptor internalTokenInterceptor(
+            @Value("${internal.token}") String internalToken) {
+        return requestTemplate -> requestTemplate.header("X-Internal-Token", internalToken);
+    }
+}
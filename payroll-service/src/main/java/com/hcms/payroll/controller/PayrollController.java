@@ -1,8 +1,11 @@
 package com.hcms.payroll.controller;
 
+import com.hcms.common.dto.CursorPage;
 import com.hcms.payroll.dto.PayrollRequest;
 import com.hcms.payroll.dto.PayrollResponse;
+import com.hcms.payroll.exception.ResourceNotFoundException;
 import com.hcms.payroll.service.PayrollService;
+import com.hcms.payroll.service.PayslipArchiveService;
 import com.hcms.payroll.service.PdfService;
 import com.hcms.payroll.util.SecurityUtil;
 import jakarta.validation.Valid;
@@ -16,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/payroll")
@@ -25,6 +29,7 @@ public class PayrollController {
 
     private final PayrollService payrollService;
     private final PdfService pdfService;
+    private final PayslipArchiveService payslipArchiveService;
 
     @PostMapping
     public ResponseEntity<PayrollResponse> createPayroll(@Valid @RequestBody PayrollRequest request) {
@@ -64,6 +69,20 @@ public class PayrollController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Keyset variant, selected by the {@code cursor} parameter (empty for the first
+     * page). Seeks past the last id instead of using OFFSET and skips the count query.
+     */
+    @GetMapping(value = "/period", params = "cursor")
+    public ResponseEntity<CursorPage<PayrollResponse>> getPayrollsByPeriodByCursor(
+            @RequestParam Integer month,
+            @RequestParam Integer year,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        SecurityUtil.checkPayrollAccess();
+        return ResponseEntity.ok(payrollService.getPayrollsByPeriod(month, year, cursor, size));
+    }
+
     @PostMapping("/{id}/process")
     public ResponseEntity<PayrollResponse> processPayroll(@PathVariable Long id) {
         SecurityUtil.checkPayrollAccess();
@@ -97,5 +116,23 @@ public class PayrollController {
                 .headers(headers)
                 .body(pdfBytes);
     }
-}
 
+    @GetMapping("/period/payslips")
+    public ResponseEntity<StreamingResponseBody> downloadPeriodPayslips(
+            @RequestParam Integer month,
+            @RequestParam Integer year) {
+        SecurityUtil.checkPayrollAccess();
+        if (!payrollService.hasPayrollsForPeriod(month, year)) {
+            throw new ResourceNotFoundException(String.format("No payrolls found for period %02d/%d", month, year));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", String.format("payslips_%02d_%d.zip", month, year));
+
+        StreamingResponseBody body = out -> payslipArchiveService.writePeriodArchive(month, year, out);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+}
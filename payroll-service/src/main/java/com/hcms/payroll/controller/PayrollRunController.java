@@ -0,0 +1,43 @@
+package com.hcms.payroll.controller;
+
+import com.hcms.payroll.dto.PayrollRunRequest;
+import com.hcms.payroll.dto.PayrollRunResponse;
+import com.hcms.payroll.service.PayrollRunService;
+import com.hcms.payroll.util.SecurityUtil;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payroll/runs")
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollRunController {
+
+    private final PayrollRunService payrollRunService;
+
+    @PostMapping
+    public ResponseEntity<PayrollRunResponse> startRun(@Valid @RequestBody PayrollRunRequest request) {
+        SecurityUtil.checkPayrollAccess();
+        log.info("Starting payroll run for period {}/{}", request.getMonth(), request.getYear());
+        PayrollRunResponse response = payrollRunService.startRun(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PayrollRunResponse> getRun(@PathVariable Long id) {
+        SecurityUtil.checkPayrollAccess();
+        PayrollRunResponse response = payrollRunService.getRun(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<PayrollRunResponse> resumeRun(@PathVariable Long id) {
+        SecurityUtil.checkPayrollAccess();
+        PayrollRunResponse response = payrollRunService.resumeRun(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
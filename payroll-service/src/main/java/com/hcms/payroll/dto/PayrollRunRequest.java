@@ -0,0 +1,37 @@
+package com.hcms.payroll.dto;
+
+import com.hcms.payroll.entity.SalarySource;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunRequest {
+    @NotNull(message = "Month is required")
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private Integer month;
+
+    @NotNull(message = "Year is required")
+    private Integer year;
+
+    @NotNull(message = "Salary source is required")
+    private SalarySource salarySource;
+
+    private LocalDate paymentDate;
+
+    // Required when salarySource is REQUEST; paymentDate on each entry is ignored
+    @Valid
+    private List<PayrollRequest> entries;
+}
@@ -0,0 +1,35 @@
+package com.hcms.payroll.dto;
+
+import com.hcms.payroll.entity.PayrollRunStatus;
+import com.hcms.payroll.entity.SalarySource;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunResponse {
+    private Long id;
+    private Integer payPeriodMonth;
+    private Integer payPeriodYear;
+    private SalarySource salarySource;
+    private LocalDate paymentDate;
+    private PayrollRunStatus status;
+    private Integer totalEmployees;
+    private Integer processedCount;
+    private Integer createdCount;
+    private Integer skippedCount;
+    private Integer failedCount;
+    private Long durationMillis;
+    private Double rowsPerSecond;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+}
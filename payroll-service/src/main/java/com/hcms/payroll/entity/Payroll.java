@@ -13,6 +13,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "payrolls", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"employee_id", "pay_period_month", "pay_period_year"})
+}, indexes = {
+    // With the implicit primary key suffix this serves id-ordered seeks within a period
+    @Index(name = "idx_payrolls_period", columnList = "pay_period_year, pay_period_month")
 })
 @Data
 @NoArgsConstructor
@@ -69,6 +72,10 @@ public class Payroll {
     @Column(name = "status", nullable = false)
     private PayrollStatus status = PayrollStatus.PENDING;
 
+    // Set when the payroll was created by a bulk run
+    @Column(name = "payroll_run_id")
+    private Long payrollRunId;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,21 @@
+package com.hcms.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per pay period, locked while a payroll run is started for it, so
+ * that instances start at most one active run per period.
+ */
+@Entity
+@Table(name = "payroll_period_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollPeriodLock {
+    // year * 100 + month, e.g. 202603
+    @Id
+    private Long id;
+}
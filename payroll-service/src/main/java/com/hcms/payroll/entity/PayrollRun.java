@@ -0,0 +1,85 @@
+package com.hcms.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_runs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pay_period_month", nullable = false)
+    private Integer payPeriodMonth;
+
+    @Column(name = "pay_period_year", nullable = false)
+    private Integer payPeriodYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "salary_source", nullable = false)
+    private SalarySource salarySource;
+
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private PayrollRunStatus status = PayrollRunStatus.PENDING;
+
+    @Column(name = "total_employees")
+    private Integer totalEmployees = 0;
+
+    @Column(name = "processed_count")
+    private Integer processedCount = 0;
+
+    @Column(name = "created_count")
+    private Integer createdCount = 0;
+
+    @Column(name = "skipped_count")
+    private Integer skippedCount = 0;
+
+    @Column(name = "failed_count")
+    private Integer failedCount = 0;
+
+    @Column(name = "duration_millis")
+    private Long durationMillis;
+
+    @Column(name = "rows_per_second")
+    private Double rowsPerSecond;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
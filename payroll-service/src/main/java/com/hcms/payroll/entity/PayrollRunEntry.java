@@ -0,0 +1,51 @@
+package com.hcms.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Salary line submitted with a {@link SalarySource#REQUEST} run, kept so the
+ * run can be resumed after a crash.
+ */
+@Entity
+@Table(name = "payroll_run_entries", indexes = {
+    @Index(name = "idx_payroll_run_entries_run", columnList = "run_id, employee_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollRunEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "base_salary", nullable = false, precision = 10, scale = 2)
+    private BigDecimal baseSalary;
+
+    @Column(name = "allowances", precision = 10, scale = 2)
+    private BigDecimal allowances;
+
+    @Column(name = "bonus", precision = 10, scale = 2)
+    private BigDecimal bonus;
+
+    @Column(name = "overtime", precision = 10, scale = 2)
+    private BigDecimal overtime;
+
+    @Column(name = "provident_fund", precision = 10, scale = 2)
+    private BigDecimal providentFund;
+
+    @Column(name = "other_deductions", precision = 10, scale = 2)
+    private BigDecimal otherDeductions;
+}
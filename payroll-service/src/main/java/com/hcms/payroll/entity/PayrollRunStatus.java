@@ -0,0 +1,8 @@
+package com.hcms.payroll.entity;
+
+public enum PayrollRunStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.hcms.payroll.entity;
+
+public enum SalarySource {
+    /** Salary lines supplied with the run request. */
+    REQUEST,
+    /** Base salary, allowances and other deductions carried over from the previous period's payrolls. */
+    PREVIOUS_PERIOD
+}
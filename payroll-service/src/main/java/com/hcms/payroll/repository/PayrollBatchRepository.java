@@ -0,0 +1,157 @@
+package com.hcms.payroll.repository;
+
+import com.hcms.payroll.dto.PayrollRequest;
+import com.hcms.payroll.entity.Payroll;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access for bulk payroll runs. The {@code payrolls} table uses
+ * IDENTITY keys, which stops Hibernate from batching inserts, so bulk writes
+ * go through {@link JdbcTemplate#batchUpdate} instead.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PayrollBatchRepository {
+
+    // The no-op update only absorbs duplicate keys; unlike INSERT IGNORE it does not hide other errors
+    private static final String INSERT_PAYROLL = "INSERT INTO payrolls (employee_id, pay_period_month, " +
+            "pay_period_year, base_salary, allowances, bonus, overtime, gross_salary, tax_deduction, provident_fund, " +
+            "other_deductions, total_deductions, net_salary, payment_date, status, payroll_run_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE id = id";
+
+    private static final String INSERT_ENTRY = "INSERT INTO payroll_run_entries (run_id, employee_id, base_salary, " +
+            "allowances, bonus, overtime, provident_fund, other_deductions) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the payrolls in one JDBC batch. Rows that collide with an existing
+     * payroll for the same employee and period are left as they are.
+     *
+     * @return the number of rows inserted
+     */
+    public int insertPayrolls(List<Payroll> payrolls, Long runId) {
+        if (payrolls.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PAYROLL, payrolls, payrolls.size(), (ps, p) -> {
+            ps.setLong(1, p.getEmployeeId());
+            ps.setInt(2, p.getPayPeriodMonth());
+            ps.setInt(3, p.getPayPeriodYear());
+            ps.setBigDecimal(4, p.getBaseSalary());
+            ps.setBigDecimal(5, p.getAllowances());
+            ps.setBigDecimal(6, p.getBonus());
+            ps.setBigDecimal(7, p.getOvertime());
+            ps.setBigDecimal(8, p.getGrossSalary());
+            ps.setBigDecimal(9, p.getTaxDeduction());
+            ps.setBigDecimal(10, p.getProvidentFund());
+            ps.setBigDecimal(11, p.getOtherDeductions());
+            ps.setBigDecimal(12, p.getTotalDeductions());
+            ps.setBigDecimal(13, p.getNetSalary());
+            ps.setDate(14, Date.valueOf(p.getPaymentDate()));
+            ps.setString(15, p.getStatus().name());
+            ps.setLong(16, runId);
+            ps.setTimestamp(17, now);
+            ps.setTimestamp(18, now);
+        });
+
+        // Rewritten batches report SUCCESS_NO_INFO per row whether or not it was inserted,
+        // so count the run's rows instead; only this insert writes them for these employees
+        Payroll first = payrolls.get(0);
+        String placeholders = String.join(",", Collections.nCopies(payrolls.size(), "?"));
+        List<Object> args = new ArrayList<>(payrolls.size() + 3);
+        args.add(runId);
+        args.add(first.getPayPeriodMonth());
+        args.add(first.getPayPeriodYear());
+        for (Payroll p : payrolls) {
+            args.add(p.getEmployeeId());
+        }
+        Integer inserted = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payrolls WHERE payroll_run_id = ? AND pay_period_month = ? " +
+                        "AND pay_period_year = ? AND employee_id IN (" + placeholders + ")",
+                Integer.class, args.toArray());
+        return inserted != null ? inserted : 0;
+    }
+
+    public void insertRunEntries(Long runId, List<PayrollRequest> entries, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, batchSize, (ps, e) -> {
+            ps.setLong(1, runId);
+            ps.setLong(2, e.getEmployeeId());
+            ps.setBigDecimal(3, e.getBaseSalary());
+            ps.setBigDecimal(4, e.getAllowances());
+            ps.setBigDecimal(5, e.getBonus());
+            ps.setBigDecimal(6, e.getOvertime());
+            ps.setBigDecimal(7, e.getProvidentFund());
+            ps.setBigDecimal(8, e.getOtherDeductions());
+        });
+    }
+
+    public List<PayrollRequest> findRunEntries(Long runId) {
+        return jdbcTemplate.query(
+                "SELECT employee_id, base_salary, allowances, bonus, overtime, provident_fund, other_deductions " +
+                        "FROM payroll_run_entries WHERE run_id = ? ORDER BY employee_id",
+                (rs, i) -> PayrollRequest.builder()
+                        .employeeId(rs.getLong(1))
+                        .baseSalary(rs.getBigDecimal(2))
+                        .allowances(rs.getBigDecimal(3))
+                        .bonus(rs.getBigDecimal(4))
+                        .overtime(rs.getBigDecimal(5))
+                        .providentFund(rs.getBigDecimal(6))
+                        .otherDeductions(rs.getBigDecimal(7))
+                        .build(),
+                runId);
+    }
+
+    /**
+     * Salary lines for the period carried over from each employee's payroll in
+     * the given (previous) period. Bonus and overtime are per-period and not carried.
+     */
+    public List<PayrollRequest> findCarryOverSalaries(int month, int year) {
+        return jdbcTemplate.query(
+                "SELECT employee_id, base_salary, allowances, other_deductions FROM payrolls " +
+                        "WHERE pay_period_month = ? AND pay_period_year = ? AND status <> 'CANCELLED' " +
+                        "ORDER BY employee_id",
+                (rs, i) -> PayrollRequest.builder()
+                        .employeeId(rs.getLong(1))
+                        .baseSalary(rs.getBigDecimal(2))
+                        .allowances(rs.getBigDecimal(3))
+                        .otherDeductions(rs.getBigDecimal(4))
+                        .build(),
+                month, year);
+    }
+
+    /**
+     * Employees that already have a payroll for the period, mapped to the run
+     * that created it (or {@code null} for payrolls created individually).
+     */
+    public Map<Long, Long> findExistingPayrollOwners(int month, int year) {
+        Map<Long, Long> owners = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT employee_id, payroll_run_id FROM payrolls WHERE pay_period_month = ? AND pay_period_year = ?",
+                rs -> {
+                    long runId = rs.getLong(2);
+                    owners.put(rs.getLong(1), rs.wasNull() ? null : runId);
+                },
+                month, year);
+        return owners;
+    }
+
+    public void addProgress(Long runId, int processed, int created, int skipped, int failed) {
+        jdbcTemplate.update(
+                "UPDATE payroll_runs SET processed_count = processed_count + ?, created_count = created_count + ?, " +
+                        "skipped_count = skipped_count + ?, failed_count = failed_count + ?, updated_at = ? WHERE id = ?",
+                processed, created, skipped, failed, Timestamp.valueOf(LocalDateTime.now()), runId);
+    }
+}
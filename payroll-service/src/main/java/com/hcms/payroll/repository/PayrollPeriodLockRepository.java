@@ -0,0 +1,23 @@
+package com.hcms.payroll.repository;
+
+import com.hcms.payroll.entity.PayrollPeriodLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PayrollPeriodLockRepository extends JpaRepository<PayrollPeriodLock, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM PayrollPeriodLock l WHERE l.id = :id")
+    Optional<PayrollPeriodLock> lockById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO payroll_period_locks (id) VALUES (:id)", nativeQuery = true)
+    int insertIfMissing(@Param("id") Long id);
+}
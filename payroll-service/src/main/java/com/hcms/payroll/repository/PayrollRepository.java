@@ -25,5 +25,11 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
                                    Pageable pageable);
     
     List<Payroll> findByStatus(PayrollStatus status);
+
+    boolean existsByPayPeriodMonthAndPayPeriodYear(Integer month, Integer year);
+
+    // Keyset page over a period: no OFFSET and no count query, so the cost per page stays flat
+    List<Payroll> findByPayPeriodMonthAndPayPeriodYearAndIdGreaterThanOrderByIdAsc(
+            Integer month, Integer year, Long id, Pageable pageable);
 }
 
@@ -0,0 +1,14 @@
+package com.hcms.payroll.repository;
+
+import com.hcms.payroll.entity.PayrollRun;
+import com.hcms.payroll.entity.PayrollRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+    boolean existsByPayPeriodMonthAndPayPeriodYearAndStatusIn(
+            Integer month, Integer year, Collection<PayrollRunStatus> statuses);
+}
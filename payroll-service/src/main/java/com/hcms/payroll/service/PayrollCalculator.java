@@ -0,0 +1,75 @@
+package com.hcms.payroll.service;
+
+import com.hcms.payroll.entity.Payroll;
+import com.hcms.payroll.entity.PayrollStatus;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Gross/tax/PF/net computation shared by single payroll creation and bulk runs.
+ */
+@Component
+public class PayrollCalculator {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.20"); // 20% tax
+    private static final BigDecimal PF_RATE = new BigDecimal("0.12"); // 12% PF
+    private static final BigDecimal TAX_THRESHOLD = new BigDecimal("50000");
+
+    public Payroll calculate(Long employeeId, int month, int year,
+                             BigDecimal baseSalary, BigDecimal allowances, BigDecimal bonus, BigDecimal overtime,
+                             BigDecimal providentFund, BigDecimal otherDeductions, LocalDate paymentDate) {
+        allowances = allowances != null ? allowances : BigDecimal.ZERO;
+        bonus = bonus != null ? bonus : BigDecimal.ZERO;
+        overtime = overtime != null ? overtime : BigDecimal.ZERO;
+
+        // Calculate gross salary
+        BigDecimal grossSalary = baseSalary
+                .add(allowances)
+                .add(bonus)
+                .add(overtime);
+
+        // Calculate deductions
+        BigDecimal taxDeduction = calculateTax(grossSalary);
+        providentFund = providentFund != null
+                ? providentFund
+                : baseSalary.multiply(PF_RATE).setScale(2, RoundingMode.HALF_UP);
+        otherDeductions = otherDeductions != null ? otherDeductions : BigDecimal.ZERO;
+
+        BigDecimal totalDeductions = taxDeduction
+                .add(providentFund)
+                .add(otherDeductions);
+
+        // Calculate net salary
+        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
+
+        return Payroll.builder()
+                .employeeId(employeeId)
+                .payPeriodMonth(month)
+                .payPeriodYear(year)
+                .baseSalary(baseSalary)
+                .allowances(allowances)
+                .bonus(bonus)
+                .overtime(overtime)
+                .grossSalary(grossSalary)
+                .taxDeduction(taxDeduction)
+                .providentFund(providentFund)
+                .otherDeductions(otherDeductions)
+                .totalDeductions(totalDeductions)
+                .netSalary(netSalary)
+                .paymentDate(paymentDate != null ? paymentDate : LocalDate.now())
+                .status(PayrollStatus.PENDING)
+                .build();
+    }
+
+    private BigDecimal calculateTax(BigDecimal grossSalary) {
+        // Simple tax calculation - 20% of gross salary above threshold
+        if (grossSalary.compareTo(TAX_THRESHOLD) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal taxableAmount = grossSalary.subtract(TAX_THRESHOLD);
+        return taxableAmount.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+}
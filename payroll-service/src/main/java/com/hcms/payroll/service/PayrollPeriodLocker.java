@@ -0,0 +1,35 @@
+package com.hcms.payroll.service;
+
+import com.hcms.payroll.repository.PayrollPeriodLockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serializes the start of payroll runs for one pay period across instances
+ * with SELECT ... FOR UPDATE on the period's lock row. Two requests could
+ * otherwise both find no active run and both insert one.
+ * <p>
+ * The lock must be taken before the transaction's first plain read: under
+ * REPEATABLE READ that read fixes the snapshot every later read sees, and a
+ * snapshot from before the lock would miss a run the previous holder created.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollPeriodLocker {
+
+    private final PayrollPeriodLockRepository lockRepository;
+
+    /**
+     * Held until the caller's transaction ends. The period's row is created
+     * on first use; a concurrent creator waits on the insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(int month, int year) {
+        long id = year * 100L + month;
+        lockRepository.insertIfMissing(id);
+        lockRepository.lockById(id)
+                .orElseThrow(() -> new IllegalStateException("Payroll period lock row is missing"));
+    }
+}
@@ -0,0 +1,342 @@
+package com.hcms.payroll.service;
+
+import com.hcms.payroll.client.EmployeeServiceClient;
+import com.hcms.payroll.client.dto.EmployeeSummaryResponse;
+import com.hcms.payroll.dto.PayrollRequest;
+import com.hcms.payroll.dto.PayrollRunRequest;
+import com.hcms.payroll.dto.PayrollRunResponse;
+import com.hcms.payroll.entity.Payroll;
+import com.hcms.payroll.entity.PayrollRun;
+import com.hcms.payroll.entity.PayrollRunStatus;
+import com.hcms.payroll.entity.SalarySource;
+import com.hcms.payroll.exception.BadRequestException;
+import com.hcms.payroll.exception.ResourceNotFoundException;
+import com.hcms.payroll.repository.PayrollBatchRepository;
+import com.hcms.payroll.repository.PayrollRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Generates payrolls for a whole pay period. The employee list is split into
+ * chunks that a worker pool validates (one batched employee lookup per chunk),
+ * computes in memory and writes with JDBC batch inserts.
+ *
+ * <p>A run is idempotent: employees that already have a payroll for the period
+ * are skipped, so a run left RUNNING or FAILED by a crash can simply be resumed.
+ */
+@Service
+@Slf4j
+public class PayrollRunService {
+
+    private static final List<PayrollRunStatus> ACTIVE_STATUSES =
+            List.of(PayrollRunStatus.PENDING, PayrollRunStatus.RUNNING);
+    // Only employees with this employment status are paid by a run
+    private static final String PAYABLE_EMPLOYEE_STATUS = "ACTIVE";
+    private static final int EMPLOYEE_PAGE_SIZE = 1000;
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollBatchRepository payrollBatchRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final EmployeeServiceClient employeeServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollPeriodLocker payrollPeriodLocker;
+    private final int chunkSize;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor();
+    private final ExecutorService workers;
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public PayrollRunService(PayrollRunRepository payrollRunRepository,
+                             PayrollBatchRepository payrollBatchRepository,
+                             PayrollCalculator payrollCalculator,
+                             EmployeeServiceClient employeeServiceClient,
+                             TransactionTemplate transactionTemplate,
+                             PayrollPeriodLocker payrollPeriodLocker,
+                             @Value("${payroll.run.workers:4}") int workerCount,
+                             @Value("${payroll.run.chunk-size:500}") int chunkSize) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.payrollBatchRepository = payrollBatchRepository;
+        this.payrollCalculator = payrollCalculator;
+        this.employeeServiceClient = employeeServiceClient;
+        this.transactionTemplate = transactionTemplate;
+        this.payrollPeriodLocker = payrollPeriodLocker;
+        this.chunkSize = chunkSize;
+        this.workers = Executors.newFixedThreadPool(workerCount);
+    }
+
+    public PayrollRunResponse startRun(PayrollRunRequest request) {
+        log.info("Starting payroll run for {}/{} from {}", request.getMonth(), request.getYear(), request.getSalarySource());
+
+        List<PayrollRequest> entries = request.getEntries();
+        if (request.getSalarySource() == SalarySource.REQUEST && (entries == null || entries.isEmpty())) {
+            throw new BadRequestException("Entries are required when salary source is REQUEST");
+        }
+
+        PayrollRun run = transactionTemplate.execute(status -> {
+            // Checked and inserted under the period's lock, so concurrent starts cannot both pass
+            payrollPeriodLocker.lock(request.getMonth(), request.getYear());
+            if (payrollRunRepository.existsByPayPeriodMonthAndPayPeriodYearAndStatusIn(
+                    request.getMonth(), request.getYear(), ACTIVE_STATUSES)) {
+                throw new BadRequestException("A payroll run is already in progress for this period");
+            }
+            PayrollRun created = payrollRunRepository.save(PayrollRun.builder()
+                    .payPeriodMonth(request.getMonth())
+                    .payPeriodYear(request.getYear())
+                    .salarySource(request.getSalarySource())
+                    .paymentDate(request.getPaymentDate() != null ? request.getPaymentDate() : LocalDate.now())
+                    .status(PayrollRunStatus.PENDING)
+                    .totalEmployees(0)
+                    .processedCount(0)
+                    .createdCount(0)
+                    .skippedCount(0)
+                    .failedCount(0)
+                    .build());
+            if (request.getSalarySource() == SalarySource.REQUEST) {
+                payrollBatchRepository.insertRunEntries(created.getId(), entries, chunkSize);
+            }
+            return created;
+        });
+
+        submit(run.getId());
+        return mapToResponse(run);
+    }
+
+    public PayrollRunResponse resumeRun(Long id) {
+        PayrollRun run = findRun(id);
+        if (run.getStatus() == PayrollRunStatus.COMPLETED) {
+            throw new BadRequestException("Payroll run is already completed");
+        }
+        if (activeRuns.contains(id)) {
+            throw new BadRequestException("Payroll run is already executing");
+        }
+        log.info("Resuming payroll run: {}", id);
+        submit(id);
+        return mapToResponse(run);
+    }
+
+    public PayrollRunResponse getRun(Long id) {
+        return mapToResponse(findRun(id));
+    }
+
+    private void submit(Long runId) {
+        if (!activeRuns.add(runId)) {
+            throw new BadRequestException("Payroll run is already executing");
+        }
+        coordinator.execute(() -> {
+            try {
+                execute(runId);
+            } finally {
+                activeRuns.remove(runId);
+            }
+        });
+    }
+
+    private void execute(Long runId) {
+        PayrollRun run = findRun(runId);
+        int month = run.getPayPeriodMonth();
+        int year = run.getPayPeriodYear();
+        long startNanos = System.nanoTime();
+
+        try {
+            List<PayrollRequest> salaries = loadSalaries(run);
+            Map<Long, Long> existing = payrollBatchRepository.findExistingPayrollOwners(month, year);
+            int alreadyCreated = (int) existing.values().stream().filter(runId::equals).count();
+
+            // Counters restart on every attempt; payrolls created by an earlier attempt count as created
+            run.setStatus(PayrollRunStatus.RUNNING);
+            run.setTotalEmployees(salaries.size());
+            run.setProcessedCount(alreadyCreated);
+            run.setCreatedCount(alreadyCreated);
+            run.setSkippedCount(0);
+            run.setFailedCount(0);
+            run.setErrorMessage(null);
+            if (run.getStartedAt() == null) {
+                run.setStartedAt(LocalDateTime.now());
+            }
+            run = payrollRunRepository.save(run);
+
+            AtomicInteger insertedThisAttempt = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < salaries.size(); from += chunkSize) {
+                List<PayrollRequest> chunk = salaries.subList(from, Math.min(from + chunkSize, salaries.size()));
+                PayrollRun current = run;
+                futures.add(workers.submit(() ->
+                        insertedThisAttempt.addAndGet(processChunk(current, chunk, existing))));
+            }
+
+            String error = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.error("Payroll run {} chunk failed: {}", runId, e.getCause().getMessage());
+                    error = e.getCause().getMessage();
+                }
+            }
+
+            finish(runId, error == null ? PayrollRunStatus.COMPLETED : PayrollRunStatus.FAILED,
+                    error, startNanos, insertedThisAttempt.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(runId, PayrollRunStatus.FAILED, "Interrupted", startNanos, 0);
+        } catch (RuntimeException e) {
+            log.error("Payroll run {} failed: ", runId, e);
+            finish(runId, PayrollRunStatus.FAILED, e.getMessage(), startNanos, 0);
+        }
+    }
+
+    private int processChunk(PayrollRun run, List<PayrollRequest> chunk, Map<Long, Long> existing) {
+        int skipped = 0;
+        int createdEarlier = 0;
+        List<PayrollRequest> pending = new ArrayList<>(chunk.size());
+        for (PayrollRequest salary : chunk) {
+            if (existing.containsKey(salary.getEmployeeId())) {
+                // Already created by this run in an earlier attempt, or created individually
+                if (Objects.equals(existing.get(salary.getEmployeeId()), run.getId())) {
+                    createdEarlier++;
+                } else {
+                    skipped++;
+                }
+            } else {
+                pending.add(salary);
+            }
+        }
+
+        int failed = 0;
+        List<Payroll> payrolls = new ArrayList<>(pending.size());
+        if (!pending.isEmpty()) {
+            Map<Long, String> employeeStatuses = new HashMap<>();
+            for (EmployeeSummaryResponse summary : employeeServiceClient.getEmployeesByIds(
+                    pending.stream().map(PayrollRequest::getEmployeeId).collect(Collectors.toList()))) {
+                employeeStatuses.put(summary.getId(), summary.getStatus());
+            }
+            for (PayrollRequest salary : pending) {
+                if (!employeeStatuses.containsKey(salary.getEmployeeId()) || salary.getBaseSalary() == null) {
+                    failed++;
+                    continue;
+                }
+                if (!PAYABLE_EMPLOYEE_STATUS.equals(employeeStatuses.get(salary.getEmployeeId()))) {
+                    // Terminated, inactive or on leave
+                    skipped++;
+                    continue;
+                }
+                payrolls.add(payrollCalculator.calculate(
+                        salary.getEmployeeId(), run.getPayPeriodMonth(), run.getPayPeriodYear(),
+                        salary.getBaseSalary(), salary.getAllowances(), salary.getBonus(), salary.getOvertime(),
+                        salary.getProvidentFund(), salary.getOtherDeductions(), run.getPaymentDate()));
+            }
+        }
+
+        int inserted = payrollBatchRepository.insertPayrolls(payrolls, run.getId());
+        // A concurrent single createPayroll can win the unique key between our read and insert
+        skipped += payrolls.size() - inserted;
+        // Payrolls created by an earlier attempt were already counted when the run restarted
+        payrollBatchRepository.addProgress(run.getId(), chunk.size() - createdEarlier, inserted, skipped, failed);
+        return inserted;
+    }
+
+    private List<PayrollRequest> loadSalaries(PayrollRun run) {
+        if (run.getSalarySource() == SalarySource.REQUEST) {
+            return payrollBatchRepository.findRunEntries(run.getId());
+        }
+        YearMonth previous = YearMonth.of(run.getPayPeriodYear(), run.getPayPeriodMonth()).minusMonths(1);
+        List<PayrollRequest> salaries = new ArrayList<>(
+                payrollBatchRepository.findCarryOverSalaries(previous.getMonthValue(), previous.getYear()));
+
+        // Active employees without a previous payroll have nothing to carry over; a line without
+        // a base salary makes them count as failed instead of being left out of the run
+        Set<Long> carried = salaries.stream().map(PayrollRequest::getEmployeeId).collect(Collectors.toSet());
+        for (Long employeeId : findPayableEmployeeIds()) {
+            if (!carried.contains(employeeId)) {
+                salaries.add(PayrollRequest.builder().employeeId(employeeId).build());
+            }
+        }
+        salaries.sort(Comparator.comparing(PayrollRequest::getEmployeeId));
+        return salaries;
+    }
+
+    private List<Long> findPayableEmployeeIds() {
+        List<Long> ids = new ArrayList<>();
+        long afterId = 0;
+        List<EmployeeSummaryResponse> page;
+        do {
+            page = employeeServiceClient.getEmployeeSummaries(afterId, EMPLOYEE_PAGE_SIZE, null, null);
+            for (EmployeeSummaryResponse summary : page) {
+                if (PAYABLE_EMPLOYEE_STATUS.equals(summary.getStatus())) {
+                    ids.add(summary.getId());
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == EMPLOYEE_PAGE_SIZE);
+        return ids;
+    }
+
+    private void finish(Long runId, PayrollRunStatus status, String error, long startNanos, int inserted) {
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        PayrollRun run = findRun(runId);
+        run.setStatus(status);
+        run.setErrorMessage(error);
+        run.setDurationMillis(durationMillis);
+        run.setRowsPerSecond(durationMillis > 0 ? inserted * 1000.0 / durationMillis : (double) inserted);
+        run.setCompletedAt(LocalDateTime.now());
+        payrollRunRepository.save(run);
+        log.info("Payroll run {} {}: {} rows in {} ms ({} rows/sec)",
+                runId, status, inserted, durationMillis, String.format("%.1f", run.getRowsPerSecond()));
+    }
+
+    private PayrollRun findRun(Long id) {
+        return payrollRunRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payroll run not found with id: " + id));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private PayrollRunResponse mapToResponse(PayrollRun run) {
+        return PayrollRunResponse.builder()
+                .id(run.getId())
+                .payPeriodMonth(run.getPayPeriodMonth())
+                .payPeriodYear(run.getPayPeriodYear())
+                .salarySource(run.getSalarySource())
+                .paymentDate(run.getPaymentDate())
+                .status(run.getStatus())
+                .totalEmployees(run.getTotalEmployees())
+                .processedCount(run.getProcessedCount())
+                .createdCount(run.getCreatedCount())
+                .skippedCount(run.getSkippedCount())
+                .failedCount(run.getFailedCount())
+                .durationMillis(run.getDurationMillis())
+                .rowsPerSecond(run.getRowsPerSecond())
+                .errorMessage(run.getErrorMessage())
+                .startedAt(run.getStartedAt())
+                .completedAt(run.getCompletedAt())
+                .createdAt(run.getCreatedAt())
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.hcms.payroll.service;
 
-import com.hcms.payroll.client.EmployeeServiceClient;
+import com.hcms.common.dto.CursorPage;
+import com.hcms.common.util.CursorCodec;
+import com.hcms.payroll.client.EmployeeSummaryCache;
 import com.hcms.payroll.dto.PayrollRequest;
 import com.hcms.payroll.dto.PayrollResponse;
 import com.hcms.payroll.entity.Payroll;
@@ -12,14 +14,15 @@ import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,23 +30,24 @@ import java.time.YearMonth;
 public class PayrollService {
 
     private final PayrollRepository payrollRepository;
-    private final EmployeeServiceClient employeeServiceClient;
-    private static final BigDecimal TAX_RATE = new BigDecimal("0.20"); // 20% tax
-    private static final BigDecimal PF_RATE = new BigDecimal("0.12"); // 12% PF
+    private final EmployeeSummaryCache employeeSummaryCache;
+    private final PayrollCalculator payrollCalculator;
 
     @Transactional
     public PayrollResponse createPayroll(PayrollRequest request) {
         log.info("Creating payroll for employee: {}", request.getEmployeeId());
 
         // Validate employee exists
+        boolean exists;
         try {
-            employeeServiceClient.getEmployeeById(request.getEmployeeId());
-        } catch (FeignException.NotFound e) {
-            throw new BadRequestException("Employee not found with id: " + request.getEmployeeId());
-        } catch (FeignException e) {
+            exists = employeeSummaryCache.exists(request.getEmployeeId());
+        } catch (FeignException | IllegalStateException e) {
             log.error("Error calling employee service: {}", e.getMessage());
             throw new BadRequestException("Unable to validate employee");
         }
+        if (!exists) {
+            throw new BadRequestException("Employee not found with id: " + request.getEmployeeId());
+        }
 
         YearMonth currentPeriod = YearMonth.now();
         int month = request.getPaymentDate() != null 
@@ -59,50 +63,10 @@ public class PayrollService {
             throw new BadRequestException("Payroll already exists for this period");
         }
 
-        BigDecimal baseSalary = request.getBaseSalary();
-        BigDecimal allowances = request.getAllowances() != null ? request.getAllowances() : BigDecimal.ZERO;
-        BigDecimal bonus = request.getBonus() != null ? request.getBonus() : BigDecimal.ZERO;
-        BigDecimal overtime = request.getOvertime() != null ? request.getOvertime() : BigDecimal.ZERO;
-
-        // Calculate gross salary
-        BigDecimal grossSalary = baseSalary
-                .add(allowances)
-                .add(bonus)
-                .add(overtime);
-
-        // Calculate deductions
-        BigDecimal taxDeduction = calculateTax(grossSalary);
-        BigDecimal providentFund = request.getProvidentFund() != null 
-                ? request.getProvidentFund() 
-                : baseSalary.multiply(PF_RATE).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal otherDeductions = request.getOtherDeductions() != null 
-                ? request.getOtherDeductions() 
-                : BigDecimal.ZERO;
-
-        BigDecimal totalDeductions = taxDeduction
-                .add(providentFund)
-                .add(otherDeductions);
-
-        // Calculate net salary
-        BigDecimal netSalary = grossSalary.subtract(totalDeductions);
-
-        Payroll payroll = Payroll.builder()
-                .employeeId(request.getEmployeeId())
-                .payPeriodMonth(month)
-                .payPeriodYear(year)
-                .baseSalary(baseSalary)
-                .allowances(allowances)
-                .bonus(bonus)
-                .overtime(overtime)
-                .grossSalary(grossSalary)
-                .taxDeduction(taxDeduction)
-                .providentFund(providentFund)
-                .otherDeductions(otherDeductions)
-                .totalDeductions(totalDeductions)
-                .netSalary(netSalary)
-                .paymentDate(request.getPaymentDate() != null ? request.getPaymentDate() : LocalDate.now())
-                .status(PayrollStatus.PENDING)
-                .build();
+        Payroll payroll = payrollCalculator.calculate(
+                request.getEmployeeId(), month, year,
+                request.getBaseSalary(), request.getAllowances(), request.getBonus(), request.getOvertime(),
+                request.getProvidentFund(), request.getOtherDeductions(), request.getPaymentDate());
 
         payroll = payrollRepository.save(payroll);
         log.info("Payroll created: {}", payroll.getId());
@@ -162,14 +126,26 @@ public class PayrollService {
                 .map(this::mapToResponse);
     }
 
-    private BigDecimal calculateTax(BigDecimal grossSalary) {
-        // Simple tax calculation - 20% of gross salary above threshold
-        BigDecimal threshold = new BigDecimal("50000");
-        if (grossSalary.compareTo(threshold) <= 0) {
-            return BigDecimal.ZERO;
-        }
-        BigDecimal taxableAmount = grossSalary.subtract(threshold);
-        return taxableAmount.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+    public CursorPage<PayrollResponse> getPayrollsByPeriod(Integer month, Integer year, String cursor, int size) {
+        long afterId = CursorCodec.decode(cursor, 0);
+        int pageSize = CursorCodec.pageSize(size);
+        List<PayrollResponse> rows = getPayrollsByPeriodAfter(month, year, afterId, pageSize + 1);
+        return CursorCodec.page(rows, pageSize, PayrollResponse::getId, Function.identity());
+    }
+
+    public boolean hasPayrollsForPeriod(Integer month, Integer year) {
+        return payrollRepository.existsByPayPeriodMonthAndPayPeriodYear(month, year);
+    }
+
+    /**
+     * Next slice of a period's payrolls in id order, starting after the given id.
+     */
+    public List<PayrollResponse> getPayrollsByPeriodAfter(Integer month, Integer year, Long afterId, int size) {
+        return payrollRepository.findByPayPeriodMonthAndPayPeriodYearAndIdGreaterThanOrderByIdAsc(
+                        month, year, afterId, PageRequest.of(0, size))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
     }
 
     private PayrollResponse mapToResponse(Payroll payroll) {
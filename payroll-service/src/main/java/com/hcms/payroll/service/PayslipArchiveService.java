@@ -0,0 +1,143 @@
+package com.hcms.payroll.service;
+
+import com.hcms.payroll.dto.PayrollResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams every payslip of a pay period into one ZIP. Payslips are rendered
+ * in parallel to temporary files and copied into the archive in payroll id
+ * order, with a bounded number in flight, so heap use does not grow with the
+ * size of the period.
+ */
+@Service
+@Slf4j
+public class PayslipArchiveService {
+
+    private static final int PAGE_SIZE = 200;
+
+    private final PayrollService payrollService;
+    private final PdfService pdfService;
+    private final ExecutorService renderers;
+    private final int maxInFlight;
+
+    public PayslipArchiveService(PayrollService payrollService,
+                                 PdfService pdfService,
+                                 @Value("${payroll.payslip.render-threads:4}") int renderThreads) {
+        this.payrollService = payrollService;
+        this.pdfService = pdfService;
+        this.renderers = Executors.newFixedThreadPool(renderThreads);
+        this.maxInFlight = renderThreads * 2;
+    }
+
+    public void writePeriodArchive(Integer month, Integer year, OutputStream out) throws IOException {
+        log.info("Streaming payslip archive for period {}/{}", month, year);
+        long start = System.currentTimeMillis();
+        int written = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out));
+        Deque<Future<RenderedPayslip>> inFlight = new ArrayDeque<>();
+        try {
+            long afterId = 0;
+            List<PayrollResponse> page;
+            do {
+                page = payrollService.getPayrollsByPeriodAfter(month, year, afterId, PAGE_SIZE);
+                for (PayrollResponse payroll : page) {
+                    if (inFlight.size() >= maxInFlight) {
+                        writeNext(zip, inFlight);
+                        written++;
+                    }
+                    inFlight.add(renderers.submit(() -> render(payroll)));
+                    afterId = payroll.getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+
+            while (!inFlight.isEmpty()) {
+                writeNext(zip, inFlight);
+                written++;
+            }
+            zip.finish();
+            zip.flush();
+            log.info("Streamed {} payslips for {}/{} in {} ms", written, month, year, System.currentTimeMillis() - start);
+        } finally {
+            discard(inFlight);
+        }
+    }
+
+    private RenderedPayslip render(PayrollResponse payroll) {
+        String name = String.format("payslip_%d_%02d_%d.pdf",
+                payroll.getEmployeeId(), payroll.getPayPeriodMonth(), payroll.getPayPeriodYear());
+        try {
+            Path file = Files.createTempFile("payslip-", ".pdf");
+            try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(file))) {
+                pdfService.writePayslip(payroll, os);
+            } catch (RuntimeException | IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new RenderedPayslip(name, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNext(ZipOutputStream zip, Deque<Future<RenderedPayslip>> inFlight) throws IOException {
+        RenderedPayslip payslip = await(inFlight.poll());
+        try {
+            zip.putNextEntry(new ZipEntry(payslip.name()));
+            Files.copy(payslip.file(), zip);
+            zip.closeEntry();
+        } finally {
+            Files.deleteIfExists(payslip.file());
+        }
+    }
+
+    private RenderedPayslip await(Future<RenderedPayslip> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering payslips", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render payslip", e.getCause());
+        }
+    }
+
+    // Waits for renders that were never written (e.g. the client disconnected) and removes their temp files
+    private void discard(Deque<Future<RenderedPayslip>> inFlight) {
+        for (Future<RenderedPayslip> future : inFlight) {
+            try {
+                Files.deleteIfExists(future.get().file());
+            } catch (Exception e) {
+                log.debug("Discarded payslip render: {}", e.getMessage());
+            }
+        }
+        inFlight.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderers.shutdownNow();
+    }
+
+    private record RenderedPayslip(String name, Path file) {
+    }
+}
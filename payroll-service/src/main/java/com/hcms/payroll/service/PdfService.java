@@ -9,29 +9,49 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 
 @Service
 @Slf4j
 public class PdfService {
 
+    // Fonts and the cell template are read-only once built, so they are shared across renders and threads
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
+    private static final Font TABLE_HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font BODY_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10);
+    private static final PdfPCell CELL_TEMPLATE = new PdfPCell();
+
+    static {
+        CELL_TEMPLATE.setPadding(5);
+    }
+
     public byte[] generatePayslip(PayrollResponse payroll) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writePayslip(payroll, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Renders the payslip straight into the given stream. The stream is left
+     * open so callers can write several payslips into one archive.
+     */
+    public void writePayslip(PayrollResponse payroll, OutputStream out) {
         try {
             Document document = new Document();
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, baos);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
             document.open();
 
             // Title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
-            Paragraph title = new Paragraph("PAYSLIP", titleFont);
+            Paragraph title = new Paragraph("PAYSLIP", TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
             title.setSpacingAfter(20);
             document.add(title);
 
             // Company Info
-            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
-            Paragraph companyInfo = new Paragraph("Human Capital Management System", headerFont);
+            Paragraph companyInfo = new Paragraph("Human Capital Management System", HEADER_FONT);
             companyInfo.setAlignment(Element.ALIGN_CENTER);
             companyInfo.setSpacingAfter(10);
             document.add(companyInfo);
@@ -39,7 +59,7 @@ public class PdfService {
             // Pay Period
             Paragraph period = new Paragraph(
                     String.format("Pay Period: %02d/%d", payroll.getPayPeriodMonth(), payroll.getPayPeriodYear()),
-                    FontFactory.getFont(FontFactory.HELVETICA, 10));
+                    BODY_FONT);
             period.setAlignment(Element.ALIGN_CENTER);
             period.setSpacingAfter(20);
             document.add(period);
@@ -61,24 +81,15 @@ public class PdfService {
             earningsTable.setWidthPercentage(100);
             earningsTable.setWidths(new float[]{3, 1});
 
-            Font tableHeaderFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
-            PdfPCell headerCell = new PdfPCell(new Phrase("EARNINGS", tableHeaderFont));
-            headerCell.setColspan(2);
-            headerCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
-            headerCell.setPadding(5);
-            earningsTable.addCell(headerCell);
+            earningsTable.addCell(sectionHeader("EARNINGS"));
 
             addRow(earningsTable, "Base Salary", payroll.getBaseSalary());
             addRow(earningsTable, "Allowances", payroll.getAllowances());
             addRow(earningsTable, "Bonus", payroll.getBonus());
             addRow(earningsTable, "Overtime", payroll.getOvertime());
 
-            PdfPCell grossCell = new PdfPCell(new Phrase("Gross Salary", tableHeaderFont));
-            grossCell.setPadding(5);
-            earningsTable.addCell(grossCell);
-            PdfPCell grossValue = new PdfPCell(new Phrase(formatCurrency(payroll.getGrossSalary()), tableHeaderFont));
-            grossValue.setPadding(5);
-            earningsTable.addCell(grossValue);
+            earningsTable.addCell(cell("Gross Salary", TABLE_HEADER_FONT));
+            earningsTable.addCell(cell(formatCurrency(payroll.getGrossSalary()), TABLE_HEADER_FONT));
 
             document.add(earningsTable);
             document.add(Chunk.NEWLINE);
@@ -88,22 +99,14 @@ public class PdfService {
             deductionsTable.setWidthPercentage(100);
             deductionsTable.setWidths(new float[]{3, 1});
 
-            PdfPCell dedHeaderCell = new PdfPCell(new Phrase("DEDUCTIONS", tableHeaderFont));
-            dedHeaderCell.setColspan(2);
-            dedHeaderCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
-            dedHeaderCell.setPadding(5);
-            deductionsTable.addCell(dedHeaderCell);
+            deductionsTable.addCell(sectionHeader("DEDUCTIONS"));
 
             addRow(deductionsTable, "Tax Deduction", payroll.getTaxDeduction());
             addRow(deductionsTable, "Provident Fund", payroll.getProvidentFund());
             addRow(deductionsTable, "Other Deductions", payroll.getOtherDeductions());
 
-            PdfPCell totalDedCell = new PdfPCell(new Phrase("Total Deductions", tableHeaderFont));
-            totalDedCell.setPadding(5);
-            deductionsTable.addCell(totalDedCell);
-            PdfPCell totalDedValue = new PdfPCell(new Phrase(formatCurrency(payroll.getTotalDeductions()), tableHeaderFont));
-            totalDedValue.setPadding(5);
-            deductionsTable.addCell(totalDedValue);
+            deductionsTable.addCell(cell("Total Deductions", TABLE_HEADER_FONT));
+            deductionsTable.addCell(cell(formatCurrency(payroll.getTotalDeductions()), TABLE_HEADER_FONT));
 
             document.add(deductionsTable);
             document.add(Chunk.NEWLINE);
@@ -113,18 +116,12 @@ public class PdfService {
             netTable.setWidthPercentage(100);
             netTable.setWidths(new float[]{3, 1});
 
-            Font netFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
-            PdfPCell netLabel = new PdfPCell(new Phrase("NET SALARY", netFont));
-            netLabel.setPadding(5);
-            netTable.addCell(netLabel);
-            PdfPCell netValue = new PdfPCell(new Phrase(formatCurrency(payroll.getNetSalary()), netFont));
-            netValue.setPadding(5);
-            netTable.addCell(netValue);
+            netTable.addCell(cell("NET SALARY", HEADER_FONT));
+            netTable.addCell(cell(formatCurrency(payroll.getNetSalary()), HEADER_FONT));
 
             document.add(netTable);
 
             document.close();
-            return baos.toByteArray();
         } catch (Exception e) {
             log.error("Error generating PDF: ", e);
             throw new RuntimeException("Failed to generate payslip PDF", e);
@@ -132,21 +129,26 @@ public class PdfService {
     }
 
     private void addCell(PdfPTable table, String label, String value) {
-        PdfPCell labelCell = new PdfPCell(new Phrase(label, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10)));
-        labelCell.setPadding(5);
-        table.addCell(labelCell);
-        PdfPCell valueCell = new PdfPCell(new Phrase(value, FontFactory.getFont(FontFactory.HELVETICA, 10)));
-        valueCell.setPadding(5);
-        table.addCell(valueCell);
+        table.addCell(cell(label, TABLE_HEADER_FONT));
+        table.addCell(cell(value, BODY_FONT));
     }
 
     private void addRow(PdfPTable table, String label, BigDecimal amount) {
-        PdfPCell labelCell = new PdfPCell(new Phrase(label, FontFactory.getFont(FontFactory.HELVETICA, 10)));
-        labelCell.setPadding(5);
-        table.addCell(labelCell);
-        PdfPCell amountCell = new PdfPCell(new Phrase(formatCurrency(amount), FontFactory.getFont(FontFactory.HELVETICA, 10)));
-        amountCell.setPadding(5);
-        table.addCell(amountCell);
+        table.addCell(cell(label, BODY_FONT));
+        table.addCell(cell(formatCurrency(amount), BODY_FONT));
+    }
+
+    private PdfPCell cell(String text, Font font) {
+        PdfPCell cell = new PdfPCell(CELL_TEMPLATE);
+        cell.setPhrase(new Phrase(text, font));
+        return cell;
+    }
+
+    private PdfPCell sectionHeader(String text) {
+        PdfPCell cell = cell(text, TABLE_HEADER_FONT);
+        cell.setColspan(2);
+        cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+        return cell;
     }
 
     private String formatCurrency(BigDecimal amount) {
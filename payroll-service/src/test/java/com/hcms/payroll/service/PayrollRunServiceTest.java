@@ -0,0 +1,150 @@
+package com.hcms.payroll.service;
+
+import com.hcms.payroll.client.EmployeeServiceClient;
+import com.hcms.payroll.client.dto.EmployeeSummaryResponse;
+import com.hcms.payroll.dto.PayrollRequest;
+import com.hcms.payroll.entity.Payroll;
+import com.hcms.payroll.entity.PayrollRun;
+import com.hcms.payroll.entity.PayrollRunStatus;
+import com.hcms.payroll.entity.SalarySource;
+import com.hcms.payroll.repository.PayrollBatchRepository;
+import com.hcms.payroll.repository.PayrollRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PayrollRunServiceTest {
+
+    private static final long RUN_ID = 7L;
+    private static final long OTHER_RUN_ID = 3L;
+
+    private final PayrollRunRepository payrollRunRepository = mock(PayrollRunRepository.class);
+    private final PayrollBatchRepository payrollBatchRepository = mock(PayrollBatchRepository.class);
+    private final EmployeeServiceClient employeeServiceClient = mock(EmployeeServiceClient.class);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private PayrollRunService service;
+    private PayrollRun run;
+
+    @BeforeEach
+    void setUp() {
+        service = new PayrollRunService(payrollRunRepository, payrollBatchRepository, new PayrollCalculator(),
+                employeeServiceClient, null, mock(PayrollPeriodLocker.class), 2, 500);
+        run = PayrollRun.builder()
+                .id(RUN_ID)
+                .payPeriodMonth(3)
+                .payPeriodYear(2026)
+                .salarySource(SalarySource.REQUEST)
+                .paymentDate(LocalDate.of(2026, 3, 31))
+                .status(PayrollRunStatus.FAILED)
+                .build();
+
+        when(payrollRunRepository.findById(RUN_ID)).thenReturn(Optional.of(run));
+        when(payrollRunRepository.save(any(PayrollRun.class))).thenAnswer(invocation -> {
+            PayrollRun saved = invocation.getArgument(0);
+            if (saved.getCompletedAt() != null) {
+                finished.countDown();
+            }
+            return saved;
+        });
+        when(payrollBatchRepository.insertPayrolls(anyList(), eq(RUN_ID)))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(employeeServiceClient.getEmployeesByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> EmployeeSummaryResponse.builder().id(id).status("ACTIVE").build())
+                    .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resumedRunOnlyCreatesTheMissingPayrolls() throws InterruptedException {
+        // The failed attempt paid 1 and 2; 3 was paid outside the run
+        when(payrollBatchRepository.findRunEntries(RUN_ID)).thenReturn(salaries(1, 2, 3, 4, 5));
+        when(payrollBatchRepository.findExistingPayrollOwners(3, 2026))
+                .thenReturn(Map.of(1L, RUN_ID, 2L, RUN_ID, 3L, OTHER_RUN_ID));
+
+        service.resumeRun(RUN_ID);
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(insertedEmployeeIds()).containsExactly(4L, 5L);
+        // Payrolls from the earlier attempt are counted once, when the run restarts
+        verify(payrollBatchRepository).addProgress(RUN_ID, 3, 2, 1, 0);
+        assertThat(run.getCreatedCount()).isEqualTo(2);
+        assertThat(run.getProcessedCount()).isEqualTo(2);
+        assertThat(run.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+    }
+
+    @Test
+    void resumingAFullyPaidRunCreatesNothing() throws InterruptedException {
+        when(payrollBatchRepository.findRunEntries(RUN_ID)).thenReturn(salaries(1, 2));
+        when(payrollBatchRepository.findExistingPayrollOwners(3, 2026)).thenReturn(Map.of(1L, RUN_ID, 2L, RUN_ID));
+
+        service.resumeRun(RUN_ID);
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(insertedEmployeeIds()).isEmpty();
+        verify(payrollBatchRepository).addProgress(RUN_ID, 0, 0, 0, 0);
+        assertThat(run.getCreatedCount()).isEqualTo(2);
+        assertThat(run.getStatus()).isEqualTo(PayrollRunStatus.COMPLETED);
+    }
+
+    @Test
+    void previousPeriodRunFailsActiveEmployeesWithoutAPreviousPayroll() throws InterruptedException {
+        run.setSalarySource(SalarySource.PREVIOUS_PERIOD);
+        when(payrollBatchRepository.findCarryOverSalaries(2, 2026)).thenReturn(salaries(1, 3));
+        // 2 was not paid last month; 4 is no longer active
+        when(employeeServiceClient.getEmployeeSummaries(eq(0L), anyInt(), isNull(), isNull())).thenReturn(List.of(
+                EmployeeSummaryResponse.builder().id(1L).status("ACTIVE").build(),
+                EmployeeSummaryResponse.builder().id(2L).status("ACTIVE").build(),
+                EmployeeSummaryResponse.builder().id(3L).status("ACTIVE").build(),
+                EmployeeSummaryResponse.builder().id(4L).status("TERMINATED").build()));
+
+        service.resumeRun(RUN_ID);
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(insertedEmployeeIds()).containsExactly(1L, 3L);
+        assertThat(run.getTotalEmployees()).isEqualTo(3);
+        verify(payrollBatchRepository).addProgress(RUN_ID, 3, 2, 0, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> insertedEmployeeIds() {
+        ArgumentCaptor<List<Payroll>> payrolls = ArgumentCaptor.forClass(List.class);
+        verify(payrollBatchRepository).insertPayrolls(payrolls.capture(), eq(RUN_ID));
+        return payrolls.getValue().stream().map(Payroll::getEmployeeId).toList();
+    }
+
+    private static List<PayrollRequest> salaries(long... employeeIds) {
+        return Arrays.stream(employeeIds)
+                .mapToObj(id -> PayrollRequest.builder()
+                        .employeeId(id)
+                        .baseSalary(new BigDecimal("60000"))
+                        .build())
+                .toList();
+    }
+}